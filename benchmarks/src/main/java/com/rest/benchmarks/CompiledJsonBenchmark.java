@@ -0,0 +1,102 @@
+package com.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.serialization.CompiledJsonModule;
+import com.rest.serialization.EntityMappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson's reflective serializers compared with the serializers generated for the entity classes
+ * (see com.rest.serialization.CompiledJson):
+ * <ul>
+ *     <li>firstUse: a new ObjectMapper (de-)serializes every entity class once, i.e. the cost at the start of a test run.
+ *     Each measurement is a single shot in a new JVM.</li>
+ *     <li>serialize / deserialize: throughput for a CollectionRoot with an ObjectMapper that is warmed up.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class CompiledJsonBenchmark {
+
+    public enum Serializers {
+        REFLECTIVE,
+        COMPILED
+    }
+
+    @Param
+    private Serializers serializers;
+
+    private final CollectionRoot collectionRoot = Payloads.collectionRoot();
+    private final Object[] entities = {Payloads.workspaceRoot(), Payloads.user(), Payloads.simplePoJo(), collectionRoot};
+
+    private byte[] json;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = objectMapper();
+        writer = objectMapper.writerFor(CollectionRoot.class);
+        reader = objectMapper.readerFor(CollectionRoot.class);
+        json = writer.writeValueAsBytes(collectionRoot);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public Object firstUse() throws IOException {
+        ObjectMapper objectMapper = objectMapper();
+        Object last = null;
+        for (Object entity : entities) {
+            byte[] bytes = objectMapper.writeValueAsBytes(entity);
+            last = objectMapper.readValue(bytes, entity.getClass());
+        }
+        return last;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(collectionRoot);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public CollectionRoot deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    private ObjectMapper objectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (serializers == Serializers.COMPILED) {
+            objectMapper.registerModule(CompiledJsonModule.forTypes(EntityMappers.ENTITY_TYPES, null));
+        }
+        return objectMapper;
+    }
+}
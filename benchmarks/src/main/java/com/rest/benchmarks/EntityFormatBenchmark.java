@@ -0,0 +1,96 @@
+package com.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rest.serialization.EntityFormat;
+import com.rest.serialization.EntityMappers;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization throughput of the entities in each EntityFormat:
+ * text JSON compared with the binary formats Smile and CBOR.
+ * serialize() reports the size of the encoded entity as the secondary result "encodedBytes";
+ * run with "-prof gc" to compare the allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityFormatBenchmark {
+
+    public enum Entity {
+        WORKSPACE_ROOT,
+        USER,
+        COLLECTION_ROOT
+    }
+
+    @Param
+    private Entity entity;
+
+    @Param
+    private EntityFormat format;
+
+    private Object body;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = pojo(entity);
+        writer = EntityMappers.writer(format, body.getClass());
+        reader = EntityMappers.reader(format, body.getClass());
+        encoded = writer.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize encodedSize) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(body);
+        encodedSize.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    /**
+     * The size of the last encoded entity, which is the same for every operation.
+     * It is assigned instead of added up, so JMH reports the size instead of a total.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long encodedBytes;
+    }
+
+    private static Object pojo(Entity entity) {
+        switch (entity) {
+            case WORKSPACE_ROOT:
+                return Payloads.workspaceRoot();
+            case USER:
+                return Payloads.user();
+            case COLLECTION_ROOT:
+                return Payloads.collectionRoot();
+            default:
+                throw new IllegalStateException("Unknown entity " + entity);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rest.serialization.EntityMappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization throughput of the entity classes
+ * for the three ways a body is built in the tests:
+ * <ul>
+ *     <li>MAP: nested HashMaps and Lists, as in Part10TestPostPayloadComplexJson.</li>
+ *     <li>OBJECT_NODE: a Jackson ObjectNode tree.</li>
+ *     <li>POJO: the classes in com.rest.entities.</li>
+ * </ul>
+ * All variants use the shared ObjectMapper of EntityMappers.
+ * Run with "-prof gc" to get the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntitySerializationBenchmark {
+
+    public enum Entity {
+        WORKSPACE_ROOT,
+        USER,
+        SIMPLE_POJO,
+        COLLECTION_ROOT
+    }
+
+    public enum Representation {
+        MAP,
+        OBJECT_NODE,
+        POJO
+    }
+
+    @Param
+    private Entity entity;
+
+    @Param
+    private Representation representation;
+
+    private Object body;
+    private byte[] json;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
+        Object pojo = pojo(entity);
+
+        switch (representation) {
+            case MAP:
+                body = objectMapper.convertValue(pojo, HashMap.class);
+                writer = objectMapper.writerFor(Map.class);
+                reader = objectMapper.readerFor(HashMap.class);
+                break;
+            case OBJECT_NODE:
+                body = objectMapper.valueToTree(pojo);
+                writer = objectMapper.writerFor(JsonNode.class);
+                reader = objectMapper.readerFor(JsonNode.class);
+                break;
+            case POJO:
+                body = pojo;
+                writer = EntityMappers.writer(pojo.getClass());
+                reader = EntityMappers.reader(pojo.getClass());
+                break;
+            default:
+                throw new IllegalStateException("Unknown representation " + representation);
+        }
+        json = writer.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    private static Object pojo(Entity entity) {
+        switch (entity) {
+            case WORKSPACE_ROOT:
+                return Payloads.workspaceRoot();
+            case USER:
+                return Payloads.user();
+            case SIMPLE_POJO:
+                return Payloads.simplePoJo();
+            case COLLECTION_ROOT:
+                return Payloads.collectionRoot();
+            default:
+                throw new IllegalStateException("Unknown entity " + entity);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rest.entities.Workspace;
+import com.rest.serialization.CanonicalStrings;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.InterningModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializing a listing of 1000 workspaces with and without sharing the String instances of the Workspace.type values.
+ * <ul>
+ *     <li>plain / interning: the readers of EntityMappers. Workspace is annotated with CompiledJson, so both use
+ *     the generated deserializer; interning passes CanonicalStrings to it. InterningModule is not involved.</li>
+ *     <li>reflective / reflectiveInterning: an ObjectMapper without CompiledJsonModule, so Jackson introspects Workspace;
+ *     reflectiveInterning adds the InterningModule.</li>
+ * </ul>
+ * Run with "-prof gc" to compare the allocation per listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterningBenchmark {
+
+    private static final ObjectReader READER = EntityMappers.objectMapper().readerFor(Workspace[].class);
+    private static final ObjectReader INTERNING_READER = EntityMappers.interningObjectMapper().readerFor(Workspace[].class);
+    private static final ObjectReader REFLECTIVE_READER = new ObjectMapper().readerFor(Workspace[].class);
+    private static final ObjectReader REFLECTIVE_INTERNING_READER = new ObjectMapper()
+            .registerModule(new InterningModule(CanonicalStrings.shared()))
+            .readerFor(Workspace[].class);
+
+    private final byte[] listing = workspaces(1000);
+
+    @Benchmark
+    public Workspace[] plain() throws IOException {
+        return READER.readValue(listing);
+    }
+
+    @Benchmark
+    public Workspace[] interning() throws IOException {
+        return INTERNING_READER.readValue(listing);
+    }
+
+    @Benchmark
+    public Workspace[] reflective() throws IOException {
+        return REFLECTIVE_READER.readValue(listing);
+    }
+
+    @Benchmark
+    public Workspace[] reflectiveInterning() throws IOException {
+        return REFLECTIVE_INTERNING_READER.readValue(listing);
+    }
+
+    private static byte[] workspaces(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":\"1f0df51a-8658-4ee8-a2a1-d2567dfa").append(1000 + i)
+                    .append("\",\"name\":\"Workspace ").append(i)
+                    .append("\",\"type\":\"").append(i % 3 == 0 ? "team" : "personal")
+                    .append("\",\"description\":\"\"}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
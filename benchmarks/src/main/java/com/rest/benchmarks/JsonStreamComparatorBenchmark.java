@@ -0,0 +1,90 @@
+package com.rest.benchmarks;
+
+import com.rest.serialization.JsonStreamComparator;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing a large collection export with the same export in reverse order:
+ * <ul>
+ *     <li>jsonAssert: JSONCompare in NON_EXTENSIBLE mode (arrays in any order, no extra fields);</li>
+ *     <li>streamComparator: JsonStreamComparator.lenient(), which has the same semantics.</li>
+ * </ul>
+ * The strict variants compare the document with an identical copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonStreamComparatorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int items;
+
+    private String expected;
+    private String copy;
+    private String reversed;
+
+    @Setup
+    public void setUp() {
+        expected = collection(items, false);
+        copy = collection(items, false);
+        reversed = collection(items, true);
+    }
+
+    @Benchmark
+    public boolean jsonAssertLenient() throws JSONException {
+        return JSONCompare.compareJSON(expected, reversed, JSONCompareMode.NON_EXTENSIBLE).passed();
+    }
+
+    @Benchmark
+    public boolean streamComparatorLenient() throws IOException {
+        return JsonStreamComparator.lenient().compare(expected, reversed).matches();
+    }
+
+    @Benchmark
+    public boolean jsonAssertStrict() throws JSONException {
+        return JSONCompare.compareJSON(expected, copy, JSONCompareMode.STRICT).passed();
+    }
+
+    @Benchmark
+    public boolean streamComparatorStrict() throws IOException {
+        return JsonStreamComparator.strict().compare(expected, copy).matches();
+    }
+
+    /**
+     * A collection with the given number of requests; every request has headers in any order.
+     */
+    private static String collection(int count, boolean reverse) {
+        StringBuilder json = new StringBuilder("{\"collection\":{\"info\":{\"name\":\"export\"},\"item\":[");
+        for (int n = 0; n < count; n++) {
+            int i = reverse ? count - 1 - n : n;
+            if (n > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Request ").append(i)
+                    .append("\",\"request\":{\"method\":\"").append(i % 2 == 0 ? "GET" : "POST")
+                    .append("\",\"header\":[{\"key\":\"X-Index\",\"value\":\"").append(i)
+                    .append("\"},{\"key\":\"Accept\",\"value\":\"application/json\"}]")
+                    .append(",\"url\":\"https://api.postman.com/workspaces/").append(i).append("\"}}");
+        }
+        return json.append("]}}").toString();
+    }
+}
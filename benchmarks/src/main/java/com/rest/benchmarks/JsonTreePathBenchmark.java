@@ -0,0 +1,70 @@
+package com.rest.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.JsonTreePath;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a workspaces response with the paths of Part01TestGetPostmanWorkspaces:
+ * <ul>
+ *     <li>gpath: RestAssured's JsonPath, which parses the body into a Groovy object tree
+ *     and evaluates every path as a Groovy expression, as body(path, matcher) does;</li>
+ *     <li>jsonTree: the body is parsed once into a Jackson tree and the paths are evaluated by JsonTreePath.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonTreePathBenchmark {
+
+    private static final String[] PATHS = {"workspaces.name", "workspaces.size()", "workspaces[0]", "workspaces[0].name"};
+
+    private final String body = workspaces(20);
+
+    @Benchmark
+    public void gpath(Blackhole blackhole) {
+        JsonPath jsonPath = JsonPath.from(body);
+        for (String path : PATHS) {
+            blackhole.consume(jsonPath.<Object>get(path));
+        }
+    }
+
+    @Benchmark
+    public void jsonTree(Blackhole blackhole) throws IOException {
+        JsonNode root = EntityMappers.objectMapper().readTree(body);
+        for (String path : PATHS) {
+            blackhole.consume(JsonTreePath.compile(path).read(root));
+        }
+    }
+
+    private static String workspaces(int count) {
+        StringBuilder json = new StringBuilder("{\"workspaces\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"1f0df51a-8658-4ee8-a2a1-d2567dfa09a").append(i % 10)
+                    .append("\",\"name\":\"Workspace ").append(i)
+                    .append("\",\"type\":\"").append(i % 2 == 0 ? "personal" : "team")
+                    .append("\",\"visibility\":\"personal\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.rest.benchmarks;
+
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.PayloadTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a unique workspace POST body per request, as a load run does:
+ * <ul>
+ *     <li>concatenation: the String concatenation of Part08TestPostWorkspace, encoded as UTF-8;</li>
+ *     <li>pojo: a new WorkspaceRoot serialized by the shared ObjectMapper;</li>
+ *     <li>template: a PayloadTemplate rendered into the reused buffer of a Renderer;</li>
+ *     <li>templateBytes: the same, copied into a new byte[]: the same output as concatenation and pojo.</li>
+ * </ul>
+ * Run with "-prof gc" to compare the allocation per payload.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadTemplateBenchmark {
+
+    private static final PayloadTemplate TEMPLATE = PayloadTemplate.compile(
+            "{\"workspace\":{\"name\":\"Workspace{{run}}\",\"type\":\"personal\",\"description\":\"Load run {{run}}\"}}");
+
+    private final PayloadTemplate.Renderer renderer = TEMPLATE.newRenderer();
+    private int run;
+
+    @Benchmark
+    public byte[] concatenation() {
+        run++;
+        return ("{\"workspace\":{\"name\":\"Workspace" + run + "\",\"type\":\"personal\",\"description\":\"Load run "
+                + run + "\"}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] pojo() throws IOException {
+        run++;
+        return EntityMappers.writer(WorkspaceRoot.class)
+                .writeValueAsBytes(new WorkspaceRoot(new Workspace("Workspace" + run, "personal", "Load run " + run)));
+    }
+
+    /**
+     * Returns the length: the buffer is reused and only copied when the payload has to be kept.
+     */
+    @Benchmark
+    public int template() {
+        run++;
+        return renderer.set("run", run).render().length();
+    }
+
+    @Benchmark
+    public byte[] templateBytes() {
+        run++;
+        return renderer.set("run", run).render().toByteArray();
+    }
+}
@@ -0,0 +1,85 @@
+package com.rest.benchmarks;
+
+import com.rest.entities.Address;
+import com.rest.entities.Geo;
+import com.rest.entities.SimplePoJo;
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.entities.collection.Body;
+import com.rest.entities.collection.Collection;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.entities.collection.Folder;
+import com.rest.entities.collection.Header;
+import com.rest.entities.collection.Info;
+import com.rest.entities.collection.Request;
+import com.rest.entities.collection.RequestRoot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The POJO payloads used by the benchmarks. The content is the same as in the tests of the main project.
+ * The Map and ObjectNode variants are derived from these objects, so all variants contain the same JSON.
+ */
+public final class Payloads {
+
+    /**
+     * The number of requests in the collection of collectionRoot().
+     */
+    public static final int COLLECTION_REQUESTS = 10;
+
+    private Payloads() {
+    }
+
+    /**
+     * The workspace of Part08TestPostWorkspace and TestSection24TestPostPayloadJsonObjectSerialization.
+     */
+    public static WorkspaceRoot workspaceRoot() {
+        return new WorkspaceRoot(new Workspace("MyFifthWorkspace"
+                , "personal"
+                , "workspace for BDD Style testing the POST HTTP method"));
+    }
+
+    /**
+     * See the javadoc of com.rest.entities.User.
+     */
+    public static User user() {
+        return new User("Leanne Graham"
+                , "Bret"
+                , "Sincere@april.biz"
+                , new Address("Kulas Light", "Apt. 556", "Gwenborough", "92998-3874"
+                , new Geo("-37.3159", "81.1496")));
+    }
+
+    public static SimplePoJo simplePoJo() {
+        return new SimplePoJo("value1", "value2");
+    }
+
+    /**
+     * See TestSection26PostPayloadComplexPoJo.
+     */
+    public static CollectionRoot collectionRoot() {
+        List<RequestRoot> requestRootList = new ArrayList<>();
+        for (int i = 0; i < COLLECTION_REQUESTS; i++) {
+            List<Header> headerList = Collections.singletonList(
+                    new Header("Content-Type", "application/json; charset=utf-8"));
+            Body body = new Body("raw", "{\"data\": \"" + i + "\"}");
+            Request request = new Request("https://postman-echo.com/post"
+                    , "POST"
+                    , headerList
+                    , body
+                    , "This is a sample POST Request");
+            requestRootList.add(new RequestRoot("Sample POST Request " + i, request));
+        }
+
+        List<Folder> folderList = Collections.singletonList(new Folder("This is a folder", requestRootList));
+
+        Info info = new Info("Sample Collection"
+                , "This is just a sample collection."
+                , "https://schema.getpostman.com/json/collection/v2.1.0/collection.json");
+
+        return new CollectionRoot(new Collection(info, folderList));
+    }
+}
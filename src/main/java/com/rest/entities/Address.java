@@ -1,5 +1,6 @@
 package com.rest.entities;
 
+import com.rest.serialization.CompiledJson;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +18,7 @@ import java.util.List;
  *       "lng": "81.1496"
  *     }
  */
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
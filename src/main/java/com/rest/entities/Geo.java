@@ -1,5 +1,6 @@
 package com.rest.entities;
 
+import com.rest.serialization.CompiledJson;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
  *       "lng": "81.1496"
  *     }
  */
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
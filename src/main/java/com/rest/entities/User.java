@@ -1,5 +1,6 @@
 package com.rest.entities;
 
+import com.rest.serialization.CompiledJson;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,6 +22,7 @@ import lombok.NoArgsConstructor;
  *   }
  * }
  */
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
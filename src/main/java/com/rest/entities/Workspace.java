@@ -3,6 +3,8 @@ package com.rest.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rest.serialization.CompiledJson;
+import com.rest.serialization.Interned;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +21,7 @@ import java.util.Map;
  *     }
  * }
  */
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +46,7 @@ public class Workspace {
     @JsonIgnore
     Map<String, String> myMap;
     private String name;
+    @Interned
     private String type;
     private String description;
 
@@ -1,9 +1,11 @@
 package com.rest.entities.collection;
 
+import com.rest.serialization.CompiledJson;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,11 +1,13 @@
 package com.rest.entities.collection;
 
+import com.rest.serialization.CompiledJson;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
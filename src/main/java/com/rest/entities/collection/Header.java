@@ -1,13 +1,17 @@
 package com.rest.entities.collection;
 
+import com.rest.serialization.CompiledJson;
+import com.rest.serialization.Interned;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Header {
+    @Interned
     private String key;
     private String value;
 }
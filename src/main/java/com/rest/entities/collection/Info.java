@@ -1,14 +1,18 @@
 package com.rest.entities.collection;
 
+import com.rest.serialization.CompiledJson;
+import com.rest.serialization.Interned;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Info {
     private String name;
     private String description;
+    @Interned
     private String schema;
 }
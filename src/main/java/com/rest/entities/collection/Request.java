@@ -1,16 +1,20 @@
 package com.rest.entities.collection;
 
+import com.rest.serialization.CompiledJson;
+import com.rest.serialization.Interned;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+@CompiledJson
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Request {
     private String url;
+    @Interned
     private String method;
     private List<Header> header;
     private Body body;
@@ -0,0 +1,180 @@
+package com.rest.serialization;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded table of canonical String instances, for values with few distinct values (see Interned).
+ * <p>
+ * String.intern() and an unbounded map keep every value that is ever seen. This table has a fixed number of slots:
+ * a value is stored in a free slot near its hash; if there is none, the value is returned without being stored.
+ * A value that has been stored stays the canonical instance, so high-cardinality values can not push out the
+ * low-cardinality values that were seen first.
+ * <p>
+ * canonical(char[], int, int) looks up the characters of a parser's text buffer,
+ * so for a value that is already in the table no String is created at all.
+ * The table is lock-free and can be shared between threads.
+ */
+public final class CanonicalStrings {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Longer values are not stored: they are unlikely to be enum-like.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private static final int MAX_PROBES = 8;
+
+    private static final CanonicalStrings SHARED = new CanonicalStrings(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of canonical values; rounded up to a power of two.
+     */
+    public CanonicalStrings(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity should be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the table that is used by EntityMappers.interningObjectMapper().
+     */
+    public static CanonicalStrings shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the canonical instance of the value, or the value itself if it is not stored.
+     */
+    public String canonical(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int index = spread(value.hashCode()) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++, index = (index + 1) & mask) {
+            String slot = table.get(index);
+            if (slot == null) {
+                if (table.compareAndSet(index, null, value)) {
+                    misses.increment();
+                    return value;
+                }
+                slot = table.get(index);
+            }
+            if (slot.equals(value)) {
+                hits.increment();
+                return slot;
+            }
+        }
+        rejections.increment();
+        return value;
+    }
+
+    /**
+     * @return the canonical instance of the characters; a new String is only created if there is none.
+     */
+    public String canonical(char[] text, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(text, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            // The same hash as String.hashCode(), so both canonical() methods find the same slot.
+            hash = 31 * hash + text[i];
+        }
+        int index = spread(hash) & mask;
+        String value = null;
+        for (int probe = 0; probe < MAX_PROBES; probe++, index = (index + 1) & mask) {
+            String slot = table.get(index);
+            if (slot == null) {
+                if (value == null) {
+                    value = new String(text, offset, length);
+                }
+                if (table.compareAndSet(index, null, value)) {
+                    misses.increment();
+                    return value;
+                }
+                slot = table.get(index);
+            }
+            if (equals(slot, text, offset, length)) {
+                hits.increment();
+                return slot;
+            }
+        }
+        rejections.increment();
+        return value != null ? value : new String(text, offset, length);
+    }
+
+    /**
+     * @return the number of canonical values.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < table.length(); i++) {
+            if (table.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * @return the number of lookups that returned a stored value.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of values that have been stored.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of values that could not be stored because their slots were taken.
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(String slot, char[] text, int offset, int length) {
+        if (slot.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (slot.charAt(i) != text[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CanonicalStrings{size=" + size() + ", capacity=" + capacity() + ", hits=" + getHits()
+                + ", misses=" + getMisses() + ", rejections=" + getRejections() + "}";
+    }
+}
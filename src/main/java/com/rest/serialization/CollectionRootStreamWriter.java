@@ -0,0 +1,345 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.rest.entities.collection.Body;
+import com.rest.entities.collection.Collection;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.entities.collection.Folder;
+import com.rest.entities.collection.Header;
+import com.rest.entities.collection.Info;
+import com.rest.entities.collection.Request;
+import com.rest.entities.collection.RequestRoot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes a Postman collection (CollectionRoot -> Collection -> Folder -> RequestRoot -> Request -> Header/Body)
+ * token by token with a Jackson JsonGenerator directly into an OutputStream.
+ * <p>
+ * given().body(collectionRoot) first serializes the complete collection into a String before anything is sent.
+ * With this class the JSON is written while the request is being sent:
+ * <pre>
+ *     given()
+ *         .body(CollectionRootStreamWriter.asInputStream(collectionRoot))
+ *         .when()
+ *         .post()
+ * </pre>
+ * RestAssured sends an InputStream body as a streamed (chunked) entity.
+ * The InputStream writes the next folder when RestAssured has sent the previous one, on the thread that sends the request,
+ * so only the JSON of one folder is held in memory and no other thread is involved.
+ * If the folders are produced by an Iterator the collection itself does not have to be in memory either.
+ * <p>
+ * The output is the same as the output of EntityMappers.writer(CollectionRoot.class):
+ * same property order and null values are written as null.
+ */
+public final class CollectionRootStreamWriter {
+
+    private CollectionRootStreamWriter() {
+    }
+
+    public static void write(CollectionRoot collectionRoot, OutputStream outputStream) throws IOException {
+        Collection collection = collectionRoot.getCollection();
+        if (collection == null) {
+            try (JsonGenerator generator = createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNullField("collection");
+                generator.writeEndObject();
+            }
+            return;
+        }
+        write(collection.getInfo(), iterator(collection.getItems()), outputStream);
+    }
+
+    /**
+     * Writes a collection of which the folders are produced one by one.
+     *
+     * @param info         the info of the collection.
+     * @param folders      the folders of the collection; null results in "items": null.
+     * @param outputStream the stream to write to. The stream will not be closed.
+     * @throws IOException
+     */
+    public static void write(Info info, Iterator<Folder> folders, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            writeStart(generator, info);
+            if (folders == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray();
+                while (folders.hasNext()) {
+                    writeFolder(generator, folders.next());
+                }
+                generator.writeEndArray();
+            }
+            writeEnd(generator);
+        }
+    }
+
+    public static InputStream asInputStream(CollectionRoot collectionRoot) throws IOException {
+        Collection collection = collectionRoot.getCollection();
+        if (collection == null) {
+            return new CollectionInputStream(null, null, true);
+        }
+        return asInputStream(collection.getInfo(), iterator(collection.getItems()));
+    }
+
+    /**
+     * The JSON is written while the stream is read: an exception of the folders is thrown by read(),
+     * as an IOException, so an incomplete document is never silently sent as a complete one.
+     *
+     * @param info    the info of the collection.
+     * @param folders the folders of the collection; null results in "items": null.
+     * @return the JSON document; should be closed by the caller (RestAssured closes the body after sending it).
+     * @throws IOException
+     */
+    public static InputStream asInputStream(Info info, Iterator<Folder> folders) throws IOException {
+        return new CollectionInputStream(info, folders, false);
+    }
+
+    private static JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = EntityMappers.objectMapper().getFactory()
+                .createGenerator(outputStream, JsonEncoding.UTF8);
+        // The caller owns the stream.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // After a failure the document should stay incomplete instead of being closed as a valid JSON document.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return generator;
+    }
+
+    /**
+     * Writes the document up to and including the field name "items".
+     */
+    private static void writeStart(JsonGenerator generator, Info info) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("collection");
+        generator.writeStartObject();
+        writeInfo(generator, info);
+        generator.writeFieldName("items");
+    }
+
+    private static void writeEnd(JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private static void writeInfo(JsonGenerator generator, Info info) throws IOException {
+        generator.writeFieldName("info");
+        if (info == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("name", info.getName());
+        generator.writeStringField("description", info.getDescription());
+        generator.writeStringField("schema", info.getSchema());
+        generator.writeEndObject();
+    }
+
+    private static void writeFolder(JsonGenerator generator, Folder folder) throws IOException {
+        if (folder == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("name", folder.getName());
+        generator.writeFieldName("items");
+        List<RequestRoot> requestRoots = folder.getItems();
+        if (requestRoots == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (RequestRoot requestRoot : requestRoots) {
+                writeRequestRoot(generator, requestRoot);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeRequestRoot(JsonGenerator generator, RequestRoot requestRoot) throws IOException {
+        if (requestRoot == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("name", requestRoot.getName());
+        generator.writeFieldName("request");
+        writeRequest(generator, requestRoot.getRequest());
+        generator.writeEndObject();
+    }
+
+    private static void writeRequest(JsonGenerator generator, Request request) throws IOException {
+        if (request == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("url", request.getUrl());
+        generator.writeStringField("method", request.getMethod());
+        generator.writeFieldName("header");
+        List<Header> headers = request.getHeader();
+        if (headers == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (Header header : headers) {
+                writeHeader(generator, header);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeFieldName("body");
+        writeBody(generator, request.getBody());
+        generator.writeStringField("description", request.getDescription());
+        generator.writeEndObject();
+    }
+
+    private static void writeHeader(JsonGenerator generator, Header header) throws IOException {
+        if (header == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("key", header.getKey());
+        generator.writeStringField("value", header.getValue());
+        generator.writeEndObject();
+    }
+
+    private static void writeBody(JsonGenerator generator, Body body) throws IOException {
+        if (body == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("mode", body.getMode());
+        generator.writeStringField("raw", body.getRaw());
+        generator.writeEndObject();
+    }
+
+    private static <T> Iterator<T> iterator(List<T> list) {
+        return list == null ? null : list.iterator();
+    }
+
+    /**
+     * Writes the document step by step into a buffer when the buffer has been read:
+     * first the start up to "items", then one folder per step, then the end.
+     */
+    private static final class CollectionInputStream extends InputStream {
+
+        private final Info info;
+        private final Iterator<Folder> folders;
+        private final boolean nullCollection;
+        private final Buffer buffer = new Buffer();
+        private final JsonGenerator generator;
+        private int position;
+        private boolean started;
+        private boolean finished;
+
+        CollectionInputStream(Info info, Iterator<Folder> folders, boolean nullCollection) throws IOException {
+            this.info = info;
+            this.folders = folders;
+            this.nullCollection = nullCollection;
+            this.generator = createGenerator(buffer);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer.byteAt(position++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.size() - position);
+            buffer.copyTo(position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.size() - position;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+        }
+
+        /**
+         * @return false at the end of the document.
+         */
+        private boolean fill() throws IOException {
+            while (position >= buffer.size()) {
+                if (finished) {
+                    return false;
+                }
+                buffer.reset();
+                position = 0;
+                try {
+                    writeStep();
+                } catch (IOException | RuntimeException e) {
+                    finished = true;
+                    throw new IOException("Writing the collection failed", e);
+                }
+                generator.flush();
+            }
+            return true;
+        }
+
+        private void writeStep() throws IOException {
+            if (nullCollection) {
+                generator.writeStartObject();
+                generator.writeNullField("collection");
+                generator.writeEndObject();
+                finished = true;
+            } else if (!started) {
+                started = true;
+                writeStart(generator, info);
+                if (folders == null) {
+                    generator.writeNull();
+                    writeEnd(generator);
+                    finished = true;
+                } else {
+                    generator.writeStartArray();
+                }
+            } else if (folders.hasNext()) {
+                writeFolder(generator, folders.next());
+            } else {
+                generator.writeEndArray();
+                writeEnd(generator);
+                finished = true;
+            }
+        }
+    }
+
+    /**
+     * A ByteArrayOutputStream of which the bytes can be read without a copy.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(8 * 1024);
+        }
+
+        byte byteAt(int index) {
+            return buf[index];
+        }
+
+        void copyTo(int index, byte[] bytes, int offset, int length) {
+            System.arraycopy(buf, index, bytes, offset, length);
+        }
+    }
+}
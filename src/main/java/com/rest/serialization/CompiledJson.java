@@ -0,0 +1,25 @@
+package com.rest.serialization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity class for which com.rest.serialization.processor.CompiledJsonProcessor generates
+ * a JsonSerializer and a JsonDeserializer at compile time, e.g. Workspace_JsonSerializer and Workspace_JsonDeserializer.
+ * CompiledJsonModule registers them, so Jackson does not have to introspect the class.
+ * <p>
+ * The class needs a no-args constructor and a getter and setter per field, e.g. generated by Lombok's @Data.
+ * Every non-static, non-transient field is a property with the name of the field. Supported Jackson annotations:
+ * <ul>
+ *     <li>@JsonIgnore on a field: the property is neither serialized nor deserialized;</li>
+ *     <li>@JsonIgnoreProperties(value, allowGetters, allowSetters, ignoreUnknown) on the class.</li>
+ * </ul>
+ * Other Jackson annotations on the class or its fields are reported as compile errors.
+ * Properties annotated with Interned are deserialized to canonical instances if the module has a CanonicalStrings table.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CompiledJson {
+}
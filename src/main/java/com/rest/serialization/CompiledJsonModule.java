@@ -0,0 +1,74 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Jackson module that registers the serializers and deserializers that CompiledJsonProcessor generated
+ * for classes annotated with CompiledJson.
+ * <p>
+ * The generated classes are found by name, once, when the module is created: for com.rest.entities.Workspace
+ * these are com.rest.entities.Workspace_JsonSerializer and Workspace_JsonDeserializer.
+ * Classes without CompiledJson, or without generated classes (e.g. compiled without the annotation processor),
+ * are skipped and left to Jackson's reflective serialization; getTypes() returns the registered classes.
+ * <pre>
+ *     ObjectMapper objectMapper = new ObjectMapper().registerModule(CompiledJsonModule.forTypes(EntityMappers.ENTITY_TYPES, null));
+ * </pre>
+ */
+public class CompiledJsonModule extends SimpleModule {
+
+    private final List<Class<?>> types = new ArrayList<>();
+
+    private CompiledJsonModule() {
+        super("CompiledJsonModule");
+    }
+
+    /**
+     * @param types            the candidate classes.
+     * @param canonicalStrings the table for properties annotated with Interned; null to not intern.
+     * @return a module with the generated serializers and deserializers of the given classes.
+     */
+    public static CompiledJsonModule forTypes(List<Class<?>> types, CanonicalStrings canonicalStrings) {
+        CompiledJsonModule module = new CompiledJsonModule();
+        for (Class<?> type : types) {
+            if (type.isAnnotationPresent(CompiledJson.class)) {
+                module.register(type, canonicalStrings);
+            }
+        }
+        return module;
+    }
+
+    /**
+     * @return the classes for which generated serializers and deserializers are registered.
+     */
+    public List<Class<?>> getTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void register(Class<T> type, CanonicalStrings canonicalStrings) {
+        JsonSerializer<T> serializer;
+        JsonDeserializer<T> deserializer;
+        try {
+            ClassLoader classLoader = type.getClassLoader();
+            serializer = (JsonSerializer<T>) Class.forName(type.getName() + "_JsonSerializer", true, classLoader)
+                    .getConstructor()
+                    .newInstance();
+            deserializer = (JsonDeserializer<T>) Class.forName(type.getName() + "_JsonDeserializer", true, classLoader)
+                    .getConstructor(CanonicalStrings.class)
+                    .newInstance(canonicalStrings);
+        } catch (ClassNotFoundException e) {
+            return;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can not create the generated serializers of " + type.getName(), e);
+        }
+        addSerializer(type, serializer);
+        addDeserializer(type, deserializer);
+        types.add(type);
+    }
+}
@@ -0,0 +1,51 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Methods that are called by the deserializers generated by CompiledJsonProcessor.
+ * Each method is called with the parser at the first token of a property value.
+ */
+public final class CompiledJsonSupport {
+
+    private CompiledJsonSupport() {
+    }
+
+    public static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        // Numbers and booleans are coerced, other tokens are reported, as by Jackson's own String deserializer.
+        return StringDeserializer.instance.deserialize(parser, context);
+    }
+
+    /**
+     * @param canonicalStrings the table for the canonical instances; if null the value is not interned.
+     */
+    public static String readInterned(JsonParser parser, DeserializationContext context, CanonicalStrings canonicalStrings) throws IOException {
+        if (canonicalStrings == null) {
+            return readString(parser, context);
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return canonicalStrings.canonical(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return canonicalStrings.canonical(readString(parser, context));
+    }
+
+    public static Object readValue(JsonDeserializer<Object> deserializer, JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return deserializer.getNullValue(context);
+        }
+        return deserializer.deserialize(parser, context);
+    }
+}
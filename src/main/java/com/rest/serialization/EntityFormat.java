@@ -0,0 +1,66 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+
+/**
+ * The wire formats in which the entities can be (de-)serialized, with their media types.
+ * <ul>
+ *     <li>JSON: text JSON;</li>
+ *     <li>SMILE: Jackson's binary JSON format, with back references to field names and short values that were already written;</li>
+ *     <li>CBOR: the binary format of RFC 8949.</li>
+ * </ul>
+ * SMILE and CBOR have the same data model as JSON, so the entities need no changes.
+ * EntityMappers.objectMapper(EntityFormat) returns the ObjectMapper of a format.
+ */
+public enum EntityFormat {
+    JSON("application/json"),
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor");
+
+    private final String mediaType;
+
+    EntityFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * @param contentType a Content-Type header value, e.g. "application/cbor" or "application/json; charset=utf-8".
+     * @return the format of the media type of the content type; JSON if the content type is null or of another media type.
+     */
+    public static EntityFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        int end = contentType.indexOf(';');
+        String mediaType = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        for (EntityFormat format : values()) {
+            if (format.mediaType.equals(mediaType)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+
+    JsonFactory createJsonFactory() {
+        switch (this) {
+            case SMILE:
+                return new SmileFactory();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
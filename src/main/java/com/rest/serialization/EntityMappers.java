@@ -0,0 +1,174 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rest.entities.Address;
+import com.rest.entities.Geo;
+import com.rest.entities.SimplePoJo;
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.entities.collection.Body;
+import com.rest.entities.collection.Collection;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.entities.collection.Folder;
+import com.rest.entities.collection.Header;
+import com.rest.entities.collection.Info;
+import com.rest.entities.collection.Request;
+import com.rest.entities.collection.RequestRoot;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Central registry for the Jackson ObjectMapper that (de-)serializes the classes in com.rest.entities.
+ * <p>
+ * Creating a new ObjectMapper per test means that Jackson has to introspect the entity classes
+ * and build its serializer/deserializer caches again every time.
+ * This class holds a single ObjectMapper per JVM and hands out ObjectReader / ObjectWriter instances per entity type.
+ * ObjectReader and ObjectWriter are immutable and thread-safe, so they can be shared between tests.
+ * <p>
+ * The readers and writers for all entity classes are created when this class is loaded.
+ * Because EAGER_SERIALIZER_FETCH and EAGER_DESERIALIZER_FETCH are enabled by default
+ * this resolves the root (de-)serializers and puts them in the caches of the shared ObjectMapper.
+ * <p>
+ * RestAssured is connected to the same ObjectMapper via com.rest.utilities.RestAssuredConfigs.
+ * Note: the shared ObjectMapper should not be reconfigured after it has been handed out.
+ * <p>
+ * interningObjectMapper() is a second ObjectMapper of which properties annotated with Interned,
+ * e.g. Workspace.type and Header.key, share the canonical String instances of CanonicalStrings.shared().
+ * Use it for entities that are kept in memory in large numbers, e.g. for assertions across responses.
+ * For the entity classes (all annotated with CompiledJson) the interning is done by the generated deserializers
+ * of its CompiledJsonModule. Its InterningModule only covers classes without CompiledJson.
+ * <p>
+ * Both ObjectMappers register a CompiledJsonModule: the entity classes are (de-)serialized by the classes
+ * that CompiledJsonProcessor generated at compile time instead of by reflective bean introspection.
+ * <p>
+ * objectMapper(EntityFormat) returns an ObjectMapper per wire format: for EntityFormat.JSON the shared ObjectMapper,
+ * for the binary formats SMILE and CBOR an ObjectMapper with the same CompiledJsonModule on the JsonFactory of the format.
+ */
+public final class EntityMappers {
+
+    /**
+     * The entity classes for which a reader and writer are created up front.
+     */
+    public static final List<Class<?>> ENTITY_TYPES = Collections.unmodifiableList(Arrays.asList(
+            Workspace.class,
+            WorkspaceRoot.class,
+            User.class,
+            Address.class,
+            Geo.class,
+            SimplePoJo.class,
+            CollectionRoot.class,
+            Collection.class,
+            Info.class,
+            Folder.class,
+            RequestRoot.class,
+            Request.class,
+            Header.class,
+            Body.class
+    ));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(CompiledJsonModule.forTypes(ENTITY_TYPES, null));
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper INTERNING_OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(CompiledJsonModule.forTypes(ENTITY_TYPES, CanonicalStrings.shared()))
+            // Only for classes without CompiledJson: the generated deserializers are not bean deserializers.
+            .registerModule(new InterningModule(CanonicalStrings.shared()));
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> INTERNING_READERS = new ConcurrentHashMap<>();
+
+    private static final Map<EntityFormat, ObjectMapper> FORMAT_OBJECT_MAPPERS = new EnumMap<>(EntityFormat.class);
+    private static final Map<EntityFormat, ConcurrentMap<Class<?>, ObjectReader>> FORMAT_READERS = new EnumMap<>(EntityFormat.class);
+    private static final Map<EntityFormat, ConcurrentMap<Class<?>, ObjectWriter>> FORMAT_WRITERS = new EnumMap<>(EntityFormat.class);
+
+    static {
+        for (EntityFormat format : EntityFormat.values()) {
+            FORMAT_OBJECT_MAPPERS.put(format, format == EntityFormat.JSON
+                    ? OBJECT_MAPPER
+                    : new ObjectMapper(format.createJsonFactory()).registerModule(CompiledJsonModule.forTypes(ENTITY_TYPES, null)));
+            FORMAT_READERS.put(format, format == EntityFormat.JSON ? READERS : new ConcurrentHashMap<>());
+            FORMAT_WRITERS.put(format, format == EntityFormat.JSON ? WRITERS : new ConcurrentHashMap<>());
+        }
+        for (Class<?> entityType : ENTITY_TYPES) {
+            reader(entityType);
+            writer(entityType);
+        }
+    }
+
+    private EntityMappers() {
+    }
+
+    /**
+     * @return the ObjectMapper shared by all tests in this JVM.
+     */
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * @param type the class to deserialize to.
+     * @return a cached ObjectReader for the given type.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+    }
+
+    /**
+     * @param type the class to serialize from.
+     * @return a cached ObjectWriter for the given type.
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, OBJECT_MAPPER::writerFor);
+    }
+
+    /**
+     * @return the ObjectMapper for the given wire format; for EntityFormat.JSON this is objectMapper().
+     */
+    public static ObjectMapper objectMapper(EntityFormat format) {
+        return FORMAT_OBJECT_MAPPERS.get(format);
+    }
+
+    /**
+     * @param format the wire format of the content.
+     * @param type   the class to deserialize to.
+     * @return a cached ObjectReader of objectMapper(format) for the given type.
+     */
+    public static ObjectReader reader(EntityFormat format, Class<?> type) {
+        return FORMAT_READERS.get(format).computeIfAbsent(type, objectMapper(format)::readerFor);
+    }
+
+    /**
+     * @param format the wire format of the content.
+     * @param type   the class to serialize from.
+     * @return a cached ObjectWriter of objectMapper(format) for the given type.
+     */
+    public static ObjectWriter writer(EntityFormat format, Class<?> type) {
+        return FORMAT_WRITERS.get(format).computeIfAbsent(type, objectMapper(format)::writerFor);
+    }
+
+    /**
+     * @return the ObjectMapper that deserializes Interned properties to canonical instances.
+     */
+    public static ObjectMapper interningObjectMapper() {
+        return INTERNING_OBJECT_MAPPER;
+    }
+
+    /**
+     * @param type the class to deserialize to.
+     * @return a cached ObjectReader of interningObjectMapper() for the given type.
+     */
+    public static ObjectReader interningReader(Class<?> type) {
+        return INTERNING_READERS.computeIfAbsent(type, INTERNING_OBJECT_MAPPER::readerFor);
+    }
+}
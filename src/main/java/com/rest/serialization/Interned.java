@@ -0,0 +1,19 @@
+package com.rest.serialization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a String property with few distinct values, e.g. Workspace.type ("personal", "team") or Header.key.
+ * <p>
+ * The ObjectMapper of EntityMappers.interningObjectMapper() deserializes such a property to the canonical instance
+ * of CanonicalStrings.shared(): equal values share one String instead of one String per deserialized object.
+ * For a class annotated with CompiledJson this is done by the generated deserializer, for other classes by InterningModule.
+ * Other ObjectMappers ignore this annotation.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Interned {
+}
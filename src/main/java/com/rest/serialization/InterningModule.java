@@ -0,0 +1,81 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jackson module that deserializes String properties annotated with Interned to canonical instances.
+ * <p>
+ * The properties are found once per bean class, when Jackson builds the deserializer of the class;
+ * only their value deserializer is replaced, all other properties are deserialized as before.
+ * <p>
+ * The module only changes bean deserializers, which Jackson builds by introspection. A class annotated with CompiledJson
+ * is deserialized by its generated deserializer once a CompiledJsonModule is registered, and this module has no effect
+ * on it; CompiledJsonModule.forTypes(types, canonicalStrings) interns its Interned properties instead.
+ * <pre>
+ *     ObjectMapper objectMapper = new ObjectMapper().registerModule(new InterningModule(CanonicalStrings.shared()));
+ * </pre>
+ */
+public class InterningModule extends SimpleModule {
+
+    private final CanonicalStrings canonicalStrings;
+
+    public InterningModule(CanonicalStrings canonicalStrings) {
+        super("InterningModule");
+        this.canonicalStrings = canonicalStrings;
+        setDeserializerModifier(new InterningDeserializerModifier());
+    }
+
+    private class InterningDeserializerModifier extends BeanDeserializerModifier {
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+            // Collected first: replacing a property while iterating over the properties is not allowed.
+            List<SettableBeanProperty> interned = new ArrayList<>();
+            builder.getProperties().forEachRemaining(property -> {
+                if (property.getType().hasRawClass(String.class) && property.getAnnotation(Interned.class) != null) {
+                    interned.add(property);
+                }
+            });
+            InterningStringDeserializer deserializer = new InterningStringDeserializer(canonicalStrings);
+            for (SettableBeanProperty property : interned) {
+                builder.addOrReplaceProperty(property.withValueDeserializer(deserializer), true);
+            }
+            return builder;
+        }
+    }
+
+    /**
+     * Looks up the characters of a string token in the table; other tokens are handled by the standard StringDeserializer.
+     */
+    static class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+        private final CanonicalStrings canonicalStrings;
+
+        InterningStringDeserializer(CanonicalStrings canonicalStrings) {
+            super(String.class);
+            this.canonicalStrings = canonicalStrings;
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                return canonicalStrings.canonical(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            return canonicalStrings.canonical(StringDeserializer.instance.deserialize(parser, context));
+        }
+    }
+}
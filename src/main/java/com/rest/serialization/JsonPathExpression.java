@@ -0,0 +1,143 @@
+package com.rest.serialization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed path into a JSON document, using the subset of the GPath syntax that is used in the tests:
+ * <ul>
+ *     <li>workspace.name: field names separated by dots.</li>
+ *     <li>workspaces[2].name: an index into an array.</li>
+ *     <li>workspaces[*].name: all elements of an array.</li>
+ * </ul>
+ * The path is parsed once; instances are immutable and can be shared between threads.
+ */
+public final class JsonPathExpression {
+
+    public enum Kind {
+        FIELD,
+        INDEX,
+        WILDCARD
+    }
+
+    public static final class Segment {
+        private final Kind kind;
+        private final String name;
+        private final int index;
+
+        private Segment(Kind kind, String name, int index) {
+            this.kind = kind;
+            this.name = name;
+            this.index = index;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case FIELD:
+                    return name;
+                case INDEX:
+                    return "[" + index + "]";
+                default:
+                    return "[*]";
+            }
+        }
+    }
+
+    private final String path;
+    private final List<Segment> segments;
+
+    private JsonPathExpression(String path, List<Segment> segments) {
+        this.path = path;
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * @param path e.g. "workspaces[*].name". An empty path refers to the root of the document.
+     * @return the parsed path.
+     * @throws IllegalArgumentException if the path can not be parsed.
+     */
+    public static JsonPathExpression parse(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("path should not be null");
+        }
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        int length = path.length();
+        while (position < length) {
+            char c = path.charAt(position);
+            if (c == '.') {
+                if (position == 0 || position == length - 1 || path.charAt(position + 1) == '.') {
+                    throw invalid(path, position);
+                }
+                position++;
+            } else if (c == '[') {
+                int end = path.indexOf(']', position);
+                if (end < 0) {
+                    throw invalid(path, position);
+                }
+                String content = path.substring(position + 1, end).trim();
+                if ("*".equals(content)) {
+                    segments.add(new Segment(Kind.WILDCARD, null, -1));
+                } else {
+                    try {
+                        int index = Integer.parseInt(content);
+                        if (index < 0) {
+                            throw invalid(path, position);
+                        }
+                        segments.add(new Segment(Kind.INDEX, null, index));
+                    } catch (NumberFormatException e) {
+                        throw invalid(path, position);
+                    }
+                }
+                position = end + 1;
+            } else {
+                int end = position;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(new Segment(Kind.FIELD, path.substring(position, end), -1));
+                position = end;
+            }
+        }
+        return new JsonPathExpression(path, segments);
+    }
+
+    private static IllegalArgumentException invalid(String path, int position) {
+        return new IllegalArgumentException("Invalid path '" + path + "' at position " + position);
+    }
+
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return true if the path can match more than one value.
+     */
+    public boolean isMultiValued() {
+        for (Segment segment : segments) {
+            if (segment.getKind() == Kind.WILDCARD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
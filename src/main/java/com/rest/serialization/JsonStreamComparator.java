@@ -0,0 +1,554 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JSON documents on their token streams, without building a tree of either document.
+ * <p>
+ * JSONAssert parses both documents into org.json objects and compares them afterwards; arrays that may be in any order
+ * are matched element by element against each other. This class reads both documents with a Jackson JsonParser
+ * in lockstep and stops at the first difference:
+ * <ul>
+ *     <li>objects are compared field by field; fields in a different order are buffered from the first differing field
+ *     of that object on;</li>
+ *     <li>STRICT: array elements are compared in order;</li>
+ *     <li>LENIENT: array elements may be in any order. The elements of the expected array are reduced to a 64-bit hash
+ *     and counted; every element of the actual array is hashed and looked up, so matching takes linear time.
+ *     These elements are compared as a whole: allowingExtraFields() does not apply to them.</li>
+ * </ul>
+ * Numbers are compared by value, so 1 equals 1.0.
+ * ignoring() skips paths on both sides, e.g. "workspace.id" or "workspaces[*].createdAt"; "*" matches every field name.
+ * <pre>
+ *     JsonStreamComparator.Result result = JsonStreamComparator.lenient()
+ *             .ignoring("workspace.id")
+ *             .compare(expected, response.asInputStream());
+ * </pre>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class JsonStreamComparator {
+
+    public enum Mode {
+        STRICT,
+        LENIENT
+    }
+
+    private static final long OBJECT = 0x4f424a454354L;
+    private static final long ARRAY = 0x4152524159L;
+    private static final long STRING = 0x535452494e47L;
+    private static final long DECIMAL = 0x444543494d414cL;
+    private static final long TRUE = 0x54525545L;
+    private static final long FALSE = 0x46414c5345L;
+    private static final long NULL = 0x4e554c4cL;
+
+    private final Mode mode;
+    private final boolean extraFieldsAllowed;
+    private final List<JsonPathExpression> ignoredPaths;
+
+    private JsonStreamComparator(Mode mode, boolean extraFieldsAllowed, List<JsonPathExpression> ignoredPaths) {
+        this.mode = mode;
+        this.extraFieldsAllowed = extraFieldsAllowed;
+        this.ignoredPaths = ignoredPaths;
+    }
+
+    /**
+     * @return a comparator that compares arrays in order and allows no extra fields.
+     */
+    public static JsonStreamComparator strict() {
+        return new JsonStreamComparator(Mode.STRICT, false, Collections.emptyList());
+    }
+
+    /**
+     * @return a comparator that compares arrays in any order and allows no extra fields.
+     */
+    public static JsonStreamComparator lenient() {
+        return new JsonStreamComparator(Mode.LENIENT, false, Collections.emptyList());
+    }
+
+    /**
+     * @param paths paths that are skipped in both documents, e.g. "workspace.id" or "workspaces[*].id".
+     * @return a comparator that also skips the given paths.
+     * @throws IllegalArgumentException if a path can not be parsed.
+     */
+    public JsonStreamComparator ignoring(String... paths) {
+        List<JsonPathExpression> ignored = new ArrayList<>(ignoredPaths);
+        for (String path : paths) {
+            ignored.add(JsonPathExpression.parse(path));
+        }
+        return new JsonStreamComparator(mode, extraFieldsAllowed, Collections.unmodifiableList(ignored));
+    }
+
+    /**
+     * @return a comparator that allows fields in the actual document that are not in the expected document,
+     * e.g. the fields that the server adds to a posted entity.
+     */
+    public JsonStreamComparator allowingExtraFields() {
+        return new JsonStreamComparator(mode, true, ignoredPaths);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Result compare(String expected, String actual) throws IOException {
+        JsonFactory factory = EntityMappers.objectMapper().getFactory();
+        try (JsonParser expectedParser = factory.createParser(expected);
+             JsonParser actualParser = factory.createParser(actual)) {
+            return compare(expectedParser, actualParser);
+        }
+    }
+
+    public Result compare(byte[] expected, byte[] actual) throws IOException {
+        JsonFactory factory = EntityMappers.objectMapper().getFactory();
+        try (JsonParser expectedParser = factory.createParser(expected);
+             JsonParser actualParser = factory.createParser(actual)) {
+            return compare(expectedParser, actualParser);
+        }
+    }
+
+    /**
+     * Compares two documents; both input streams are closed afterwards.
+     * Reading stops at the first difference, so the rest of a large document is not read.
+     */
+    public Result compare(InputStream expected, InputStream actual) throws IOException {
+        JsonFactory factory = EntityMappers.objectMapper().getFactory();
+        try (JsonParser expectedParser = factory.createParser(expected);
+             JsonParser actualParser = factory.createParser(actual)) {
+            return compare(expectedParser, actualParser);
+        }
+    }
+
+    private Result compare(JsonParser expectedParser, JsonParser actualParser) throws IOException {
+        Comparison comparison = new Comparison();
+        if (expectedParser.nextToken() == null || actualParser.nextToken() == null) {
+            throw new IOException("No content to compare");
+        }
+        if (comparison.compareValues(expectedParser, actualParser)) {
+            return Result.MATCH;
+        }
+        return new Result(comparison.mismatchPath, comparison.message);
+    }
+
+    @Override
+    public String toString() {
+        return mode + (extraFieldsAllowed ? " allowing extra fields" : "")
+                + (ignoredPaths.isEmpty() ? "" : " ignoring " + ignoredPaths);
+    }
+
+    /**
+     * The result of a comparison: either a match or the path and description of the first difference.
+     */
+    public static final class Result {
+
+        private static final Result MATCH = new Result(null, null);
+
+        private final String path;
+        private final String message;
+
+        private Result(String path, String message) {
+            this.path = path;
+            this.message = message;
+        }
+
+        public boolean matches() {
+            return message == null;
+        }
+
+        /**
+         * @return the path of the first difference, e.g. "workspaces[2].name", "$" for the root; null for a match.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return matches() ? "match" : path + ": " + message;
+        }
+    }
+
+    /**
+     * The state of one comparison: the current path, and the first difference.
+     */
+    private final class Comparison {
+
+        // Field names and array indices from the root to the current value.
+        private final List<Object> path = new ArrayList<>();
+        private String mismatchPath;
+        private String message;
+
+        /**
+         * Both parsers are at the first token of a value; afterwards both are at the last token of the value.
+         */
+        boolean compareValues(JsonParser expected, JsonParser actual) throws IOException {
+            JsonToken expectedToken = expected.currentToken();
+            JsonToken actualToken = actual.currentToken();
+            if (expectedToken == JsonToken.START_OBJECT && actualToken == JsonToken.START_OBJECT) {
+                return compareObjects(expected, actual);
+            }
+            if (expectedToken == JsonToken.START_ARRAY && actualToken == JsonToken.START_ARRAY) {
+                return mode == Mode.STRICT ? compareArraysInOrder(expected, actual) : compareArraysInAnyOrder(expected, actual);
+            }
+            if (expectedToken.isNumeric() && actualToken.isNumeric()) {
+                return numbersEqual(expected, actual) || mismatch(expected, actual);
+            }
+            if (expectedToken != actualToken) {
+                return mismatch(expected, actual);
+            }
+            if (expectedToken == JsonToken.VALUE_STRING && !textEquals(expected, actual)) {
+                return mismatch(expected, actual);
+            }
+            return true;
+        }
+
+        private boolean compareObjects(JsonParser expected, JsonParser actual) throws IOException {
+            while (true) {
+                JsonToken expectedToken = expected.nextToken();
+                JsonToken actualToken = actual.nextToken();
+                if (expectedToken == JsonToken.END_OBJECT && actualToken == JsonToken.END_OBJECT) {
+                    return true;
+                }
+                if (expectedToken != JsonToken.FIELD_NAME || actualToken != JsonToken.FIELD_NAME
+                        || !expected.getCurrentName().equals(actual.getCurrentName())) {
+                    return compareRemainingFields(expected, actual);
+                }
+                path.add(expected.getCurrentName());
+                expected.nextToken();
+                actual.nextToken();
+                if (isIgnored()) {
+                    expected.skipChildren();
+                    actual.skipChildren();
+                } else if (!compareValues(expected, actual)) {
+                    return false;
+                }
+                path.remove(path.size() - 1);
+            }
+        }
+
+        /**
+         * The fields are in a different order, or one of the objects has a field that the other one has not:
+         * the remaining fields of both objects are buffered and compared by name.
+         */
+        private boolean compareRemainingFields(JsonParser expected, JsonParser actual) throws IOException {
+            Map<String, TokenBuffer> expectedFields = remainingFields(expected);
+            Map<String, TokenBuffer> actualFields = remainingFields(actual);
+            for (Map.Entry<String, TokenBuffer> field : expectedFields.entrySet()) {
+                path.add(field.getKey());
+                TokenBuffer actualValue = actualFields.remove(field.getKey());
+                if (!isIgnored()) {
+                    if (actualValue == null) {
+                        return mismatch("expected field is missing");
+                    }
+                    JsonParser expectedValueParser = field.getValue().asParser();
+                    JsonParser actualValueParser = actualValue.asParser();
+                    expectedValueParser.nextToken();
+                    actualValueParser.nextToken();
+                    if (!compareValues(expectedValueParser, actualValueParser)) {
+                        return false;
+                    }
+                }
+                path.remove(path.size() - 1);
+            }
+            if (!extraFieldsAllowed) {
+                for (String name : actualFields.keySet()) {
+                    path.add(name);
+                    if (!isIgnored()) {
+                        return mismatch("unexpected field");
+                    }
+                    path.remove(path.size() - 1);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * The parser is at a field name or at the end of an object; afterwards it is at the end of the object.
+         */
+        private Map<String, TokenBuffer> remainingFields(JsonParser parser) throws IOException {
+            Map<String, TokenBuffer> fields = new LinkedHashMap<>();
+            for (JsonToken token = parser.currentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                TokenBuffer buffer = new TokenBuffer(parser, null);
+                buffer.copyCurrentStructure(parser);
+                fields.put(name, buffer);
+            }
+            return fields;
+        }
+
+        private boolean compareArraysInOrder(JsonParser expected, JsonParser actual) throws IOException {
+            for (int index = 0; ; index++) {
+                JsonToken expectedToken = expected.nextToken();
+                JsonToken actualToken = actual.nextToken();
+                if (expectedToken == JsonToken.END_ARRAY || actualToken == JsonToken.END_ARRAY) {
+                    if (expectedToken == actualToken) {
+                        return true;
+                    }
+                    path.add(index);
+                    return mismatch(expectedToken == JsonToken.END_ARRAY ? "unexpected element" : "expected element is missing");
+                }
+                path.add(index);
+                if (isIgnored()) {
+                    expected.skipChildren();
+                    actual.skipChildren();
+                } else if (!compareValues(expected, actual)) {
+                    return false;
+                }
+                path.remove(path.size() - 1);
+            }
+        }
+
+        private boolean compareArraysInAnyOrder(JsonParser expected, JsonParser actual) throws IOException {
+            Map<Long, Integer> expectedElements = new HashMap<>();
+            int expectedSize = 0;
+            for (; expected.nextToken() != JsonToken.END_ARRAY; expectedSize++) {
+                path.add(expectedSize);
+                if (isIgnored()) {
+                    expected.skipChildren();
+                } else {
+                    expectedElements.merge(hash(expected), 1, Integer::sum);
+                }
+                path.remove(path.size() - 1);
+            }
+
+            int actualSize = 0;
+            for (; actual.nextToken() != JsonToken.END_ARRAY; actualSize++) {
+                path.add(actualSize);
+                if (isIgnored()) {
+                    actual.skipChildren();
+                } else {
+                    long hash = hash(actual);
+                    Integer count = expectedElements.get(hash);
+                    if (count == null) {
+                        return mismatch("element does not match any remaining element of the expected array");
+                    }
+                    if (count == 1) {
+                        expectedElements.remove(hash);
+                    } else {
+                        expectedElements.put(hash, count - 1);
+                    }
+                }
+                path.remove(path.size() - 1);
+            }
+            if (!expectedElements.isEmpty()) {
+                int missing = 0;
+                for (int count : expectedElements.values()) {
+                    missing += count;
+                }
+                return mismatch("expected " + expectedSize + " elements but was " + actualSize
+                        + "; " + missing + " expected elements are missing");
+            }
+            return true;
+        }
+
+        /**
+         * A hash of the value at the current token that does not depend on the order of fields and array elements.
+         * Ignored paths are not part of the hash.
+         */
+        private long hash(JsonParser parser) throws IOException {
+            switch (parser.currentToken()) {
+                case START_OBJECT: {
+                    long hash = 0;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        parser.nextToken();
+                        path.add(name);
+                        if (isIgnored()) {
+                            parser.skipChildren();
+                        } else {
+                            hash += mix(textHash(name) * 31 + hash(parser));
+                        }
+                        path.remove(path.size() - 1);
+                    }
+                    return mix(hash ^ OBJECT);
+                }
+                case START_ARRAY: {
+                    long hash = 0;
+                    int index = 0;
+                    for (; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                        path.add(index);
+                        if (isIgnored()) {
+                            parser.skipChildren();
+                        } else {
+                            hash += mix(hash(parser));
+                        }
+                        path.remove(path.size() - 1);
+                    }
+                    return mix(hash + index ^ ARRAY);
+                }
+                case VALUE_STRING:
+                    return mix(textHash(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()) ^ STRING);
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return numberHash(parser);
+                case VALUE_TRUE:
+                    return TRUE;
+                case VALUE_FALSE:
+                    return FALSE;
+                default:
+                    return NULL;
+            }
+        }
+
+        private boolean isIgnored() {
+            for (JsonPathExpression ignoredPath : ignoredPaths) {
+                if (matches(ignoredPath.getSegments())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(List<JsonPathExpression.Segment> ignoredPath) {
+            if (ignoredPath.size() != path.size()) {
+                return false;
+            }
+            for (int i = 0; i < path.size(); i++) {
+                JsonPathExpression.Segment segment = ignoredPath.get(i);
+                Object element = path.get(i);
+                switch (segment.getKind()) {
+                    case FIELD:
+                        if (!(element instanceof String) || !("*".equals(segment.getName()) || segment.getName().equals(element))) {
+                            return false;
+                        }
+                        break;
+                    case INDEX:
+                        if (!(element instanceof Integer) || (Integer) element != segment.getIndex()) {
+                            return false;
+                        }
+                        break;
+                    default:
+                        if (!(element instanceof Integer)) {
+                            return false;
+                        }
+                        break;
+                }
+            }
+            return true;
+        }
+
+        private boolean mismatch(JsonParser expected, JsonParser actual) throws IOException {
+            return mismatch("expected " + describe(expected) + " but was " + describe(actual));
+        }
+
+        private boolean mismatch(String description) {
+            StringBuilder builder = new StringBuilder();
+            for (Object element : path) {
+                if (element instanceof Integer) {
+                    builder.append('[').append(element).append(']');
+                } else {
+                    if (builder.length() > 0) {
+                        builder.append('.');
+                    }
+                    builder.append(element);
+                }
+            }
+            mismatchPath = builder.length() == 0 ? "$" : builder.toString();
+            message = description;
+            return false;
+        }
+    }
+
+    private static String describe(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return "an object";
+            case START_ARRAY:
+                return "an array";
+            case VALUE_STRING:
+                return "\"" + parser.getText() + "\"";
+            default:
+                return parser.getText();
+        }
+    }
+
+    private static boolean textEquals(JsonParser expected, JsonParser actual) throws IOException {
+        int length = expected.getTextLength();
+        if (length != actual.getTextLength()) {
+            return false;
+        }
+        char[] expectedText = expected.getTextCharacters();
+        char[] actualText = actual.getTextCharacters();
+        int expectedOffset = expected.getTextOffset();
+        int actualOffset = actual.getTextOffset();
+        for (int i = 0; i < length; i++) {
+            if (expectedText[expectedOffset + i] != actualText[actualOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean numbersEqual(JsonParser expected, JsonParser actual) throws IOException {
+        if (isLong(expected) && isLong(actual)) {
+            return expected.getLongValue() == actual.getLongValue();
+        }
+        return expected.getDecimalValue().compareTo(actual.getDecimalValue()) == 0;
+    }
+
+    private static boolean isLong(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+    }
+
+    /**
+     * Equal numbers have the same hash, e.g. 1 and 1.0.
+     */
+    private static long numberHash(JsonParser parser) throws IOException {
+        if (isLong(parser)) {
+            return mix(parser.getLongValue());
+        }
+        BigDecimal decimal = parser.getDecimalValue().stripTrailingZeros();
+        if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() <= 18) {
+            return mix(decimal.longValueExact());
+        }
+        return mix(Arrays.hashCode(decimal.unscaledValue().toByteArray()) * 31L + decimal.scale() ^ DECIMAL);
+    }
+
+    /**
+     * FNV-1a.
+     */
+    private static long textHash(char[] text, int offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= text[i];
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long textHash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The finalizer of SplitMix64: spreads the bits, so that sums of hashes do not cancel out.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,224 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Evaluates a JsonPathExpression on a Jackson tree, in plain Java and without Groovy.
+ * <p>
+ * body("workspaces.name", matcher) parses the body into a Groovy object tree and evaluates the path
+ * as a Groovy script, for every body() call of a response. This class evaluates the paths that are used
+ * in the tests on a JsonNode, which is parsed once per response:
+ * <ul>
+ *     <li>workspace.name, workspaces[2].name and workspaces[*].name as in JsonPathExpression;</li>
+ *     <li>workspaces.name: a field of an array is the list of that field of all elements, like in GPath;</li>
+ *     <li>workspaces.size(): the number of elements of an array or object, or the length of a string.</li>
+ * </ul>
+ * The result has the same types as the result of RestAssured's JsonPath with the default configuration:
+ * objects are returned as Map, arrays as List, integers as Integer, Long or BigInteger,
+ * decimals as Float, or Double if the value does not fit into a float.
+ * A missing field or index results in null.
+ * <pre>
+ *     JsonNode root = EntityMappers.objectMapper().readTree(response.asByteArray());
+ *     List&lt;Object&gt; names = (List&lt;Object&gt;) JsonTreePath.compile("workspaces.name").read(root);
+ * </pre>
+ * Compiled paths are cached; instances are immutable and can be shared between threads.
+ */
+public final class JsonTreePath {
+
+    private static final String SIZE = "size()";
+
+    private static final ConcurrentMap<String, JsonTreePath> COMPILED = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final List<JsonPathExpression.Segment> segments;
+    private final boolean size;
+
+    private JsonTreePath(String path) {
+        this.path = path;
+        String expression = path;
+        if (path.equals(SIZE)) {
+            expression = "";
+        } else if (path.endsWith("." + SIZE)) {
+            expression = path.substring(0, path.length() - SIZE.length() - 1);
+        }
+        this.size = expression.length() != path.length();
+        this.segments = JsonPathExpression.parse(expression).getSegments();
+    }
+
+    /**
+     * @param path e.g. "workspaces[0].name" or "workspaces.size()". An empty path refers to the root of the document.
+     * @return the compiled path.
+     * @throws IllegalArgumentException if the path can not be parsed.
+     */
+    public static JsonTreePath compile(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("path should not be null");
+        }
+        JsonTreePath compiled = COMPILED.get(path);
+        if (compiled == null) {
+            // Parsing twice in a race is harmless: both results are equal.
+            compiled = new JsonTreePath(path);
+            COMPILED.putIfAbsent(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @param root the root of the document, e.g. the result of ObjectMapper.readTree().
+     * @return the value of the path, converted like RestAssured's JsonPath does.
+     */
+    public Object read(JsonNode root) {
+        JsonNode node = root;
+        // Not null after a field of an array or a wildcard: the path then selects a list of values.
+        List<JsonNode> projection = null;
+
+        for (JsonPathExpression.Segment segment : segments) {
+            switch (segment.getKind()) {
+                case FIELD:
+                    if (projection != null) {
+                        projection = field(projection, segment.getName());
+                    } else if (node != null && node.isArray()) {
+                        projection = field(elements(node), segment.getName());
+                    } else {
+                        node = node == null ? null : node.get(segment.getName());
+                    }
+                    break;
+                case INDEX:
+                    if (projection != null) {
+                        node = segment.getIndex() < projection.size() ? projection.get(segment.getIndex()) : null;
+                        projection = null;
+                    } else {
+                        node = node != null && node.isArray() ? node.get(segment.getIndex()) : null;
+                    }
+                    break;
+                default:
+                    if (projection == null) {
+                        projection = node != null && node.isArray() ? elements(node) : new ArrayList<>();
+                    }
+                    break;
+            }
+        }
+
+        if (size) {
+            if (projection != null) {
+                return projection.size();
+            }
+            return size(node);
+        }
+        if (projection != null) {
+            List<Object> values = new ArrayList<>(projection.size());
+            for (JsonNode value : projection) {
+                values.add(toJava(value));
+            }
+            return values;
+        }
+        return toJava(node);
+    }
+
+    /**
+     * The field of every element, like GPath does for a list: null elements are skipped,
+     * for an element that is an array the list of the field of its elements is added.
+     */
+    private static List<JsonNode> field(List<JsonNode> elements, String name) {
+        List<JsonNode> values = new ArrayList<>(elements.size());
+        for (JsonNode element : elements) {
+            if (element == null || element.isNull()) {
+                continue;
+            }
+            if (element.isArray()) {
+                ArrayNode nested = JsonNodeFactory.instance.arrayNode();
+                for (JsonNode value : field(elements(element), name)) {
+                    nested.add(value == null ? NullNode.getInstance() : value);
+                }
+                values.add(nested);
+            } else {
+                values.add(element.get(name));
+            }
+        }
+        return values;
+    }
+
+    private static List<JsonNode> elements(JsonNode array) {
+        List<JsonNode> elements = new ArrayList<>(array.size());
+        array.elements().forEachRemaining(elements::add);
+        return elements;
+    }
+
+    private static Integer size(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isContainerNode()) {
+            return node.size();
+        }
+        return node.asText().length();
+    }
+
+    /**
+     * Converts a node to the value that RestAssured's JsonPath returns for it.
+     */
+    public static Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    map.put(field.getKey(), toJava(field.getValue()));
+                }
+                return map;
+            case ARRAY:
+                List<Object> list = new ArrayList<>(node.size());
+                for (JsonNode element : node) {
+                    list.add(toJava(element));
+                }
+                return list;
+            case STRING:
+                return node.textValue();
+            case BOOLEAN:
+                return node.booleanValue();
+            case NUMBER:
+                return number(node);
+            default:
+                return node.asText();
+        }
+    }
+
+    private static Number number(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            if (node.canConvertToInt()) {
+                return node.intValue();
+            }
+            if (node.canConvertToLong()) {
+                return node.longValue();
+            }
+            return node.bigIntegerValue();
+        }
+        BigDecimal decimal = node.decimalValue();
+        float floatValue = decimal.floatValue();
+        if (Float.isInfinite(floatValue) || (floatValue == 0f && decimal.signum() != 0)) {
+            return decimal.doubleValue();
+        }
+        return floatValue;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,389 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON payload with {{name}} placeholders that is compiled once and rendered many times,
+ * e.g. for a load run that posts a workspace with a unique name per request:
+ * <pre>
+ *     {"workspace": {"name": "{{name}}", "type": "personal", "description": "Load run {{run}}"}}
+ * </pre>
+ * The template is compiled into constant UTF-8 byte segments and slots. There are three kinds of slots:
+ * <ul>
+ *     <li>"{{name}}", a complete string: the value is written as a JSON string (escaped, between quotes),
+ *     or null;</li>
+ *     <li>a placeholder within a longer string, e.g. "Load run {{run}}": the value is escaped and written without quotes;</li>
+ *     <li>{{name}} outside a string: a Number or Boolean is written as is, a CharSequence as a JSON string,
+ *     null as null and any other object as JSON by the ObjectMapper of EntityMappers.</li>
+ * </ul>
+ * A Renderer writes the segments and the values directly into a byte buffer that is reused for the next payload,
+ * so rendering does not allocate for CharSequence and integral values (only when the buffer has to grow).
+ * A PayloadTemplate is immutable and thread-safe; a Renderer is not, so every thread should have its own.
+ * <pre>
+ *     PayloadTemplate.Renderer renderer = template.newRenderer();
+ *     byte[] body = renderer.set("name", "Workspace" + i).set("run", i).render().toByteArray();
+ * </pre>
+ */
+public final class PayloadTemplate {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private enum SlotType {
+        STRING, STRING_PART, VALUE
+    }
+
+    private final byte[][] segments;
+    private final SlotType[] slotTypes;
+    private final int[] slotNames;
+    private final List<String> names;
+    private final int constantLength;
+
+    private PayloadTemplate(byte[][] segments, SlotType[] slotTypes, int[] slotNames, List<String> names) {
+        this.segments = segments;
+        this.slotTypes = slotTypes;
+        this.slotNames = slotNames;
+        this.names = Collections.unmodifiableList(names);
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.constantLength = length;
+    }
+
+    /**
+     * @param template JSON with {{name}} placeholders; a name consists of letters, digits, '_', '-' and '.'.
+     * @return the compiled template.
+     * @throws IllegalArgumentException if a placeholder is not closed or has an invalid name.
+     */
+    public static PayloadTemplate compile(String template) {
+        List<byte[]> segments = new ArrayList<>();
+        List<SlotType> slotTypes = new ArrayList<>();
+        List<Integer> slotNames = new ArrayList<>();
+        Map<String, Integer> names = new LinkedHashMap<>();
+
+        StringBuilder segment = new StringBuilder();
+        boolean inString = false;
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c == '{' && template.startsWith("{{", i)) {
+                int end = template.indexOf("}}", i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Placeholder at " + i + " is not closed: " + template);
+                }
+                String name = template.substring(i + 2, end).trim();
+                if (!name.matches("[A-Za-z0-9_.-]+")) {
+                    throw new IllegalArgumentException("Invalid placeholder name '" + name + "' at " + i);
+                }
+                int next = end + 2;
+
+                SlotType slotType;
+                if (!inString) {
+                    slotType = SlotType.VALUE;
+                } else if (segment.length() > 0 && segment.charAt(segment.length() - 1) == '"'
+                        && next < template.length() && template.charAt(next) == '"'
+                        && !isEscaped(segment, segment.length() - 1)) {
+                    // The placeholder is the complete string: the slot writes the quotes.
+                    slotType = SlotType.STRING;
+                    segment.setLength(segment.length() - 1);
+                    next++;
+                    inString = false;
+                } else {
+                    slotType = SlotType.STRING_PART;
+                }
+
+                segments.add(segment.toString().getBytes(StandardCharsets.UTF_8));
+                segment.setLength(0);
+                slotTypes.add(slotType);
+                slotNames.add(names.computeIfAbsent(name, key -> names.size()));
+                i = next;
+                continue;
+            }
+            if (c == '"' && !isEscaped(segment, segment.length())) {
+                inString = !inString;
+            }
+            segment.append(c);
+            i++;
+        }
+        segments.add(segment.toString().getBytes(StandardCharsets.UTF_8));
+
+        int[] slotNameIndexes = new int[slotNames.size()];
+        for (int slot = 0; slot < slotNameIndexes.length; slot++) {
+            slotNameIndexes[slot] = slotNames.get(slot);
+        }
+        return new PayloadTemplate(segments.toArray(new byte[0][])
+                , slotTypes.toArray(new SlotType[0])
+                , slotNameIndexes
+                , new ArrayList<>(names.keySet()));
+    }
+
+    /**
+     * @param path a UTF-8 file, e.g. src/test/resources/workspacePayloadTemplate.json.
+     */
+    public static PayloadTemplate compile(Path path) throws IOException {
+        return compile(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the names of the placeholders, in the order of their first occurrence.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    public Renderer newRenderer() {
+        return new Renderer();
+    }
+
+    /**
+     * Renders a single payload; for many payloads a Renderer is cheaper.
+     */
+    public byte[] render(Map<String, ?> values) {
+        Renderer renderer = newRenderer();
+        values.forEach(renderer::set);
+        return renderer.render().toByteArray();
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * @return true if the character at index is preceded by an odd number of backslashes.
+     */
+    private static boolean isEscaped(CharSequence text, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && text.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Holds the values of the placeholders and the buffer of the last rendered payload.
+     * The values are kept after render(), so only the changed values have to be set for the next payload.
+     */
+    public final class Renderer {
+        private final Object[] values = new Object[names.size()];
+        private final boolean[] assigned = new boolean[names.size()];
+        private byte[] buffer = new byte[Math.max(64, constantLength * 2)];
+        private int length;
+
+        private Renderer() {
+        }
+
+        /**
+         * @throws IllegalArgumentException if the template has no placeholder with this name.
+         */
+        public Renderer set(String name, Object value) {
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown placeholder '" + name + "', expected one of " + names);
+            }
+            values[index] = value;
+            assigned[index] = true;
+            return this;
+        }
+
+        /**
+         * Sets the values in the order of getNames().
+         */
+        public Renderer setAll(Object... values) {
+            if (values.length != names.size()) {
+                throw new IllegalArgumentException("Expected " + names.size() + " values " + names + ", got " + values.length);
+            }
+            System.arraycopy(values, 0, this.values, 0, values.length);
+            Arrays.fill(assigned, true);
+            return this;
+        }
+
+        /**
+         * Writes the payload into the buffer; the previous payload is overwritten.
+         *
+         * @throws IllegalStateException if a placeholder has no value.
+         */
+        public Renderer render() {
+            length = 0;
+            for (int slot = 0; slot < slotTypes.length; slot++) {
+                write(segments[slot]);
+                int nameIndex = slotNames[slot];
+                if (!assigned[nameIndex]) {
+                    throw new IllegalStateException("No value for placeholder '" + names.get(nameIndex) + "'");
+                }
+                writeValue(slotTypes[slot], values[nameIndex]);
+            }
+            write(segments[segments.length - 1]);
+            return this;
+        }
+
+        /**
+         * @return the buffer; only the first length() bytes belong to the payload. Valid until the next render().
+         */
+        public byte[] buffer() {
+            return buffer;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(buffer, 0, length);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void writeValue(SlotType slotType, Object value) {
+            if (slotType != SlotType.STRING && isIntegral(value)) {
+                // Also within a string: the digits do not have to be escaped.
+                writeLong(((Number) value).longValue());
+            } else if (slotType == SlotType.STRING_PART) {
+                writeEscaped(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+            } else if (value == null) {
+                write(NULL);
+            } else if (slotType == SlotType.STRING || value instanceof CharSequence) {
+                ensureCapacity(1);
+                buffer[length++] = '"';
+                writeEscaped(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+                ensureCapacity(1);
+                buffer[length++] = '"';
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writeAscii(value.toString());
+            } else {
+                try {
+                    write(EntityMappers.objectMapper().writeValueAsBytes(value));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Value can not be written as JSON: " + value, e);
+                }
+            }
+        }
+
+        /**
+         * Writes the characters as UTF-8, escaped as Jackson does: quote, backslash and control characters.
+         * A character takes at most 6 bytes (an escaped control character), so the capacity is checked once.
+         */
+        private void writeEscaped(CharSequence text) {
+            ensureCapacity(text.length() * 6);
+            byte[] buffer = this.buffer;
+            int length = this.length;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    buffer[length++] = (byte) c;
+                } else if (c == '"' || c == '\\') {
+                    buffer[length++] = '\\';
+                    buffer[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    buffer[length++] = '\\';
+                    length = writeControl(buffer, length, c);
+                } else if (c < 0x800) {
+                    buffer[length++] = (byte) (0xC0 | (c >> 6));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // An unpaired surrogate can not be encoded: the same replacement as String.getBytes(UTF_8).
+                    buffer[length++] = '?';
+                } else {
+                    buffer[length++] = (byte) (0xE0 | (c >> 12));
+                    buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            this.length = length;
+        }
+
+        private int writeControl(byte[] buffer, int length, char c) {
+            switch (c) {
+                case '\n':
+                    buffer[length++] = 'n';
+                    break;
+                case '\r':
+                    buffer[length++] = 'r';
+                    break;
+                case '\t':
+                    buffer[length++] = 't';
+                    break;
+                case '\b':
+                    buffer[length++] = 'b';
+                    break;
+                case '\f':
+                    buffer[length++] = 'f';
+                    break;
+                default:
+                    buffer[length++] = 'u';
+                    buffer[length++] = '0';
+                    buffer[length++] = '0';
+                    buffer[length++] = HEX[c >> 4];
+                    buffer[length++] = HEX[c & 0xF];
+            }
+            return length;
+        }
+
+        private void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            ensureCapacity(20);
+            if (value < 0) {
+                buffer[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                buffer[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            // The digits have been written from right to left.
+            for (int left = start, right = length - 1; left < right; left++, right--) {
+                byte digit = buffer[left];
+                buffer[left] = buffer[right];
+                buffer[right] = digit;
+            }
+        }
+
+        private void writeAscii(String text) {
+            ensureCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer[length++] = (byte) text.charAt(i);
+            }
+        }
+
+        private void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.rest.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates a JsonPathExpression on the token stream of a JSON document, without building the whole document.
+ * <p>
+ * response.path("workspaces[2].name") and JsonPath.from(response.asString()) first read the complete body into a String
+ * and then build a Groovy object tree of the complete document.
+ * This class reads the body from response.asInputStream() with a Jackson JsonParser:
+ * <ul>
+ *     <li>values that are not on the path are skipped without being created;</li>
+ *     <li>parsing stops as soon as no more matches are possible, e.g. after workspaces[2]
+ *     or after the end of the workspaces array;</li>
+ *     <li>parsing stops when the maximum number of requested values has been found.</li>
+ * </ul>
+ * Example:
+ * <pre>
+ *     List&lt;Object&gt; names = StreamingJsonPath.compile("workspaces[*].name").read(response.asInputStream());
+ * </pre>
+ * Matched objects and arrays are returned as Map and List, other values as String, Number, Boolean or null,
+ * comparable to the values returned by RestAssured's JsonPath.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class StreamingJsonPath {
+
+    private final JsonPathExpression expression;
+    private final List<JsonPathExpression.Segment> segments;
+    private final boolean[] underWildcard;
+
+    private StreamingJsonPath(JsonPathExpression expression) {
+        this.expression = expression;
+        this.segments = expression.getSegments();
+        // underWildcard[i]: whether one of the segments before segment i is a wildcard.
+        this.underWildcard = new boolean[segments.size() + 1];
+        for (int i = 1; i <= segments.size(); i++) {
+            underWildcard[i] = underWildcard[i - 1] || segments.get(i - 1).getKind() == JsonPathExpression.Kind.WILDCARD;
+        }
+    }
+
+    public static StreamingJsonPath compile(String path) {
+        return new StreamingJsonPath(JsonPathExpression.parse(path));
+    }
+
+    /**
+     * Reads all values that match the path. The input stream is closed afterwards.
+     */
+    public List<Object> read(InputStream inputStream) throws IOException {
+        return read(inputStream, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the values that match the path, but stops as soon as maxResults values have been found.
+     * The input stream is closed afterwards.
+     */
+    public List<Object> read(InputStream inputStream, int maxResults) throws IOException {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults should be positive: " + maxResults);
+        }
+        List<Object> results = new ArrayList<>();
+        JsonFactory jsonFactory = EntityMappers.objectMapper().getFactory();
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            if (parser.nextToken() != null) {
+                match(parser, 0, results, maxResults);
+            }
+        } finally {
+            inputStream.close();
+        }
+        return results;
+    }
+
+    /**
+     * @return the first value that matches the path, or null if there is no match.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readFirst(InputStream inputStream) throws IOException {
+        List<Object> results = read(inputStream, 1);
+        return results.isEmpty() ? null : (T) results.get(0);
+    }
+
+    public JsonPathExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * The parser is positioned on the first token of a value.
+     * If false is returned the value has been consumed completely;
+     * if true is returned the evaluation is finished and the caller should stop reading.
+     */
+    private boolean match(JsonParser parser, int segmentIndex, List<Object> results, int maxResults) throws IOException {
+        if (segmentIndex == segments.size()) {
+            results.add(readValue(parser));
+            return results.size() >= maxResults;
+        }
+
+        JsonPathExpression.Segment segment = segments.get(segmentIndex);
+        JsonToken token = parser.currentToken();
+        switch (segment.getKind()) {
+            case FIELD:
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return false;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    if (segment.getName().equals(fieldName)) {
+                        // A field name appears only once in an object.
+                        return match(parser, segmentIndex + 1, results, maxResults)
+                                || !underWildcard[segmentIndex]
+                                || skipRemainder(parser, JsonToken.END_OBJECT);
+                    }
+                    parser.skipChildren();
+                }
+                return false;
+            case INDEX:
+                if (token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    return false;
+                }
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (index++ == segment.getIndex()) {
+                        return match(parser, segmentIndex + 1, results, maxResults)
+                                || !underWildcard[segmentIndex]
+                                || skipRemainder(parser, JsonToken.END_ARRAY);
+                    }
+                    parser.skipChildren();
+                }
+                return false;
+            default:
+                if (token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    return false;
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (match(parser, segmentIndex + 1, results, maxResults)) {
+                        return true;
+                    }
+                }
+                // All elements have been seen: outside of another wildcard no more matches are possible.
+                return !underWildcard[segmentIndex];
+        }
+    }
+
+    /**
+     * Skips the remaining values of the current object or array. Always returns false.
+     */
+    private static boolean skipRemainder(JsonParser parser, JsonToken endToken) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != endToken && token != null) {
+            if (token == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        ObjectReader reader = EntityMappers.reader(Object.class);
+        return reader.readValue(parser);
+    }
+
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+}
@@ -0,0 +1,411 @@
+package com.rest.serialization.processor;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a JsonSerializer and a JsonDeserializer for every class annotated with com.rest.serialization.CompiledJson.
+ * <p>
+ * The generated code calls the getters and setters of the properties directly, so Jackson neither introspects
+ * the class nor calls the accessors by reflection. The rules for properties are described in CompiledJson.
+ * <p>
+ * This class is compiled before the rest of the main code (see the compile-processor execution in pom.xml),
+ * which names it in annotationProcessors. It is not part of the jar and has no META-INF/services entry,
+ * so it does not run when other projects are compiled against this one.
+ * It only refers to CompiledJson and Interned by name, so it does not depend on the code that it processes.
+ */
+public class CompiledJsonProcessor extends AbstractProcessor {
+
+    static final String COMPILED_JSON = "com.rest.serialization.CompiledJson";
+    static final String INTERNED = "com.rest.serialization.Interned";
+
+    private static final String JACKSON_ANNOTATIONS = "com.fasterxml.jackson.annotation.";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(COMPILED_JSON);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@CompiledJson can only be used on classes");
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (IOException e) {
+                    error(element, "Can not generate the serializers: " + e);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        checkAnnotations(type);
+        Set<String> ignoredForSerialization = new LinkedHashSet<>();
+        Set<String> ignoredForDeserialization = new LinkedHashSet<>();
+        boolean ignoreUnknown = false;
+        JsonIgnoreProperties ignoreProperties = type.getAnnotation(JsonIgnoreProperties.class);
+        if (ignoreProperties != null) {
+            for (String name : ignoreProperties.value()) {
+                if (!ignoreProperties.allowGetters()) {
+                    ignoredForSerialization.add(name);
+                }
+                if (!ignoreProperties.allowSetters()) {
+                    ignoredForDeserialization.add(name);
+                }
+            }
+            ignoreUnknown = ignoreProperties.ignoreUnknown();
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD
+                    || member.getModifiers().contains(Modifier.STATIC) || member.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            checkAnnotations(member);
+            VariableElement field = (VariableElement) member;
+            String name = field.getSimpleName().toString();
+            if (field.getAnnotation(JsonIgnore.class) != null) {
+                ignoredForSerialization.add(name);
+                ignoredForDeserialization.add(name);
+            }
+            properties.add(new Property(name, field.asType(), hasAnnotation(field, INTERNED)));
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = type.getSimpleName().toString();
+        // Qualified: an entity may have the name of an imported class, e.g. com.rest.entities.collection.Collection.
+        String typeName = type.getQualifiedName().toString();
+        writeSerializer(type, packageName, simpleName, typeName, properties, ignoredForSerialization);
+        writeDeserializer(type, packageName, simpleName, typeName, properties, ignoredForDeserialization, ignoreUnknown);
+    }
+
+    private void writeSerializer(TypeElement type, String packageName, String simpleName, String typeName,
+                                 List<Property> properties, Set<String> ignored) throws IOException {
+        String className = simpleName + "_JsonSerializer";
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualified(packageName, className), type);
+        try (PrintWriter out = new PrintWriter(file.openWriter())) {
+            header(out, packageName);
+            out.println("import com.fasterxml.jackson.core.JsonGenerator;");
+            out.println("import com.fasterxml.jackson.core.io.SerializedString;");
+            out.println("import com.fasterxml.jackson.databind.SerializerProvider;");
+            out.println("import com.fasterxml.jackson.databind.ser.std.StdSerializer;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("public final class " + className + " extends StdSerializer<" + typeName + "> {");
+            out.println();
+            for (Property property : properties) {
+                if (!ignored.contains(property.name)) {
+                    out.println("    private static final SerializedString " + property.constant()
+                            + " = new SerializedString(\"" + property.name + "\");");
+                }
+            }
+            out.println();
+            out.println("    public " + className + "() {");
+            out.println("        super(" + typeName + ".class);");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void serialize(" + typeName + " value, JsonGenerator gen, SerializerProvider provider) throws IOException {");
+            out.println("        gen.writeStartObject(value);");
+            for (Property property : properties) {
+                if (ignored.contains(property.name)) {
+                    continue;
+                }
+                String getter = "value." + property.getter() + "()";
+                if (property.isString()) {
+                    out.println("        gen.writeFieldName(" + property.constant() + ");");
+                    out.println("        String " + property.local() + " = " + getter + ";");
+                    out.println("        if (" + property.local() + " == null) {");
+                    out.println("            gen.writeNull();");
+                    out.println("        } else {");
+                    out.println("            gen.writeString(" + property.local() + ");");
+                    out.println("        }");
+                } else {
+                    // The runtime class decides the serializer, as in Jackson's BeanSerializer.
+                    out.println("        provider.defaultSerializeField(" + property.constant() + ".getValue(), " + getter + ", gen);");
+                }
+            }
+            out.println("        gen.writeEndObject();");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeDeserializer(TypeElement type, String packageName, String simpleName, String typeName,
+                                   List<Property> properties, Set<String> ignored, boolean ignoreUnknown) throws IOException {
+        String className = simpleName + "_JsonDeserializer";
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualified(packageName, className), type);
+        List<Property> deserialized = new ArrayList<>();
+        for (Property property : properties) {
+            if (!ignored.contains(property.name)) {
+                deserialized.add(property);
+            }
+        }
+        try (PrintWriter out = new PrintWriter(file.openWriter())) {
+            header(out, packageName);
+            out.println("import com.fasterxml.jackson.core.JsonParser;");
+            out.println("import com.fasterxml.jackson.core.JsonToken;");
+            out.println("import com.fasterxml.jackson.databind.DeserializationContext;");
+            out.println("import com.fasterxml.jackson.databind.JsonDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.JsonMappingException;");
+            out.println("import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;");
+            out.println("import com.fasterxml.jackson.databind.type.TypeFactory;");
+            out.println("import com.rest.serialization.CanonicalStrings;");
+            out.println("import com.rest.serialization.CompiledJsonSupport;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("public final class " + className + " extends StdDeserializer<" + typeName + "> implements ResolvableDeserializer {");
+            out.println();
+            StringBuilder known = new StringBuilder();
+            for (Property property : deserialized) {
+                known.append(known.length() == 0 ? "" : ", ").append('"').append(property.name).append('"');
+            }
+            out.println("    private static final java.util.Collection<Object> KNOWN_PROPERTY_NAMES = java.util.Collections.unmodifiableList(java.util.Arrays.<Object>asList("
+                    + known + "));");
+            out.println();
+            out.println("    private final CanonicalStrings canonicalStrings;");
+            for (Property property : deserialized) {
+                if (!property.isString()) {
+                    out.println("    private JsonDeserializer<Object> " + property.deserializer() + ";");
+                }
+            }
+            out.println();
+            out.println("    /**");
+            out.println("     * @param canonicalStrings the table for properties annotated with Interned; null to not intern.");
+            out.println("     */");
+            out.println("    public " + className + "(CanonicalStrings canonicalStrings) {");
+            out.println("        super(" + typeName + ".class);");
+            out.println("        this.canonicalStrings = canonicalStrings;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void resolve(DeserializationContext ctxt) throws JsonMappingException {");
+            if (deserialized.stream().anyMatch(property -> !property.isString())) {
+                out.println("        TypeFactory typeFactory = ctxt.getTypeFactory();");
+            }
+            for (Property property : deserialized) {
+                if (!property.isString()) {
+                    out.println("        " + property.deserializer() + " = ctxt.findContextualValueDeserializer("
+                            + javaType(property.type) + ", null);");
+                }
+            }
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.println("    public " + typeName + " deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {");
+            out.println("        JsonToken token = p.currentToken();");
+            out.println("        if (token == JsonToken.START_OBJECT) {");
+            out.println("            token = p.nextToken();");
+            out.println("        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {");
+            out.println("            return (" + typeName + ") ctxt.handleUnexpectedToken(" + typeName + ".class, p);");
+            out.println("        }");
+            out.println("        " + typeName + " bean = new " + typeName + "();");
+            out.println("        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {");
+            out.println("            String name = p.getCurrentName();");
+            out.println("            p.nextToken();");
+            out.println("            switch (name) {");
+            for (Property property : deserialized) {
+                out.println("                case \"" + property.name + "\":");
+                String value;
+                if (property.isString()) {
+                    value = property.interned
+                            ? "CompiledJsonSupport.readInterned(p, ctxt, canonicalStrings)"
+                            : "CompiledJsonSupport.readString(p, ctxt)";
+                } else {
+                    value = "(" + boxed(property.type) + ") CompiledJsonSupport.readValue(" + property.deserializer() + ", p, ctxt)";
+                }
+                out.println("                    bean." + property.setter() + "(" + value + ");");
+                out.println("                    break;");
+            }
+            for (String name : ignored) {
+                out.println("                case \"" + name + "\":");
+            }
+            if (!ignored.isEmpty()) {
+                out.println("                    p.skipChildren();");
+                out.println("                    break;");
+            }
+            out.println("                default:");
+            if (ignoreUnknown) {
+                out.println("                    p.skipChildren();");
+            } else {
+                out.println("                    ctxt.handleUnknownProperty(p, this, bean, name);");
+            }
+            out.println("                    break;");
+            out.println("            }");
+            out.println("        }");
+            out.println("        return bean;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.Collection<Object> getKnownPropertyNames() {");
+            out.println("        return KNOWN_PROPERTY_NAMES;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void header(PrintWriter out, String packageName) {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("// Generated by " + getClass().getName() + ". Do not edit.");
+        out.println();
+    }
+
+    /**
+     * @return an expression for the Jackson JavaType of the given type, using a variable typeFactory.
+     */
+    private String javaType(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return "typeFactory.constructArrayType(" + javaType(((ArrayType) type).getComponentType()) + ")";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                String raw = processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return "typeFactory.constructType(" + raw + ")";
+                }
+                StringBuilder expression = new StringBuilder("typeFactory.constructParametricType(").append(raw);
+                for (TypeMirror argument : declaredType.getTypeArguments()) {
+                    expression.append(", ").append(javaType(argument));
+                }
+                return expression.append(")").toString();
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return "typeFactory.constructType(" + type + ".class)";
+                }
+                // Wildcards and type variables.
+                return "typeFactory.constructType(Object.class)";
+        }
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Jackson annotations other than @JsonIgnore and @JsonIgnoreProperties change the serialization
+     * in a way that the generated code does not reproduce.
+     */
+    private void checkAnnotations(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String name = annotation.getAnnotationType().toString();
+            if (name.startsWith(JACKSON_ANNOTATIONS)
+                    && !Arrays.asList(JsonIgnore.class.getName(), JsonIgnoreProperties.class.getName()).contains(name)) {
+                error(element, "@" + name + " is not supported by @CompiledJson");
+            }
+        }
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().equals(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String qualified(String packageName, String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Property {
+        private final String name;
+        private final TypeMirror type;
+        private final boolean interned;
+
+        Property(String name, TypeMirror type, boolean interned) {
+            this.name = name;
+            this.type = type;
+            this.interned = interned;
+        }
+
+        boolean isString() {
+            return type.getKind() == TypeKind.DECLARED && type.toString().equals("java.lang.String");
+        }
+
+        /**
+         * The accessor names that Lombok's @Data generates.
+         */
+        String getter() {
+            return (type.getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized();
+        }
+
+        String setter() {
+            return "set" + capitalized();
+        }
+
+        String constant() {
+            StringBuilder constant = new StringBuilder();
+            for (char c : name.toCharArray()) {
+                if (Character.isUpperCase(c)) {
+                    constant.append('_');
+                }
+                constant.append(Character.toUpperCase(c));
+            }
+            return constant.toString();
+        }
+
+        String local() {
+            return name + "Value";
+        }
+
+        String deserializer() {
+            return name + "Deserializer";
+        }
+
+        private String capitalized() {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package com.rest;
 
+import com.rest.serialization.StreamingJsonPath;
+import com.rest.utilities.HttpCacheFilter;
+import com.rest.utilities.RateLimitFilter;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
+import com.rest.utilities.TimingFilter;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.LogConfig;
 import io.restassured.http.ContentType;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -33,10 +43,37 @@ public class Part01TestGetPostmanWorkspaces {
     private final int HTTP_Status_code_OK = 200;
     private final int HTTP_Status_code_Created = 201;
 
+    /**
+     * Many tests below do the same GET /workspaces or GET /workspaces/{id}.
+     * With the cache filter only the first one is sent to api.postman.com; the others use the cached response
+     * (revalidated with ETag / Last-Modified after 5 minutes).
+     */
+    private static final HttpCacheFilter cacheFilter = new HttpCacheFilter(10 * 1024 * 1024, 5 * 60 * 1000);
+
+    /**
+     * The base URI, base path, config and filters are set in the specification of this class (see SpecContext),
+     * not in the static RestAssured settings: those would also be used by the other test classes.
+     */
     @BeforeClass
-    public static void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
+    public void init() {
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                // The pooled HttpClient of RestAssuredConfigs reuses the connections, and lets TimingFilter measure the phases.
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
+                .addFilter(cacheFilter)
+                // The rate limit filter paces the requests that are not answered by the cache.
+                .addFilter(RateLimitFilter.shared())
+                // The timing filter records the latency of the requests that are sent.
+                .addFilter(TimingFilter.shared())
+                .build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        log.info("Cache: {}", cacheFilter);
+        log.info("Rate limit: {}", RateLimitFilter.shared());
+        SpecContext.clear();
     }
 
     @Test
@@ -186,7 +223,7 @@ public class Part01TestGetPostmanWorkspaces {
      * Determine the correct JsonPath using: http://groovy-playground.appspot.com/
      */
     @Test
-    public void testExtractSingleFieldd() {
+    public void testExtractSingleFieldd() throws IOException {
         Response response = given()
                 .header("X-Api-Key", X_API_KEY_VALUE)
                 .when()
@@ -225,6 +262,23 @@ public class Part01TestGetPostmanWorkspaces {
                 .response().path("workspaces[2].name");
 
         log.info("Option 4: workspace name = " + workspaceName);
+
+        // Option 5.
+        // The body is not read into a String: the path is evaluated on the JSON tokens
+        // and reading stops after workspaces[2].
+        String streamedWorkspaceName = StreamingJsonPath.compile("workspaces[2].name").readFirst(
+                given()
+                        .header("X-Api-Key", X_API_KEY_VALUE)
+                        .when()
+                        .get()
+                        .then()
+                        .assertThat()
+                        .contentType(ContentType.JSON)
+                        .statusCode(HTTP_Status_code_OK)
+                        .extract()
+                        .response().asInputStream());
+
+        log.info("Option 5: workspace name = " + streamedWorkspaceName);
     }
 
     /**
@@ -611,7 +665,7 @@ public class Part01TestGetPostmanWorkspaces {
                  * If you need to log what's actually sent on the wire refer to the HTTP Client logging docs
                  * or use an external tool such as Wireshark.
                  */
-                .config(config.logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails()))
+                .config(RestAssuredConfigs.restAssuredConfig().logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails()))
 //                .log().ifValidationFails()
                 .when()
                 .get()
@@ -651,7 +705,7 @@ public class Part01TestGetPostmanWorkspaces {
         given()
                 .header("X-Api-Key", X_API_KEY_VALUE)
 //                .config(config.logConfig(LogConfig.logConfig().blacklistHeader("X-Api-Key", "Accept")))
-                .config(config.logConfig(LogConfig.logConfig().blacklistHeaders(headers)))
+                .config(RestAssuredConfigs.restAssuredConfig().logConfig(LogConfig.logConfig().blacklistHeaders(headers)))
 //                .log().all()
                 .when()
                 .get()
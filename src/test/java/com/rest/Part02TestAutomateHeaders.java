@@ -1,12 +1,15 @@
 package com.rest;
 
+import com.rest.utilities.EmbeddedEchoServer;
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.ExtractableResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,15 +23,37 @@ public class Part02TestAutomateHeaders {
     private final int HTTP_Status_code_OK = 200;
     private final int HTTP_Status_code_Created = 201;
 
+    private static EmbeddedEchoServer mockServer;
+
     /**
      * URI to a mock server defined in Postman.
+     * Replaced by the embedded mock server: the examples of the Postman mock are added as stubs.
      */
     @BeforeClass
-    public static void init() {
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
+    public static void init() throws IOException {
+//        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
+        mockServer = new EmbeddedEchoServer();
+        mockServer
+                .addStub(EmbeddedEchoServer.stub("GET", "/get")
+                        .requestHeader("header", "value1")
+                        .responseHeader("responseHeader", "responseValue1")
+                        .responseHeader("X-RateLimit-Limit", "120")
+                        .responseHeader("multiValueHeader", "responseValue2")
+                        .responseHeader("multiValueHeader", "responseValue3")
+                        .responseBody("{\"message\": \"Success\"}"))
+                .addStub(EmbeddedEchoServer.stub("GET", "/get")
+                        .requestHeader("header", "value2")
+                        .responseHeader("responseHeader", "responseValue2")
+                        .responseBody("{\"message\": \"Success\"}"));
+        baseURI = mockServer.baseUri();
         basePath = "/get";
     }
 
+    @AfterClass(alwaysRun = true)
+    public static void cleanUp() {
+        mockServer.close();
+    }
+
     /**
      * Ch. 69. Multiple Headers in Request.
      * <p>
@@ -1,15 +1,21 @@
 package com.rest;
 
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.rest.utilities.SpecContext.given;
+import static com.rest.utilities.SpecContext.with;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -37,8 +43,12 @@ public class Part03TestRequestSpecification {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
+        // Instead of the static RestAssured.baseURI and basePath, so the test classes can run in parallel.
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
+                .build());
 
         /**
          * The difference between 'with()' and 'given()' is syntactical.
@@ -58,6 +68,11 @@ public class Part03TestRequestSpecification {
                 ;
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     /**
      * CH. 76. What is Request Specification.
      * Example to show the use of the interface RequestSpecification.
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -22,6 +23,10 @@ import io.restassured.filter.log.LogDetail;
  * Due to the response being created in the @BeforeAll init() method
  * The logging regarding request and response will now be printed only once.
  * Even if all test methods will be executed.
+ * <p>
+ * The base URI and base path are set in the RequestSpecBuilder instead of the static RestAssured fields,
+ * and SpecContext.given(requestSpecification) does not add the static settings,
+ * so the test classes can run in parallel.
  *
  */
 @Slf4j
@@ -41,13 +46,10 @@ public class Part04TestRequestSpecificationExample {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
-                .setBasePath(basePath)
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
                 .log(LogDetail.ALL)
         ;
@@ -1,14 +1,20 @@
 package com.rest;
 
+import com.rest.utilities.RateLimitFilter;
+import com.rest.utilities.ResponseStore;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
+import com.rest.utilities.TimingFilter;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.LogDetail;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -36,21 +42,23 @@ public class Part05TestDefaultRequestSpecification {
      * - basePath
      * - requestSpecification
      * are alle static parameters of this class.
+     * If test classes run in parallel they overwrite each other's static parameters,
+     * so the default specification is kept per thread in SpecContext instead.
      */
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
-                .setBasePath(basePath)
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
+                .addFilter(RateLimitFilter.shared())
+                .addFilter(TimingFilter.shared())
                 .log(LogDetail.ALL)
         ;
 
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         /**
          * Note 1:
@@ -60,13 +68,18 @@ public class Part05TestDefaultRequestSpecification {
          * Note 2:
          * In this case the same response is used in multiple tests.
          * Depending on the situation in a test the response may have to be adapted or set up separately.
+         *
+         * Note 3:
+         * The response is taken from the ResponseStore: other test classes that ask for the same request
+         * (method, URI, headers and body) get the same response, and the request is sent only once.
          */
-        response = get()
-                .then()
-                .log().all()
-                .extract()
-                .response()
-        ;
+        response = ResponseStore.shared().get(SpecContext.requestSpecification(), Method.GET, "");
+        response.then().log().all();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
@@ -7,10 +8,11 @@ import io.restassured.response.Response;
 import io.restassured.specification.QueryableRequestSpecification;
 import io.restassured.specification.SpecificationQuerier;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import static io.restassured.RestAssured.*;
+import static com.rest.utilities.SpecContext.given;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -28,6 +30,7 @@ public class Part06TestQueryRequestSpecification {
     private final String X_API_KEY_VALUE = "<X_API_KEY_VALUE>";
     private final int HTTP_Status_code_OK = 200;
     private final int HTTP_Status_code_Created = 201;
+    private final String BASE_URI = "https://api.getpostman.com";
 
     Response response;
 
@@ -38,24 +41,23 @@ public class Part06TestQueryRequestSpecification {
      * - basePath
      * - requestSpecification
      * are alle static parameters of this class.
+     * If test classes run in parallel they overwrite each other's static parameters,
+     * so the default specification is kept per thread in SpecContext instead.
      */
     @BeforeClass
     public void init() {
-        baseURI = "https://api.getpostman.com";
-        basePath = "/collections";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-//                .setBaseUri(baseURI)
-//                .setBasePath(basePath)
+                .setBaseUri(BASE_URI)
+                .setBasePath("/collections")
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
                 .log(LogDetail.ALL)
         ;
 
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // A default response setup.
-        // Without RestAssured.given() because RestAssured.requestSpecification has already been set.
+        // SpecContext.given() starts from the default specification of this thread.
         response = given().when().get()
                 .then()
                 .log().all()
@@ -65,28 +67,32 @@ public class Part06TestQueryRequestSpecification {
         ;
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     /**
      * Example testing the properties of the request that is being sent.
      * This is based on interface io.restassured.specification.QueryableRequestSpecification.
      */
     @Test
     public void testQuery() {
-        QueryableRequestSpecification queryableRequestSpecification = SpecificationQuerier.query(requestSpecification);
+        QueryableRequestSpecification queryableRequestSpecification = SpecificationQuerier.query(SpecContext.requestSpecification());
         log.info("baseUri: {}", queryableRequestSpecification.getBaseUri());
         log.info("Headers: {}", queryableRequestSpecification.getHeaders());
-        assertThat(queryableRequestSpecification.getBaseUri(), is(equalTo(baseURI)));
+        assertThat(queryableRequestSpecification.getBaseUri(), is(equalTo(BASE_URI)));
         assertThat(queryableRequestSpecification.getHeaders().getValue(X_API_KEY), is(equalTo(X_API_KEY_VALUE)));
     }
 
     /**
      * Overwriting the default response.
-     * Note that RestAssured.given() is not necessary.
-     * Reason:
-     * RestAssured.resquestSpecification has already been given a value.
+     * Note that the static RestAssured.get() would not need RestAssured.given(),
+     * because it uses RestAssured.requestSpecification; the default specification of SpecContext needs given().
      */
     @Test
     public void testValidatStatusCode() {
-        response = get()
+        response = given().get()
                 .then()
                 .log().all()
                 .extract()
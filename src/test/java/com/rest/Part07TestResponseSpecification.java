@@ -1,5 +1,7 @@
 package com.rest;
 
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
@@ -9,9 +11,11 @@ import io.restassured.response.Response;
 import io.restassured.specification.QueryableRequestSpecification;
 import io.restassured.specification.SpecificationQuerier;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -26,6 +30,8 @@ import static org.hamcrest.Matchers.is;
  * Using ResponseSpecBuilder.
  *
  * Ch. 84. Default Response Specification.
+ * The default specifications are kept per thread in SpecContext instead of the static RestAssured fields,
+ * so the test classes can run in parallel.
  */
 @Slf4j
 public class Part07TestResponseSpecification {
@@ -40,16 +46,16 @@ public class Part07TestResponseSpecification {
     Response response;
 
     @BeforeClass
-        public void init() {
-            baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
+    public void init() {
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
                 .log(LogDetail.ALL)
         ;
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         /**
          * If the log().all() is added here no response is given.
@@ -70,10 +76,10 @@ public class Part07TestResponseSpecification {
                 ;
 
         /**
-         * In case the RestAssured.responseSpecification is used .spec(responseSpecification) is not necessary
-         * in the response.
+         * In case the default response specification of SpecContext (or RestAssured.responseSpecification) is used
+         * .spec(responseSpecification) is not necessary in the response.
          */
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
 
         response = given()
                 .when()
@@ -86,14 +92,20 @@ public class Part07TestResponseSpecification {
                 .response();
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     /**
-     * Note that given().when() is not necessary because the requestSpecification has already been filled in.
+     * Note that given().when() would not be necessary with the static RestAssured.requestSpecification;
+     * SpecContext.given() adds the default specifications of this thread.
      */
     @Test
     public void testResponseGenerallyOkay() {
         log.info("*** Execution of testResponseGenerallyOkay");
-        get()
-                .then().spec(responseSpecification)
+        given().get()
+                .then().spec(SpecContext.responseSpecification())
                 .log().all()
         ;
     }
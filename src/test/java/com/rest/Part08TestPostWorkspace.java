@@ -1,5 +1,11 @@
 package com.rest;
 
+import com.rest.serialization.JsonStreamComparator;
+import com.rest.serialization.PayloadTemplate;
+import com.rest.utilities.RateLimitFilter;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
+import com.rest.utilities.TimingFilter;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
@@ -8,9 +14,17 @@ import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.hamcrest.Matchers;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static com.rest.utilities.CompiledPathCache.compiledPaths;
+import static com.rest.utilities.JsonStreamMatchers.sameJsonAs;
+import static com.rest.utilities.SpecContext.given;
+import static com.rest.utilities.SpecContext.with;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -20,6 +34,8 @@ import static org.hamcrest.Matchers.*;
  *
  * In order to execute the delete tests firstly a workspace needs to be created and the id
  * needs to be added.
+ * The default specifications are kept per thread in SpecContext instead of the static RestAssured fields,
+ * so the test classes can run in parallel.
  */
 @Slf4j
 public class Part08TestPostWorkspace {
@@ -51,15 +67,17 @@ public class Part08TestPostWorkspace {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
+                .addFilter(RateLimitFilter.shared())
+                .addFilter(TimingFilter.shared())
                 .setContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         /**
          * For some reason .log(logDetail.ALL) does not work.
@@ -71,17 +89,22 @@ public class Part08TestPostWorkspace {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        // A non-standard <> RestAssured.responseSpecification would be given to get().spec().
-        // Otherwise the following RestAssured.responseSpecification will be used under the hood of .get() / .post().
-//        responseSpecification = responseSpecBuilder.build();
+        // A non-standard <> default response specification would be given to get().spec().
+        // Otherwise the following default of SpecContext will be used under the hood of .get() / .post().
+//        SpecContext.setResponseSpecification(responseSpecBuilder.build());
 
         // Alternatively setup. Works nicely too.
-        responseSpecification = RestAssured.expect()
+        SpecContext.setResponseSpecification(RestAssured.expect()
                 .statusCode(HTTP_Status_code_OK)
-                .contentType(ContentType.JSON);
+                .contentType(ContentType.JSON));
         log.info("blalba");
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     /**
      * BDD-style
      */
@@ -102,6 +125,9 @@ public class Part08TestPostWorkspace {
     /**
      * Now a different setup is used.
      * This ans the 2nd setup of the responseSpecification is Quiz 11. Question 1.
+     *
+     * The paths are evaluated via CompiledPathCache: each path is compiled to a Groovy script only once
+     * instead of for every assertion, and the body is parsed once for all paths.
      */
     @Test
     public void testValidatePostRequestBDDStyle2() {
@@ -109,10 +135,61 @@ public class Part08TestPostWorkspace {
                 .body(payload)
                 .when()
                 .post()
-                .then().spec(responseSpecification)
+                .then().spec(SpecContext.responseSpecification())
+                .log().all()
+                .assertThat()
+                .body(compiledPaths("workspace.name", is(equalTo("MyFifthWorkspace"))
+                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")));
+    }
+
+    /**
+     * The payload is rendered from src/test/resources/workspacePayloadTemplate.json.
+     * The template is compiled once; only the values of the placeholders differ per request.
+     */
+    @Test
+    public void testValidatePostRequestFromTemplate() throws IOException {
+        PayloadTemplate template = PayloadTemplate.compile(Paths.get("src/test/resources/workspacePayloadTemplate.json"));
+        byte[] payload = template.newRenderer()
+                .set("name", "MyFifthWorkspace")
+                .set("type", "personal")
+                .set("description", "workspace for BDD Style testing the POST HTTP method")
+                .render()
+                .toByteArray();
+
+        given()
+                .body(payload)
+                .when()
+                .post()
+                .then().spec(SpecContext.responseSpecification())
+                .log().all()
+                .assertThat()
+                .body("workspace.name", is(equalTo("MyFifthWorkspace"))
+                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$"));
+    }
+
+    /**
+     * Round trip: the workspace is created by POST and read back by GET.
+     * The GET response is compared with the payload by JsonStreamComparator, which reads both documents
+     * in lockstep and reports the path of the first difference.
+     * The server adds fields like id, visibility and createdBy: these are allowed as extra fields.
+     */
+    @Test
+    public void testValidatePostRequestRoundTrip() {
+        String createdWorkspaceId = given()
+                .body(payload)
+                .when()
+                .post()
+                .then().spec(SpecContext.responseSpecification())
+                .extract()
+                .path("workspace.id");
+
+        given()
+                .when()
+                .get(createdWorkspaceId)
+                .then().spec(SpecContext.responseSpecification())
                 .log().all()
                 .assertThat()
-                .body("workspace.name", is(equalTo("MyFifthWorkspace")));
+                .body(sameJsonAs(payload, JsonStreamComparator.strict().allowingExtraFields()));
     }
 
     /**
@@ -190,7 +267,7 @@ public class Part08TestPostWorkspace {
                 )
         ;
         /** Alternatively you can pass the workspaceId as a parameter.
-         * Note that RestAssured.basePath has already been set and the parameter will be concatenated:
+         * Note that the base path has already been set and the parameter will be concatenated:
          * /workspaces/{workspaceId}
          **/
         given()
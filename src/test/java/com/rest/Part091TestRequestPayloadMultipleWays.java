@@ -1,5 +1,7 @@
 package com.rest;
 
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
@@ -7,6 +9,7 @@ import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -15,12 +18,14 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-import static io.restassured.RestAssured.given;
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import static com.rest.utilities.FileReading.readFromFile;
+import static com.rest.utilities.FileReading.readPayloadBytes;
+import static com.rest.utilities.JsonTreeMatchers.jsonTree;
 
 /**
  * Section 16: Rest Assured - Send Request Payload Multiple Ways
@@ -54,15 +59,16 @@ public class Part091TestRequestPayloadMultipleWays {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
+        // The specifications are kept per thread by SpecContext instead of the static RestAssured fields.
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
                 .setContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
 //        /**
 //         * For some reason .log(logDetail.ALL) does not work.
@@ -75,9 +81,14 @@ public class Part091TestRequestPayloadMultipleWays {
 //                .log(LogDetail.ALL);
 
         // Alternatively setup. Works nicely too.
-        responseSpecification = RestAssured.expect()
+        SpecContext.setResponseSpecification(RestAssured.expect()
                 .statusCode(HTTP_Status_code_OK)
-                .contentType(ContentType.JSON);
+                .contentType(ContentType.JSON));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
@@ -109,8 +120,8 @@ public class Part091TestRequestPayloadMultipleWays {
                 .then()
                 .log().all()
                 .assertThat()
-        .body("workspace.name", is(equalTo("MyFifthWorkspace"))
-        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$"))
+        .body(jsonTree("workspace.name", is(equalTo("MyFifthWorkspace"))
+        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")))
         ;
     }
 
@@ -138,8 +149,32 @@ public class Part091TestRequestPayloadMultipleWays {
                 .then()
                 .log().all()
                 .assertThat()
-                .body("workspace.name", is(equalTo("MySixthWorkspace"))
-                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$"))
+                .body(jsonTree("workspace.name", is(equalTo("MySixthWorkspace"))
+                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")))
+        ;
+    }
+
+    /**
+     * Ch. 89. Send as a File.
+     * The file is read once and cached by FileReading.readPayloadBytes() and sent as byte array,
+     * without decoding it to a String.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testValidatePostRequestFromCachedFile() throws IOException {
+
+        String jsonFile = "src/test/resources/createPostWorkspacePayload.json";
+
+        given()
+                .body(readPayloadBytes(jsonFile))
+                .when()
+                .post()
+                .then()
+                .log().all()
+                .assertThat()
+                .body(jsonTree("workspace.name", is(equalTo("MySixthWorkspace"))
+                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")))
         ;
     }
 
@@ -173,8 +208,8 @@ public class Part091TestRequestPayloadMultipleWays {
                 .then()
                 .log().all()
                 .assertThat()
-                .body("workspace.name", is(equalTo("MySeventhWorkspace"))
-                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$"));
+                .body(jsonTree("workspace.name", is(equalTo("MySeventhWorkspace"))
+                        , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")));
 
     }
 
@@ -1,11 +1,13 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -14,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -52,12 +55,6 @@ public class Part092TestPostPayloadAsJsonArray {
 
     @BeforeClass
     public void init() {
-        // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
-        // The endpoint. Now .when().post() can remain empty.
-        // Otherwise: .when().post(<endpoint>).
-        basePath = "/post";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         /**
          * The .setConfig() below is necessary if for some reason utf-8 is NOT used as default.
@@ -73,7 +70,11 @@ public class Part092TestPostPayloadAsJsonArray {
          *
          */
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                // The base Url of the Mock server that has been set up in Postman.
+                .setBaseUri("https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io")
+                // The endpoint. Now .when().post() can remain empty.
+                // Otherwise: .when().post(<endpoint>).
+                .setBasePath("/post")
                 .addHeader("x-mock-match-request-body", "true")
 //                .setContentType(ContentType.JSON)
                 .setContentType("application/json; charset=utf-8")
@@ -82,7 +83,7 @@ public class Part092TestPostPayloadAsJsonArray {
                 // Setting the charset explicitly should in that case also be done at the source (or mock).
 //                .setConfig(config.encoderConfig(EncoderConfig.encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false)))
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -90,12 +91,17 @@ public class Part092TestPostPayloadAsJsonArray {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
 
 //        // Alternatively setup. Works nicely too. Again: here '.log(LogDetail.ALL)' would not work.
-//        responseSpecification = RestAssured.expect()
+//        SpecContext.setResponseSpecification(RestAssured.expect()
 //                .statusCode(HTTP_Status_code_OK)
-//                .contentType(ContentType.JSON);
+//                .contentType(ContentType.JSON));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     @Test
@@ -1,16 +1,21 @@
 package com.rest;
 
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.*;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -29,19 +34,30 @@ public class Part10TestPostPayloadComplexJson {
 
     Response response;
 
+    private EmbeddedEchoServer mockServer;
+
     @BeforeClass
-    public void init() {
+    public void init() throws IOException {
         // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
-        basePath = "/postComplexJson";
+//        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
+        // Replaced by the embedded mock server with the example of the Postman mock as stub.
+        mockServer = new EmbeddedEchoServer();
+        mockServer.addStub(EmbeddedEchoServer.stub("POST", "/postComplexJson")
+                .requestBody("{\"id\": \"0001\", \"type\": \"donut\", \"name\": \"Cake\", \"ppu\": 0.55"
+                        + ", \"batters\": {\"batter\": [{\"id\": \"1001\", \"type\": \"Regular\"}"
+                        + ", {\"id\": [5, 9], \"type\": \"Chocolate\"}]}"
+                        + ", \"topping\": [{\"id\": \"5001\", \"type\": \"None\"}"
+                        + ", {\"id\": \"5002\", \"type\": [\"test1\", \"test2\"]}]}")
+                .responseBody("{\"message\": \"Success\"}"));
 
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                .setBaseUri(mockServer.baseUri())
+                .setBasePath("/postComplexJson")
                 .addHeader("x-mock-match-request-body", "true")
                 .setContentType("application/json; charset=utf-8")
                .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -49,12 +65,18 @@ public class Part10TestPostPayloadComplexJson {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
 
 //        // Alternatively setup. Works nicely too. Again: here '.log(LogDetail.ALL)' would not work.
-//        responseSpecification = RestAssured.expect()
+//        SpecContext.setResponseSpecification(RestAssured.expect()
 //                .statusCode(HTTP_Status_code_OK)
-//                .contentType(ContentType.JSON);
+//                .contentType(ContentType.JSON));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+        mockServer.close();
     }
 
     /**
@@ -1,18 +1,20 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.*;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -33,17 +35,15 @@ public class Part11TestPostPayloadComplexJsonAssignment {
 
     @BeforeClass
     public void init() {
-        // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
-        basePath = "/postComplexJsonAssignment1";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                // The base Url of the Mock server that has been set up in Postman.
+                .setBaseUri("https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io")
+                .setBasePath("/postComplexJsonAssignment1")
                 .addHeader("x-mock-match-request-body", "true")
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -51,7 +51,12 @@ public class Part11TestPostPayloadComplexJsonAssignment {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
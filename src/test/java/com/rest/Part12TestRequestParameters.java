@@ -1,12 +1,16 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
+import io.restassured.builder.RequestSpecBuilder;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 
 /**
@@ -34,8 +38,15 @@ public class Part12TestRequestParameters {
     @BeforeClass
     public void init() {
         // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "http://postman-echo.com";
-        basePath = "/get";
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("http://postman-echo.com")
+                .setBasePath("/get")
+                .build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
@@ -1,9 +1,13 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
+import io.restassured.builder.RequestSpecBuilder;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 
 @Slf4j
@@ -18,8 +22,15 @@ public class Part13TestRequestParameters {
     public void init() {
         // The base Url of the website that provides the content.
         // This is a free website that provides content for test purposes.
-        baseURI = "https://reqres.in/";
-        basePath = "api/users/";
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("https://reqres.in/")
+                .setBasePath("api/users/")
+                .build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
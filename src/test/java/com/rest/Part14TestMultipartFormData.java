@@ -1,18 +1,28 @@
 package com.rest;
 
+import com.rest.utilities.FileDownload;
 import com.rest.utilities.FileReading;
+import com.rest.utilities.SpecContext;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.EncoderConfig;
 import io.restassured.filter.log.LogDetail;
+import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
 
 /**
  * Resources:
@@ -31,8 +41,15 @@ public class Part14TestMultipartFormData {
     @BeforeClass
     public void init() {
         // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "http://postman-echo.com";
-        basePath = "/post";
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("http://postman-echo.com")
+                .setBasePath("/post")
+                .build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
@@ -137,21 +154,21 @@ public class Part14TestMultipartFormData {
     @Test
     public void testDownloadFile() throws IOException {
 
-        baseURI = "https://raw.githubusercontent.com";
-        basePath = "/appium/appium/master/sample-code/apps/ApiDemos-debug.apk";
-
-        byte[] bytes = given()
+        // Overrides the base URI and base path of the default specification for this request only.
+        // Only the status is logged: .log().all() would read the complete body into memory.
+        Response response = given()
+                .baseUri("https://raw.githubusercontent.com")
+                .basePath("/appium/appium/master/sample-code/apps/ApiDemos-debug.apk")
                 .log().all()
                 .when()
                 .get()
                 .then()
-                .log().all()
+                .log().status()
                 .extract()
-                .response().asByteArray();
+                .response();
 
-        try(OutputStream outputStream = new FileOutputStream(new File("ApiDemos-debug.apk"));) {
-            outputStream.write(bytes);
-        }
+        FileDownload.DownloadResult downloadResult = FileDownload.download(response, Paths.get("ApiDemos-debug.apk"));
+        log.info("Downloaded {}", downloadResult);
     }
 
     /**
@@ -163,8 +180,12 @@ public class Part14TestMultipartFormData {
      * (but any online available file will do).
      * So the example in this method shows that RestAssured can download a file and
      * the result can be tested.
-     * In the example below the file will be read to a byte array via an InputStream.
-     * This byte array will be written to a file via an OutputStream.
+     * In the example below the InputStream is streamed directly to the file by FileDownload.
+     * Reading inputStream.available() bytes into one byte array would hold the complete file on the heap,
+     * and would only read the bytes that happen to be available at that moment.
+     * FileDownload also calculates the checksum while writing.
+     *
+     * Note: .log().all() on the response would read the complete body into memory, so only the status is logged.
      *
      * https://www.baeldung.com/java-inputstream-to-outputstream
      *
@@ -172,26 +193,20 @@ public class Part14TestMultipartFormData {
      */
     @Test
     public void testDownloadFile2() throws IOException {
-        baseURI = "https://raw.githubusercontent.com";
-        basePath = "/appium/appium/master/sample-code/apps/ApiDemos-debug.apk";
-
         InputStream inputStream = given()
-//                .baseUri("https://raw.githubusercontent.com")
+                .baseUri("https://raw.githubusercontent.com")
+                .basePath("/appium/appium/master/sample-code/apps/ApiDemos-debug.apk")
                 .log().all()
                 .when()
                 .get()
                 .then()
-                .log().all()
+                .log().status()
                 .extract()
                 .response().asInputStream();
 
-        try(OutputStream outputStream = new FileOutputStream(new File("ApiDemos-debug.apk"));) {
-            byte[] bytes = new byte[inputStream.available()];
-
-            // Reads some number of bytes from the input stream and stores them into the buffer array b.
-            inputStream.read(bytes);
+        FileDownload.DownloadResult downloadResult = FileDownload.download(inputStream, Paths.get("ApiDemos-debug.apk"));
+        log.info("Downloaded {}", downloadResult);
 
-            outputStream.write(bytes);
-        }
+        assertThat(downloadResult.getBytes(), is(greaterThan(0L)));
     }
 }
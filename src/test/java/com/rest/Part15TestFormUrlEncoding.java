@@ -1,5 +1,6 @@
 package com.rest;
 
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.config.EncoderConfig;
@@ -7,11 +8,12 @@ import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 
 @Slf4j
 public class Part15TestFormUrlEncoding {
@@ -26,16 +28,14 @@ public class Part15TestFormUrlEncoding {
 
     @BeforeClass
     public void init() {
-        baseURI = "http://postman-echo.com";
-        basePath = "/post";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
 
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                .setBaseUri("http://postman-echo.com")
+                .setBasePath("/post")
                 .setContentType("application/x-www-form-urlencoded; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -43,7 +43,12 @@ public class Part15TestFormUrlEncoding {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
@@ -63,7 +68,7 @@ public class Part15TestFormUrlEncoding {
                 // This would result in an HTTP 500 Internal Server Error
                 // Now the content-type will be:
                 // Content-Type=application/x-www-form-urlencoded (See request logging).
-                // Alternatively you can specify the Content-Type in the RestAssured.requestSpecification.
+                // Alternatively you can specify the Content-Type in the default request specification.
                 // Has been added to the io.restassured.builder.RequestSpecBuilder.
 //                .config(config().encoderConfig(EncoderConfig.encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false)))
                 .formParam("key1", "value1")
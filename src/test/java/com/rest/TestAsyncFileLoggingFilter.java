@@ -0,0 +1,185 @@
+package com.rest;
+
+import com.rest.utilities.AsyncFileLoggingFilter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests for com.rest.utilities.AsyncFileLoggingFilter.
+ * No server is needed: the last filter returns the response instead of sending the request.
+ */
+@Slf4j
+public class TestAsyncFileLoggingFilter {
+
+    private final Filter echoResponseFilter = (requestSpec, responseSpec, ctx) -> new ResponseBuilder()
+            .setStatusCode(200)
+            .setStatusLine("HTTP/1.1 200 OK")
+            .setContentType(ContentType.JSON)
+            .setHeader("X-Response-Header", "response")
+            .setBody("{\"workspace\":{\"name\":\"MyFifthWorkspace\"}}")
+            .build();
+
+    @Test
+    public void testRequestAndResponseAreLogged() throws IOException {
+        Path logFile = Files.createTempFile("restAssuredAsync", ".log");
+
+        try (AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(logFile
+                , LogDetail.ALL
+                , AsyncFileLoggingFilter.DEFAULT_CAPACITY
+                , Collections.singletonList("x-api-key"))) {
+            given()
+                    .filter(loggingFilter)
+                    .filter(echoResponseFilter)
+                    .header("X-Api-Key", "secret")
+                    .body("{\"workspace\":{\"name\":\"MyFifthWorkspace\"}}")
+                    .when()
+                    .post("http://localhost/workspaces")
+                    .then()
+                    .statusCode(200);
+        }
+
+        String logging = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+        log.info(logging);
+
+        assertThat(logging, containsString("Request method:\tPOST"));
+        assertThat(logging, containsString("Request URI:\thttp://localhost:8080/workspaces"));
+        assertThat(logging, containsString("X-Api-Key=" + AsyncFileLoggingFilter.BLACKLISTED));
+        assertThat(logging, not(containsString("secret")));
+        assertThat(logging, containsString("HTTP/1.1 200 OK"));
+        assertThat(logging, containsString("X-Response-Header=response"));
+        // Pretty-printed.
+        assertThat(logging, containsString("\"name\" : \"MyFifthWorkspace\""));
+        Files.delete(logFile);
+    }
+
+    @Test
+    public void testLogDetailStatus() throws IOException {
+        Path logFile = Files.createTempFile("restAssuredAsync", ".log");
+
+        try (AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(logFile, LogDetail.STATUS)) {
+            for (int i = 0; i < 100; i++) {
+                given()
+                        .filter(loggingFilter)
+                        .filter(echoResponseFilter)
+                        .when()
+                        .get("http://localhost/workspaces");
+            }
+            loggingFilter.close();
+            assertThat(loggingFilter.getWrittenRecords() + loggingFilter.getDroppedRecords(), is(equalTo(100L)));
+        }
+
+        String logging = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+        assertThat(logging, not(containsString("Request method")));
+        assertThat(logging, not(containsString("MyFifthWorkspace")));
+        assertThat(logging, containsString("HTTP/1.1 200 OK"));
+        Files.delete(logFile);
+    }
+
+    /**
+     * With a capacity of 1 and a writer thread that can not keep up, records are dropped instead of blocking.
+     */
+    @Test
+    public void testFullBufferDropsRecords() throws IOException {
+        Path logFile = Files.createTempFile("restAssuredAsync", ".log");
+
+        long written;
+        long dropped;
+        try (AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(logFile
+                , LogDetail.ALL
+                , 1
+                , Collections.emptyList())) {
+            for (int i = 0; i < 200; i++) {
+                given()
+                        .filter(loggingFilter)
+                        .filter(echoResponseFilter)
+                        .when()
+                        .get("http://localhost/workspaces");
+            }
+            loggingFilter.close();
+            written = loggingFilter.getWrittenRecords();
+            dropped = loggingFilter.getDroppedRecords();
+        }
+
+        log.info("written = {}, dropped = {}", written, dropped);
+        assertThat(written + dropped, is(equalTo(200L)));
+        Files.delete(logFile);
+    }
+
+    @Test
+    public void testFailedRequestIsLogged() throws IOException {
+        Path logFile = Files.createTempFile("restAssuredAsync", ".log");
+
+        try (AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(logFile, LogDetail.ALL)) {
+            expectThrows(IllegalStateException.class, () -> given()
+                    .filter(loggingFilter)
+                    .filter((requestSpec, responseSpec, ctx) -> {
+                        throw new IllegalStateException("Connection refused");
+                    })
+                    .when()
+                    .get("http://localhost/workspaces"));
+        }
+
+        String logging = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+        assertThat(logging, containsString("Request URI:\thttp://localhost:8080/workspaces"));
+        assertThat(logging, containsString("Request failed:\tjava.lang.IllegalStateException: Connection refused"));
+        Files.delete(logFile);
+    }
+
+    /**
+     * Requests that are still running while the filter is closed are either written or counted as dropped.
+     */
+    @Test
+    public void testCloseDuringRequestsLosesNoRecords() throws Exception {
+        Path logFile = Files.createTempFile("restAssuredAsync", ".log");
+        AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(logFile, LogDetail.STATUS);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 250; j++) {
+                        given()
+                                .filter(loggingFilter)
+                                .filter(echoResponseFilter)
+                                .when()
+                                .get("http://localhost/workspaces");
+                    }
+                }));
+            }
+            // Closes while the requests are running.
+            while (loggingFilter.getWrittenRecords() < 100 && !futures.get(0).isDone()) {
+                Thread.sleep(1);
+            }
+            loggingFilter.close();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        log.info("written = {}, dropped = {}", loggingFilter.getWrittenRecords(), loggingFilter.getDroppedRecords());
+        assertThat(loggingFilter.getWrittenRecords() + loggingFilter.getDroppedRecords(), is(equalTo(1000L)));
+        Files.delete(logFile);
+    }
+}
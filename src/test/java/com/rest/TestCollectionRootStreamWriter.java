@@ -0,0 +1,176 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest.entities.collection.*;
+import com.rest.serialization.CollectionRootStreamWriter;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.EmbeddedEchoServer;
+import io.restassured.response.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.rest.utilities.IsolatedRequests.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for com.rest.serialization.CollectionRootStreamWriter.
+ * The streamed JSON should be exactly the same as the JSON created by Jackson databind.
+ */
+@Slf4j
+public class TestCollectionRootStreamWriter {
+
+    private final ObjectMapper objectMapper = EntityMappers.objectMapper();
+
+    @Test
+    public void testStreamedJsonEqualsDatabindJson() throws IOException {
+        CollectionRoot collectionRoot = createCollectionRoot(3, 2);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CollectionRootStreamWriter.write(collectionRoot, outputStream);
+
+        String streamed = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        String databind = EntityMappers.writer(CollectionRoot.class).writeValueAsString(collectionRoot);
+        log.info(streamed);
+
+        assertThat(streamed, is(equalTo(databind)));
+    }
+
+    @Test
+    public void testNullValuesAreWrittenAsNull() throws IOException {
+        Request request = new Request("https://postman-echo.com/get", "GET", null, null, null);
+        Folder folder = new Folder(null, Collections.singletonList(new RequestRoot("Sample GET Request", request)));
+        CollectionRoot collectionRoot = new CollectionRoot(new Collection(null, Collections.singletonList(folder)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CollectionRootStreamWriter.write(collectionRoot, outputStream);
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8),
+                is(equalTo(EntityMappers.writer(CollectionRoot.class).writeValueAsString(collectionRoot))));
+    }
+
+    @Test
+    public void testAsInputStream() throws IOException {
+        CollectionRoot collectionRoot = createCollectionRoot(50, 200);
+
+        JsonNode streamed;
+        try (InputStream inputStream = CollectionRootStreamWriter.asInputStream(collectionRoot)) {
+            streamed = objectMapper.readTree(inputStream);
+        }
+
+        assertThat(streamed, is(equalTo(objectMapper.valueToTree(collectionRoot))));
+    }
+
+    /**
+     * The folders are created while the JSON is being written.
+     */
+    @Test
+    public void testLazyFolders() throws IOException {
+        Info info = new Info("Sample Collection", "This is just a sample collection.", null);
+        Iterator<Folder> folders = new Iterator<Folder>() {
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return count < 1000;
+            }
+
+            @Override
+            public Folder next() {
+                return createFolder(count++, 10);
+            }
+        };
+
+        JsonNode streamed;
+        try (InputStream inputStream = CollectionRootStreamWriter.asInputStream(info, folders)) {
+            streamed = objectMapper.readTree(inputStream);
+        }
+
+        assertThat(streamed.path("collection").path("items").size(), is(equalTo(1000)));
+        assertThat(streamed.path("collection").path("items").path(999).path("name").asText(), is(equalTo("Folder 999")));
+    }
+
+    /**
+     * The folders are written by the thread that sends the request, one folder at a time.
+     */
+    @Test
+    public void testPostIsWrittenOnTheRequestThread() throws IOException {
+        Thread requestThread = Thread.currentThread();
+        AtomicInteger otherThreads = new AtomicInteger();
+        Iterator<Folder> folders = createCollectionRoot(20, 5).getCollection().getItems().stream()
+                .peek(folder -> {
+                    if (Thread.currentThread() != requestThread) {
+                        otherThreads.incrementAndGet();
+                    }
+                })
+                .iterator();
+
+        Response response = given()
+                .baseUri(EmbeddedEchoServer.shared().baseUri())
+                .contentType("application/json; charset=utf-8")
+                .body(CollectionRootStreamWriter.asInputStream(null, folders))
+                .when()
+                .post("/post");
+
+        assertThat(response.statusCode(), is(equalTo(200)));
+        assertThat(response.path("json.collection.items.size()"), is(equalTo(20)));
+        assertThat(otherThreads.get(), is(equalTo(0)));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testWriterFailureIsPropagated() throws IOException {
+        Iterator<Folder> folders = new Iterator<Folder>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Folder next() {
+                throw new IllegalStateException("No more folders");
+            }
+        };
+
+        try (InputStream inputStream = CollectionRootStreamWriter.asInputStream(null, folders)) {
+            objectMapper.readTree(inputStream);
+        }
+    }
+
+    private CollectionRoot createCollectionRoot(int numberOfFolders, int requestsPerFolder) {
+        List<Folder> folderList = new ArrayList<>();
+        for (int i = 0; i < numberOfFolders; i++) {
+            folderList.add(createFolder(i, requestsPerFolder));
+        }
+        Info info = new Info("Sample Collection"
+                , "This is just a sample collection."
+                , "https://schema.getpostman.com/json/collection/v2.1.0/collection.json");
+        return new CollectionRoot(new Collection(info, folderList));
+    }
+
+    private Folder createFolder(int folderNumber, int requestsPerFolder) {
+        List<RequestRoot> requestRootList = new ArrayList<>();
+        for (int i = 0; i < requestsPerFolder; i++) {
+            List<Header> headerList = new ArrayList<>();
+            headerList.add(new Header("Content-Type", "application/json; charset=utf-8"));
+            Request request = new Request("https://postman-echo.com/post"
+                    , "POST"
+                    , headerList
+                    , new Body("raw", "{\"data\": \"" + i + "\"}")
+                    , "This is a sample POST Request");
+            requestRootList.add(new RequestRoot("Sample POST Request " + i, request));
+        }
+        return new Folder("Folder " + folderNumber, requestRootList);
+    }
+}
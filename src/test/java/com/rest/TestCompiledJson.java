@@ -0,0 +1,150 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.rest.entities.Address;
+import com.rest.entities.Geo;
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.entities.collection.Body;
+import com.rest.entities.collection.Collection;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.entities.collection.Folder;
+import com.rest.entities.collection.Header;
+import com.rest.entities.collection.Info;
+import com.rest.entities.collection.Request;
+import com.rest.entities.collection.RequestRoot;
+import com.rest.serialization.CompiledJsonModule;
+import com.rest.serialization.EntityMappers;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests for com.rest.serialization.CompiledJsonModule and the serializers generated by
+ * com.rest.serialization.processor.CompiledJsonProcessor.
+ * The generated serializers must give the same results as Jackson's reflective serialization.
+ */
+@Slf4j
+public class TestCompiledJson {
+
+    private static final ObjectMapper REFLECTIVE = new ObjectMapper();
+
+    @Test
+    public void testAllEntityTypesAreRegistered() {
+        CompiledJsonModule module = CompiledJsonModule.forTypes(EntityMappers.ENTITY_TYPES, null);
+
+        assertThat(module.getTypes(), is(equalTo(EntityMappers.ENTITY_TYPES)));
+    }
+
+    @Test
+    public void testTypesWithoutCompiledJsonAreSkipped() {
+        CompiledJsonModule module = CompiledJsonModule.forTypes(Arrays.asList(String.class, Workspace.class), null);
+
+        assertThat(module.getTypes(), contains(Workspace.class));
+    }
+
+    @Test
+    public void testSerializationIsEqualToReflective() throws Exception {
+        Workspace workspace = new Workspace("MyFifthWorkspace", "personal", "workspace with \"quotes\" and é");
+        workspace.setId("4b1c4696-3b6b-4107-af96-90c84eb51b63");
+        workspace.setI(3);
+        workspace.setMyMap(new HashMap<>(Collections.singletonMap("key", "value")));
+
+        for (Object value : Arrays.asList(
+                new WorkspaceRoot(workspace),
+                new WorkspaceRoot(new Workspace()),
+                new WorkspaceRoot(),
+                user(),
+                new User(),
+                collectionRoot(),
+                new CollectionRoot(new Collection(new Info(), null)))) {
+            String expected = REFLECTIVE.writeValueAsString(value);
+            String actual = EntityMappers.writer(value.getClass()).writeValueAsString(value);
+            log.info(actual);
+            assertThat(actual, is(equalTo(expected)));
+        }
+        assertThat(EntityMappers.objectMapper().writeValueAsString(workspace), not(containsString("id")));
+    }
+
+    @Test
+    public void testDeserializationIsEqualToReflective() throws Exception {
+        List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get("src/test/resources/users.jsonl")));
+        lines.removeIf(line -> line.trim().isEmpty());
+        for (String line : lines) {
+            assertThat(EntityMappers.reader(User.class).readValue(line), is(equalTo(REFLECTIVE.readValue(line, User.class))));
+        }
+
+        String collection = REFLECTIVE.writeValueAsString(collectionRoot());
+        assertThat(EntityMappers.reader(CollectionRoot.class).readValue(collection), is(equalTo(collectionRoot())));
+    }
+
+    /**
+     * The id is deserialized because of @JsonIgnoreProperties(allowSetters = true); i and myMap are skipped.
+     */
+    @Test
+    public void testIgnoredPropertiesAreDeserializedAsReflective() throws Exception {
+        String json = "{\"workspace\":{\"id\":\"id1\",\"i\":3,\"myMap\":{\"key\":[1,{}]},\"name\":null,\"type\":\"team\"}}";
+
+        WorkspaceRoot workspaceRoot = EntityMappers.reader(WorkspaceRoot.class).readValue(json);
+
+        assertThat(workspaceRoot, is(equalTo(REFLECTIVE.readValue(json, WorkspaceRoot.class))));
+        assertThat(workspaceRoot.getWorkspace().getId(), is(equalTo("id1")));
+        assertThat(workspaceRoot.getWorkspace().getI(), is(equalTo(0)));
+        assertThat(workspaceRoot.getWorkspace().getMyMap(), is(nullValue()));
+    }
+
+    @Test
+    public void testErrorsAreReportedAsReflective() {
+        String unknown = "{\"name\":\"Leanne Graham\",\"phone\":\"1-770-736-8031\"}";
+        UnrecognizedPropertyException exception = expectThrows(UnrecognizedPropertyException.class,
+                () -> EntityMappers.reader(User.class).readValue(unknown));
+        log.info(exception.getMessage());
+        assertThat(exception.getPropertyName(), is(equalTo("phone")));
+        assertThat(exception.getKnownPropertyIds(), containsInAnyOrder("id", "name", "username", "email", "address"));
+        expectThrows(UnrecognizedPropertyException.class, () -> REFLECTIVE.readValue(unknown, User.class));
+
+        expectThrows(MismatchedInputException.class, () -> EntityMappers.reader(User.class).readValue("[]"));
+        expectThrows(MismatchedInputException.class, () -> EntityMappers.reader(User.class).readValue("{\"name\":{}}"));
+    }
+
+    @Test
+    public void testInterningObjectMapperStillInterns() throws Exception {
+        String json = "{\"url\":\"https://postman-echo.com/get\",\"method\":\"GET\"}";
+
+        Request first = EntityMappers.interningReader(Request.class).readValue(json);
+        Request second = EntityMappers.interningReader(Request.class).readValue(json);
+        Request plain = EntityMappers.reader(Request.class).readValue(json);
+
+        assertThat(first.getMethod(), is(sameInstance(second.getMethod())));
+        assertThat(plain.getMethod(), is(not(sameInstance(first.getMethod()))));
+    }
+
+    private static CollectionRoot collectionRoot() {
+        Request get = new Request("https://postman-echo.com/get", "GET", new ArrayList<>(), null, "Sample GET Request");
+        Request post = new Request("https://postman-echo.com/post", "POST"
+                , Collections.singletonList(new Header("Content-Type", "application/json"))
+                , new Body("raw", "{\"data\": \"123\"}"), "Sample POST Request");
+        Folder folder = new Folder("This is a folder", Arrays.asList(new RequestRoot("Sample GET", get), new RequestRoot("Sample POST", post)));
+        Info info = new Info("Sample Collection", "This is a sample collection", "https://schema.getpostman.com/json/collection/v2.1.0/collection.json");
+        return new CollectionRoot(new Collection(info, Collections.singletonList(folder)));
+    }
+
+    private static User user() {
+        return new User("Leanne Graham", "Bret", "Sincere@april.biz"
+                , new Address("Kulas Light", "Apt. 556", "Gwenborough", "92998-3874", new Geo("-37.3159", "81.1496")));
+    }
+}
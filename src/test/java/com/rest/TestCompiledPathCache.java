@@ -0,0 +1,109 @@
+package com.rest;
+
+import com.rest.utilities.CompiledPathCache;
+import groovy.json.JsonSlurper;
+import io.restassured.path.json.JsonPath;
+import lombok.extern.slf4j.Slf4j;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static com.rest.utilities.CompiledPathCache.compiledPaths;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.CompiledPathCache.
+ */
+@Slf4j
+public class TestCompiledPathCache {
+
+    private final String workspaces = "{\"workspaces\": [" +
+            "{\"id\": \"1f0df51a\", \"name\": \"My Workspace\", \"type\": \"personal\"}," +
+            "{\"id\": \"0a2ef62b\", \"name\": \"Team Workspace\", \"type\": \"team\"}]}";
+
+    @Test
+    public void testEvaluate() {
+        CompiledPathCache cache = new CompiledPathCache(10);
+        Object root = new JsonSlurper().parseText(workspaces);
+
+        assertThat(cache.evaluate("workspaces.name", root), is(equalTo(Arrays.asList("My Workspace", "Team Workspace"))));
+        assertThat(cache.evaluate("workspaces.size()", root), is(equalTo(2)));
+        assertThat(cache.evaluate("workspaces[1].type", root), is(equalTo("team")));
+        assertThat(cache.evaluate("workspaces.find { it.type == 'team' }.name", root), is(equalTo("Team Workspace")));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        CompiledPathCache cache = new CompiledPathCache(10);
+        Object root = new JsonSlurper().parseText(workspaces);
+
+        for (int i = 0; i < 100; i++) {
+            cache.evaluate("workspaces[0].name", root);
+        }
+
+        assertThat(cache.misses(), is(equalTo(1L)));
+        assertThat(cache.hits(), is(equalTo(99L)));
+        assertThat(cache.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPathIsEvicted() {
+        CompiledPathCache cache = new CompiledPathCache(2);
+        Object root = new JsonSlurper().parseText(workspaces);
+
+        cache.evaluate("workspaces[0].name", root);
+        cache.evaluate("workspaces[1].name", root);
+        // Use [0] again, so [1] becomes the least recently used path.
+        cache.evaluate("workspaces[0].name", root);
+        cache.evaluate("workspaces.size()", root);
+        cache.evaluate("workspaces[0].name", root);
+
+        assertThat(cache.size(), is(equalTo(2)));
+        assertThat(cache.evictions(), is(equalTo(1L)));
+        assertThat(cache.misses(), is(equalTo(3L)));
+        assertThat(cache.hits(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testCompiledPathsMatcher() {
+        Matcher<String> matcher = compiledPaths("workspaces.name", hasItems("My Workspace", "Team Workspace")
+                , "workspaces.size()", equalTo(2)
+                , "workspaces[0].id", matchesPattern("^[a-z0-9]{8}$"));
+
+        assertThat(workspaces, matcher);
+    }
+
+    @Test
+    public void testCompiledPathsMatcherMismatch() {
+        Matcher<String> matcher = compiledPaths("workspaces[0].name", is(equalTo("My Workspace"))
+                , "workspaces.size()", equalTo(3));
+
+        assertThat(matcher.matches(workspaces), is(false));
+
+        StringDescription description = new StringDescription();
+        matcher.describeMismatch(workspaces, description);
+        log.info(description.toString());
+        assertThat(description.toString(), containsString("workspaces.size()"));
+        assertThat(description.toString(), not(containsString("workspaces[0].name")));
+    }
+
+    /**
+     * Decimal numbers are Float / Double as in RestAssured's JsonPath, not BigDecimal as with a plain JsonSlurper.
+     */
+    @Test
+    public void testCompiledPathsMatcherNumbersAsRestAssured() {
+        String prices = "{\"price\": 12.5, \"total\": 1.0E40, \"count\": 3}";
+        JsonPath jsonPath = JsonPath.from(prices);
+
+        assertThat(jsonPath.get("price"), is(equalTo(12.5f)));
+        assertThat(prices, compiledPaths("price", is(equalTo(12.5f))
+                , "total", is(equalTo(jsonPath.get("total")))
+                , "count", is(equalTo(3))));
+        // evaluate() returns what the parser gave: BigDecimal for a document of a plain JsonSlurper.
+        assertThat(new CompiledPathCache(10).evaluate("price", new JsonSlurper().parseText(prices)), is(equalTo(new BigDecimal("12.5"))));
+    }
+}
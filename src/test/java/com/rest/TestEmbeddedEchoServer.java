@@ -0,0 +1,219 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.EmbeddedEchoServer.
+ */
+@Slf4j
+public class TestEmbeddedEchoServer {
+
+    private EmbeddedEchoServer server;
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer(4);
+        server
+                .addStub(EmbeddedEchoServer.stub("GET", "/mock")
+                        .requestHeader("header", "value1")
+                        .responseHeader("responseHeader", "responseValue1")
+                        .responseHeader("multiValueHeader", "responseValue2")
+                        .responseHeader("multiValueHeader", "responseValue3")
+                        .responseBody("{\"example\": 1}"))
+                .addStub(EmbeddedEchoServer.stub("GET", "/mock")
+                        .requestHeader("header", "value2")
+                        .responseBody("{\"example\": 2}"))
+                .addStub(EmbeddedEchoServer.stub("POST", "/mock")
+                        .requestBody("{\"name\": \"MyFifthWorkspace\", \"type\": \"personal\"}")
+                        .status(201)
+                        .responseHeader("Content-Type", "text/plain")
+                        .responseBody("created"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testEchoGet() {
+        given()
+                .baseUri(server.baseUri())
+                .queryParam("foo1", "bar1")
+                .header("X-Test", "value")
+                .when()
+                .get("/get")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("args.foo1", is(equalTo("bar1"))
+                        , "headers.x-test", is(equalTo("value"))
+                        , "headers.host", is(equalTo("localhost:" + server.port()))
+                        , "url", is(equalTo(server.baseUri() + "/get?foo1=bar1")));
+    }
+
+    @Test
+    public void testEchoPostJson() {
+        given()
+                .baseUri(server.baseUri())
+                .contentType(ContentType.JSON)
+                .body("{\"workspace\": {\"name\": \"MyFifthWorkspace\"}}")
+                .when()
+                .post("/post")
+                .then()
+                .statusCode(200)
+                .body("json.workspace.name", is(equalTo("MyFifthWorkspace"))
+                        , "data.workspace.name", is(equalTo("MyFifthWorkspace")));
+    }
+
+    @Test
+    public void testEchoPostForm() {
+        given()
+                .baseUri(server.baseUri())
+                .formParam("key1", "value1")
+                .formParam("key 2", "value 2")
+                .when()
+                .post("/post")
+                .then()
+                .statusCode(200)
+                .body("form.key1", is(equalTo("value1"))
+                        , "form.'key 2'", is(equalTo("value 2")));
+    }
+
+    @Test
+    public void testEchoWrongMethod() {
+        given()
+                .baseUri(server.baseUri())
+                .when()
+                .post("/get")
+                .then()
+                .statusCode(404)
+                .body("error.name", is(equalTo("mockRequestNotFoundError")));
+    }
+
+    @Test
+    public void testMatchRequestHeaders() {
+        given()
+                .baseUri(server.baseUri())
+                .header("header", "value2")
+                .header(EmbeddedEchoServer.MATCH_REQUEST_HEADERS, "header")
+                .when()
+                .get("/mock")
+                .then()
+                .statusCode(200)
+                .body("example", is(equalTo(2)));
+
+        given()
+                .baseUri(server.baseUri())
+                .header("header", "value1")
+                .header(EmbeddedEchoServer.MATCH_REQUEST_HEADERS, "header")
+                .when()
+                .get("/mock")
+                .then()
+                .statusCode(200)
+                .header("responseHeader", "responseValue1")
+                .body("example", is(equalTo(1)))
+                .extract()
+                .headers()
+                .getValues("multiValueHeader")
+                .forEach(value -> log.info("multiValueHeader = {}", value));
+
+        given()
+                .baseUri(server.baseUri())
+                .header("header", "value3")
+                .header(EmbeddedEchoServer.MATCH_REQUEST_HEADERS, "header")
+                .when()
+                .get("/mock")
+                .then()
+                .statusCode(404);
+    }
+
+    /**
+     * Without x-mock-match-request-headers the first example is returned.
+     */
+    @Test
+    public void testWithoutMatchingFirstStubIsUsed() {
+        List<String> multiValues = given()
+                .baseUri(server.baseUri())
+                .header("header", "value2")
+                .when()
+                .get("/mock")
+                .then()
+                .statusCode(200)
+                .body("example", is(equalTo(1)))
+                .extract()
+                .headers()
+                .getValues("multiValueHeader");
+
+        assertThat(multiValues, contains("responseValue2", "responseValue3"));
+    }
+
+    @Test
+    public void testMatchRequestBody() {
+        // Other order of the fields and other whitespace: the JSON is the same.
+        given()
+                .baseUri(server.baseUri())
+                .header(EmbeddedEchoServer.MATCH_REQUEST_BODY, "true")
+                .contentType(ContentType.JSON)
+                .body("{\"type\":\"personal\",\"name\":\"MyFifthWorkspace\"}")
+                .when()
+                .post("/mock")
+                .then()
+                .statusCode(201)
+                .contentType(ContentType.TEXT)
+                .body(is(equalTo("created")));
+
+        given()
+                .baseUri(server.baseUri())
+                .header(EmbeddedEchoServer.MATCH_REQUEST_BODY, "true")
+                .contentType(ContentType.JSON)
+                .body("{\"type\":\"team\",\"name\":\"MyFifthWorkspace\"}")
+                .when()
+                .post("/mock")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String value = "value" + i;
+                Callable<String> task = () -> given()
+                        .baseUri(server.baseUri())
+                        .queryParam("i", value)
+                        .when()
+                        .get("/get")
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .path("args.i");
+                futures.add(executorService.submit(task));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get(), is(equalTo("value" + i)));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
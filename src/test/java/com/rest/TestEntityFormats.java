@@ -0,0 +1,213 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rest.entities.Address;
+import com.rest.entities.Geo;
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.entities.collection.Body;
+import com.rest.entities.collection.Collection;
+import com.rest.entities.collection.CollectionRoot;
+import com.rest.entities.collection.Folder;
+import com.rest.entities.collection.Header;
+import com.rest.entities.collection.Info;
+import com.rest.entities.collection.Request;
+import com.rest.entities.collection.RequestRoot;
+import com.rest.serialization.EntityFormat;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.RestAssuredConfigs;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.EntityFormat, com.rest.utilities.EntityObjectMapper
+ * and RestAssuredConfigs.requestSpecBuilder(EntityFormat).
+ * The RestAssured tests use a local server that returns the request body with the Accept header as Content-Type.
+ */
+@Slf4j
+public class TestEntityFormats {
+
+    private final AtomicReference<String> requestContentType = new AtomicReference<>();
+    private final AtomicReference<byte[]> requestBody = new AtomicReference<>();
+    private HttpServer httpServer;
+    private String baseUri;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.createContext("/echo", this::echo);
+        httpServer.start();
+        baseUri = "http://localhost:" + httpServer.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        httpServer.stop(0);
+    }
+
+    @DataProvider
+    public Object[][] formats() {
+        return new Object[][]{{EntityFormat.JSON}, {EntityFormat.SMILE}, {EntityFormat.CBOR}};
+    }
+
+    @DataProvider
+    public Object[][] formatsAndEntities() {
+        List<Object[]> data = new ArrayList<>();
+        for (EntityFormat format : EntityFormat.values()) {
+            for (Object entity : Arrays.asList(workspaceRoot(), collectionRoot(), user(), new User())) {
+                data.add(new Object[]{format, entity});
+            }
+        }
+        return data.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "formatsAndEntities")
+    public void testRoundTripIsEquivalentToJson(EntityFormat format, Object entity) throws IOException {
+        byte[] encoded = EntityMappers.writer(format, entity.getClass()).writeValueAsBytes(entity);
+        byte[] json = EntityMappers.writer(entity.getClass()).writeValueAsBytes(entity);
+        log.info("{} {}: {} bytes, JSON {} bytes", format, entity.getClass().getSimpleName(), encoded.length, json.length);
+
+        assertThat(EntityMappers.reader(format, entity.getClass()).readValue(encoded), is(equalTo(entity)));
+        JsonNode tree = EntityMappers.objectMapper(format).readTree(encoded);
+        assertThat(tree, is(equalTo(EntityMappers.objectMapper().readTree(json))));
+        if (format.isBinary() && entity instanceof CollectionRoot) {
+            assertThat(encoded.length, is(lessThan(json.length)));
+        }
+    }
+
+    @Test
+    public void testWorkspaceIdIsOnlyDeserialized() throws IOException {
+        WorkspaceRoot workspaceRoot = workspaceRoot();
+        workspaceRoot.getWorkspace().setId("id1");
+        byte[] smile = EntityMappers.writer(EntityFormat.SMILE, WorkspaceRoot.class).writeValueAsBytes(workspaceRoot);
+
+        assertThat(EntityMappers.objectMapper(EntityFormat.SMILE).readTree(smile).at("/workspace/id").isMissingNode(), is(true));
+
+        JsonNode withId = EntityMappers.objectMapper().readTree("{\"workspace\":{\"id\":\"id1\",\"name\":\"workspace\"}}");
+        byte[] cbor = EntityMappers.objectMapper(EntityFormat.CBOR).writeValueAsBytes(withId);
+        WorkspaceRoot fromCbor = EntityMappers.reader(EntityFormat.CBOR, WorkspaceRoot.class).readValue(cbor);
+        assertThat(fromCbor.getWorkspace().getId(), is(equalTo("id1")));
+    }
+
+    @Test
+    public void testFromContentType() {
+        assertThat(EntityFormat.fromContentType("application/x-jackson-smile"), is(EntityFormat.SMILE));
+        assertThat(EntityFormat.fromContentType("Application/CBOR; charset=ISO-8859-1"), is(EntityFormat.CBOR));
+        assertThat(EntityFormat.fromContentType("application/json; charset=utf-8"), is(EntityFormat.JSON));
+        assertThat(EntityFormat.fromContentType("text/plain"), is(EntityFormat.JSON));
+        assertThat(EntityFormat.fromContentType(null), is(EntityFormat.JSON));
+    }
+
+    @Test(dataProvider = "formats")
+    public void testRequestAndResponseBodiesUseTheFormat(EntityFormat format) throws IOException {
+        CollectionRoot collectionRoot = collectionRoot();
+
+        CollectionRoot response = given(RestAssuredConfigs.requestSpecBuilder(format).setBaseUri(baseUri).build())
+                .body(collectionRoot)
+                .when()
+                .post("/echo")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith(format.getMediaType()))
+                .extract()
+                .as(CollectionRoot.class);
+
+        assertThat(response, is(equalTo(collectionRoot)));
+        assertThat(requestContentType.get(), startsWith(format.getMediaType()));
+        if (format.isBinary()) {
+            // Sent byte for byte, without a charset.
+            assertThat(requestContentType.get(), is(equalTo(format.getMediaType())));
+            assertThat(requestBody.get(), is(equalTo(EntityMappers.writer(format, CollectionRoot.class).writeValueAsBytes(collectionRoot))));
+        } else {
+            assertThat(EntityMappers.objectMapper().readTree(requestBody.get()), is(equalTo(EntityMappers.objectMapper().valueToTree(collectionRoot))));
+        }
+    }
+
+    /**
+     * The format of the response follows its Content-Type, not the Content-Type of the request.
+     */
+    @Test
+    public void testResponseFormatFollowsContentType() {
+        WorkspaceRoot workspaceRoot = workspaceRoot();
+
+        WorkspaceRoot response = given(RestAssuredConfigs.requestSpecBuilder(EntityFormat.JSON)
+                .setBaseUri(baseUri)
+                .setAccept(EntityFormat.CBOR.getMediaType())
+                .build())
+                .body(workspaceRoot)
+                .post("/echo")
+                .as(WorkspaceRoot.class);
+
+        assertThat(response, is(equalTo(workspaceRoot)));
+    }
+
+    /**
+     * Returns the request body as is, with the Accept header as Content-Type.
+     * A JSON request body is converted if another format is accepted.
+     */
+    private void echo(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            requestContentType.set(contentType);
+            requestBody.set(body);
+
+            EntityFormat requestFormat = EntityFormat.fromContentType(contentType);
+            EntityFormat responseFormat = EntityFormat.fromContentType(accept);
+            if (requestFormat != responseFormat) {
+                JsonNode tree = EntityMappers.objectMapper(requestFormat).readTree(body);
+                body = EntityMappers.objectMapper(responseFormat).writeValueAsBytes(tree);
+            }
+            exchange.getResponseHeaders().set("Content-Type", responseFormat.getMediaType());
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static WorkspaceRoot workspaceRoot() {
+        return new WorkspaceRoot(new Workspace("MyFifthWorkspace", "personal", "workspace with non-ASCII characters: é ü"));
+    }
+
+    private static User user() {
+        return new User("Leanne Graham", "Bret", "Sincere@april.biz"
+                , new Address("Kulas Light", "Apt. 556", "Gwenborough", "92998-3874", new Geo("-37.3159", "81.1496")));
+    }
+
+    private static CollectionRoot collectionRoot() {
+        List<RequestRoot> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Request request = new Request("https://postman-echo.com/post/" + i, "POST"
+                    , Collections.singletonList(new Header("Content-Type", "application/json"))
+                    , new Body("raw", "{\"data\": \"" + i + "\"}"), "Sample POST Request " + i);
+            requests.add(new RequestRoot("Sample POST " + i, request));
+        }
+        Info info = new Info("Sample Collection", "This is a sample collection", "https://schema.getpostman.com/json/collection/v2.1.0/collection.json");
+        return new CollectionRoot(new Collection(info, Collections.singletonList(new Folder("This is a folder", requests))));
+    }
+}
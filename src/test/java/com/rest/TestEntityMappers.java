@@ -0,0 +1,60 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest.entities.Workspace;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.RestAssuredConfigs;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for the shared ObjectMapper registry com.rest.serialization.EntityMappers.
+ * These tests do not need a server.
+ */
+@Slf4j
+public class TestEntityMappers {
+
+    @Test
+    public void testReadersAndWritersAreCached() {
+        assertThat(EntityMappers.writer(WorkspaceRoot.class), is(sameInstance(EntityMappers.writer(WorkspaceRoot.class))));
+        assertThat(EntityMappers.reader(WorkspaceRoot.class), is(sameInstance(EntityMappers.reader(WorkspaceRoot.class))));
+    }
+
+    /**
+     * The id is only used during deserialization, see @JsonIgnoreProperties on Workspace.
+     */
+    @Test
+    public void testWorkspaceRootRoundTrip() throws IOException {
+        WorkspaceRoot workspaceRoot = new WorkspaceRoot(new Workspace("MyFifthWorkspace"
+                , "personal"
+                , "workspace for BDD Style testing the POST HTTP method"));
+        workspaceRoot.getWorkspace().setId("4b1c4696-3b6b-4107-af96-90c84eb51b63");
+
+        String json = EntityMappers.writer(WorkspaceRoot.class).writeValueAsString(workspaceRoot);
+        log.info(json);
+        assertThat(json, not(containsString("id")));
+
+        WorkspaceRoot workspaceRootResponse = EntityMappers.reader(WorkspaceRoot.class)
+                .readValue("{\"workspace\":{\"id\":\"4b1c4696-3b6b-4107-af96-90c84eb51b63\",\"name\":\"MyFifthWorkspace\"}}");
+        assertThat(workspaceRootResponse.getWorkspace().getId(), is(equalTo(workspaceRoot.getWorkspace().getId())));
+        assertThat(workspaceRootResponse.getWorkspace().getName(), is(equalTo(workspaceRoot.getWorkspace().getName())));
+    }
+
+    @Test
+    public void testRestAssuredUsesSharedObjectMapper() {
+        Jackson2ObjectMapperFactory factory = RestAssuredConfigs.restAssuredConfig()
+                .getObjectMapperConfig()
+                .jackson2ObjectMapperFactory();
+        ObjectMapper objectMapper = factory.create(WorkspaceRoot.class, StandardCharsets.UTF_8.name());
+
+        assertThat(objectMapper, is(sameInstance(EntityMappers.objectMapper())));
+    }
+}
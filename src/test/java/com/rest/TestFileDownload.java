@@ -0,0 +1,117 @@
+package com.rest;
+
+import com.rest.utilities.FileDownload;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for com.rest.utilities.FileDownload.
+ */
+@Slf4j
+public class TestFileDownload {
+
+    private final List<Path> tempFiles = new ArrayList<>();
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        for (Path tempFile : tempFiles) {
+            Files.deleteIfExists(tempFile);
+        }
+        tempFiles.clear();
+    }
+
+    @Test
+    public void testDownloadInSmallChunks() throws IOException, NoSuchAlgorithmException {
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        Path target = createTempFile("download", ".bin");
+
+        FileDownload.DownloadResult result = FileDownload.download(
+                new SlowInputStream(content), target, 64 * 1024, FileDownload.DEFAULT_DIGEST_ALGORITHM);
+        log.info("{}", result);
+
+        assertThat(result.getBytes(), is(equalTo((long) content.length)));
+        assertThat(Files.readAllBytes(target), is(equalTo(content)));
+        assertThat(result.getChecksum(), is(equalTo(sha256(content))));
+    }
+
+    @Test
+    public void testDownloadResponse() throws IOException, NoSuchAlgorithmException {
+        byte[] content = "multipart-test".getBytes();
+        Response response = new ResponseBuilder().setStatusCode(200).setBody(content).build();
+        Path target = createTempFile("download", ".txt");
+
+        FileDownload.DownloadResult result = FileDownload.download(response, target);
+
+        assertThat(Files.readAllBytes(target), is(equalTo(content)));
+        assertThat(result.getChecksum(), is(equalTo(sha256(content))));
+    }
+
+    @Test
+    public void testEmptyBody() throws IOException {
+        Path target = createTempFile("download", ".bin");
+
+        FileDownload.DownloadResult result = FileDownload.download(new ByteArrayInputStream(new byte[0]), target);
+
+        assertThat(result.getBytes(), is(equalTo(0L)));
+        assertThat(Files.size(target), is(equalTo(0L)));
+    }
+
+    private Path createTempFile(String prefix, String suffix) throws IOException {
+        Path tempFile = Files.createTempFile(prefix, suffix);
+        tempFiles.add(tempFile);
+        return tempFile;
+    }
+
+    private String sha256(byte[] content) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns at most 1000 bytes per read, like a network stream.
+     */
+    private static class SlowInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+
+        SlowInputStream(byte[] content) {
+            this.delegate = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            return delegate.read(bytes, offset, Math.min(length, 1000));
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
+}
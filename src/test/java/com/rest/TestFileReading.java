@@ -0,0 +1,69 @@
+package com.rest;
+
+import com.rest.utilities.FileReading;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for the cached payloads of com.rest.utilities.FileReading.
+ */
+@Slf4j
+public class TestFileReading {
+
+    private static final String PAYLOAD_FILE = "src/test/resources/createPostWorkspacePayload.json";
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() {
+        FileReading.clearPayloadCache();
+    }
+
+    @Test
+    public void testPayloadBytesEqualFileContent() throws IOException {
+        byte[] payload = FileReading.readPayloadBytes(PAYLOAD_FILE);
+
+        assertThat(new String(payload, StandardCharsets.UTF_8), is(equalTo(FileReading.readFromFile(PAYLOAD_FILE))));
+    }
+
+    @Test
+    public void testPayloadIsReadOnlyAndIndependent() throws IOException {
+        ByteBuffer first = FileReading.readPayload(PAYLOAD_FILE);
+        first.get();
+        ByteBuffer second = FileReading.readPayload(PAYLOAD_FILE);
+
+        assertThat(first.isReadOnly(), is(true));
+        assertThat(second.position(), is(equalTo(0)));
+        assertThat(second.remaining(), is(equalTo(first.remaining() + 1)));
+    }
+
+    @Test
+    public void testPayloadBytesAreCached() throws IOException {
+        assertThat(FileReading.readPayloadBytes(PAYLOAD_FILE), is(sameInstance(FileReading.readPayloadBytes(PAYLOAD_FILE))));
+    }
+
+    @Test
+    public void testChangedFileIsReadAgain() throws IOException {
+        Path file = Files.createTempFile("payload", ".json");
+        Files.write(file, "{\"name\":\"first\"}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+
+        assertThat(new String(FileReading.readPayloadBytes(file.toString()), StandardCharsets.UTF_8), containsString("first"));
+
+        Files.write(file, "{\"name\":\"second\"}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000L));
+
+        assertThat(new String(FileReading.readPayloadBytes(file.toString()), StandardCharsets.UTF_8), containsString("second"));
+        FileReading.clearPayloadCache();
+        Files.delete(file);
+    }
+}
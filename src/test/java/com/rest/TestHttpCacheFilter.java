@@ -0,0 +1,192 @@
+package com.rest;
+
+import com.rest.utilities.HttpCacheFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.HttpCacheFilter.
+ * No server is needed: the last filter plays the server and records the requests.
+ */
+@Slf4j
+public class TestHttpCacheFilter {
+
+    @Test
+    public void testFreshResponseIsReturnedWithoutRequest() {
+        FakeServer server = new FakeServer("\"v1\"", null);
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(1024 * 1024, 60_000);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        for (int i = 0; i < 5; i++) {
+            given(requestSpecification)
+                    .get("/workspaces")
+                    .then()
+                    .statusCode(200)
+                    .header(HttpCacheFilter.X_CACHE, i == 0 ? HttpCacheFilter.MISS : HttpCacheFilter.HIT)
+                    .body("workspaces[0].id", is(equalTo("workspace1")));
+        }
+
+        log.info("{}", cacheFilter);
+        assertThat(server.requests, hasSize(1));
+        assertThat(cacheFilter.getHits(), is(equalTo(4L)));
+        assertThat(cacheFilter.getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidatedWithETag() {
+        FakeServer server = new FakeServer("\"v1\"", null);
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(1024 * 1024, 0);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        given(requestSpecification).get("/workspaces").then().header(HttpCacheFilter.X_CACHE, HttpCacheFilter.MISS);
+        given(requestSpecification)
+                .get("/workspaces")
+                .then()
+                .statusCode(200)
+                .header(HttpCacheFilter.X_CACHE, HttpCacheFilter.REVALIDATED)
+                .body("workspaces[0].id", is(equalTo("workspace1")));
+
+        assertThat(server.requests, contains("null", "\"v1\""));
+        assertThat(cacheFilter.getRevalidations(), is(equalTo(1L)));
+
+        // The resource has been changed: the server sends the new version.
+        server.eTag = "\"v2\"";
+        given(requestSpecification).get("/workspaces").then().statusCode(200).header(HttpCacheFilter.X_CACHE, HttpCacheFilter.MISS);
+        given(requestSpecification).get("/workspaces").then().statusCode(200).header(HttpCacheFilter.X_CACHE, HttpCacheFilter.REVALIDATED);
+        assertThat(server.requests, contains("null", "\"v1\"", "\"v1\"", "\"v2\""));
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidatedWithLastModified() {
+        String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        FakeServer server = new FakeServer(null, lastModified);
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(1024 * 1024, 0);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        given(requestSpecification).get("/workspaces");
+        given(requestSpecification).get("/workspaces").then().header(HttpCacheFilter.X_CACHE, HttpCacheFilter.REVALIDATED);
+
+        assertThat(server.ifModifiedSince, contains(nullValue(), is(lastModified)));
+    }
+
+    @Test
+    public void testRequestHeadersArePartOfTheKey() {
+        FakeServer server = new FakeServer("\"v1\"", null);
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(1024 * 1024, 60_000);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        given(requestSpecification).header("X-Api-Key", "key1").get("/workspaces");
+        given(requestSpecification).header("X-Api-Key", "key2").get("/workspaces");
+        given(requestSpecification).header("X-Api-Key", "key1").get("/workspaces");
+
+        assertThat(server.requests, hasSize(2));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        FakeServer server = new FakeServer("\"v1\"", null);
+        int bodySize = FakeServer.body("/workspaces/1").length();
+        // Room for two responses.
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(2 * bodySize + 1, 60_000);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        given(requestSpecification).get("/workspaces/1");
+        given(requestSpecification).get("/workspaces/2");
+        given(requestSpecification).get("/workspaces/1");
+        given(requestSpecification).get("/workspaces/3");
+
+        assertThat(cacheFilter.size(), is(equalTo(2)));
+        assertThat(cacheFilter.getEvictions(), is(equalTo(1L)));
+        assertThat(cacheFilter.getBytes(), is(lessThanOrEqualTo(2L * bodySize + 1)));
+
+        // /workspaces/1 has been used more recently than /workspaces/2.
+        given(requestSpecification).get("/workspaces/1").then().header(HttpCacheFilter.X_CACHE, HttpCacheFilter.HIT);
+        given(requestSpecification).get("/workspaces/2").then().header(HttpCacheFilter.X_CACHE, HttpCacheFilter.MISS);
+    }
+
+    @Test
+    public void testPostIsNotCached() {
+        FakeServer server = new FakeServer("\"v1\"", null);
+        HttpCacheFilter cacheFilter = new HttpCacheFilter(1024 * 1024, 60_000);
+        RequestSpecification requestSpecification = requestSpecification(cacheFilter, server);
+
+        given(requestSpecification).body("{}").post("/workspaces");
+        given(requestSpecification).body("{}").post("/workspaces");
+
+        assertThat(server.requests, hasSize(2));
+        assertThat(cacheFilter.size(), is(equalTo(0)));
+    }
+
+    private RequestSpecification requestSpecification(HttpCacheFilter cacheFilter, FakeServer server) {
+        return new RequestSpecBuilder()
+                .setBaseUri("http://localhost")
+                .addFilter(cacheFilter)
+                .addFilter(server)
+                .build();
+    }
+
+    /**
+     * Returns 304 if If-None-Match equals the current ETag or If-Modified-Since equals Last-Modified.
+     */
+    private static class FakeServer implements OrderedFilter {
+        private final List<String> requests = new ArrayList<>();
+        private final List<String> ifModifiedSince = new ArrayList<>();
+        private String eTag;
+        private final String lastModified;
+
+        FakeServer(String eTag, String lastModified) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        static String body(String path) {
+            return "{\"workspaces\": [{\"id\": \"workspace1\", \"path\": \"" + path + "\"}]}";
+        }
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            String ifNoneMatch = requestSpec.getHeaders().getValue("If-None-Match");
+            String modifiedSince = requestSpec.getHeaders().getValue("If-Modified-Since");
+            requests.add(String.valueOf(ifNoneMatch));
+            ifModifiedSince.add(modifiedSince);
+
+            ResponseBuilder responseBuilder = new ResponseBuilder();
+            if (eTag != null) {
+                responseBuilder.setHeader("ETag", eTag);
+            }
+            if (lastModified != null) {
+                responseBuilder.setHeader("Last-Modified", lastModified);
+            }
+            if ((eTag != null && eTag.equals(ifNoneMatch)) || (lastModified != null && lastModified.equals(modifiedSince))) {
+                return responseBuilder.setStatusCode(304).setStatusLine("HTTP/1.1 304 Not Modified").setBody("").build();
+            }
+            return responseBuilder
+                    .setStatusCode(200)
+                    .setStatusLine("HTTP/1.1 200 OK")
+                    .setContentType(ContentType.JSON)
+                    .setBody(body(requestSpec.getDerivedPath()))
+                    .build();
+        }
+    }
+}
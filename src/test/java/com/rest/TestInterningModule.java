@@ -0,0 +1,165 @@
+package com.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest.entities.Workspace;
+import com.rest.entities.collection.Request;
+import com.rest.serialization.CanonicalStrings;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.InterningModule;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.InterningModule and com.rest.serialization.CanonicalStrings.
+ */
+@Slf4j
+public class TestInterningModule {
+
+    @Test
+    public void testWorkspaceTypeIsInterned() throws Exception {
+        String listing = workspaces(1000);
+        TypeReference<List<Workspace>> type = new TypeReference<List<Workspace>>() {
+        };
+
+        List<Workspace> interned = EntityMappers.interningObjectMapper().readValue(listing, type);
+        List<Workspace> plain = EntityMappers.objectMapper().readValue(listing, type);
+
+        assertThat(interned, is(equalTo(plain)));
+        assertThat(distinctInstances(interned.stream().map(Workspace::getType)), is(equalTo(2)));
+        assertThat(distinctInstances(plain.stream().map(Workspace::getType)), is(equalTo(1000)));
+        // Only the annotated property is interned.
+        assertThat(distinctInstances(interned.stream().map(Workspace::getDescription)), is(equalTo(1000)));
+        // The id is still deserialized: @JsonIgnoreProperties(allowSetters = true).
+        assertThat(interned.get(0).getId(), is(equalTo("id0")));
+    }
+
+    /**
+     * The entities are deserialized by their generated deserializers; InterningModule covers the bean deserializers
+     * that Jackson builds when no CompiledJsonModule is registered.
+     */
+    @Test
+    public void testInterningModuleWithoutCompiledJson() throws Exception {
+        String listing = workspaces(100);
+        TypeReference<List<Workspace>> type = new TypeReference<List<Workspace>>() {
+        };
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new InterningModule(new CanonicalStrings(16)));
+
+        List<Workspace> interned = objectMapper.readValue(listing, type);
+
+        assertThat(interned, is(equalTo(EntityMappers.objectMapper().readValue(listing, type))));
+        assertThat(distinctInstances(interned.stream().map(Workspace::getType)), is(equalTo(2)));
+        assertThat(distinctInstances(interned.stream().map(Workspace::getDescription)), is(equalTo(100)));
+    }
+
+    @Test
+    public void testCollectionRequestPropertiesAreInterned() throws Exception {
+        List<Request> first = readRequests();
+        List<Request> second = readRequests();
+
+        assertThat(first, is(equalTo(second)));
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(first.get(i).getMethod(), is(sameInstance(second.get(i).getMethod())));
+            assertThat(first.get(i).getUrl(), is(not(sameInstance(second.get(i).getUrl()))));
+            if (!first.get(i).getHeader().isEmpty()) {
+                assertThat(first.get(i).getHeader().get(0).getKey(), is(sameInstance(second.get(i).getHeader().get(0).getKey())));
+                assertThat(first.get(i).getBody().getMode(), is(sameInstance(second.get(i).getBody().getMode())));
+            }
+        }
+    }
+
+    @Test
+    public void testTableIsBounded() {
+        CanonicalStrings canonicalStrings = new CanonicalStrings(4);
+        String personal = canonicalStrings.canonical(new String("personal"));
+
+        for (int i = 0; i < 100; i++) {
+            String value = "value" + i;
+            assertThat(canonicalStrings.canonical(value), is(equalTo(value)));
+        }
+
+        log.info("{}", canonicalStrings);
+        assertThat(canonicalStrings.capacity(), is(equalTo(4)));
+        assertThat(canonicalStrings.size(), is(equalTo(4)));
+        assertThat(canonicalStrings.getRejections(), is(greaterThan(0L)));
+        // A stored value stays the canonical instance.
+        assertThat(canonicalStrings.canonical(new String("personal")), is(sameInstance(personal)));
+    }
+
+    @Test
+    public void testCharactersAndStringFindTheSameValue() {
+        CanonicalStrings canonicalStrings = new CanonicalStrings(16);
+        char[] text = "  Content-Type  ".toCharArray();
+
+        String fromCharacters = canonicalStrings.canonical(text, 2, 12);
+
+        assertThat(fromCharacters, is(equalTo("Content-Type")));
+        assertThat(canonicalStrings.canonical(new String("Content-Type")), is(sameInstance(fromCharacters)));
+        assertThat(canonicalStrings.canonical(text, 2, 12), is(sameInstance(fromCharacters)));
+        assertThat(canonicalStrings.getHits(), is(equalTo(2L)));
+        assertThat(canonicalStrings.canonical(text, 0, 0), is(equalTo("")));
+    }
+
+    @Test
+    public void testConcurrentCallsGetOneInstance() throws Exception {
+        CanonicalStrings canonicalStrings = new CanonicalStrings(64);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executorService.submit(() -> canonicalStrings.canonical("team".toCharArray(), 0, 4)));
+            }
+            Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<String> future : futures) {
+                instances.add(future.get());
+            }
+            assertThat(instances, hasSize(1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static List<Request> readRequests() throws IOException {
+        List<Request> requests = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get("src/test/resources/collection-requests.jsonl"))) {
+            if (!line.trim().isEmpty()) {
+                requests.add(EntityMappers.interningReader(Request.class).readValue(line));
+            }
+        }
+        return requests;
+    }
+
+    private static int distinctInstances(Stream<String> values) {
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        values.forEach(instances::add);
+        return instances.size();
+    }
+
+    private static String workspaces(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\": \"id").append(i)
+                    .append("\", \"name\": \"Workspace ").append(i)
+                    .append("\", \"type\": \"").append(i % 3 == 0 ? "team" : "personal")
+                    .append("\", \"description\": \"description\"}");
+        }
+        return json.append("]").toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.IsolatedRequests;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests for com.rest.utilities.IsolatedRequests.
+ * IsolatedRequests.newRequestSpecification() uses the internal classes of RestAssured 4.4.0:
+ * these tests should pass again before RestAssured is upgraded.
+ */
+@Slf4j
+public class TestIsolatedRequests {
+
+    private EmbeddedEchoServer server;
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testNewRequestSpecificationHasDefaults() {
+        RestAssuredConfig config = RestAssuredConfig.config();
+
+        QueryableRequestSpecification queryable = SpecificationQuerier.query(IsolatedRequests.newRequestSpecification(config));
+
+        assertThat(queryable.getBaseUri(), is(equalTo(RestAssured.DEFAULT_URI)));
+        assertThat(queryable.getBasePath(), is(equalTo(RestAssured.DEFAULT_PATH)));
+        assertThat(queryable.getHeaders().exist(), is(false));
+        assertThat(queryable.getDefinedFilters(), is(empty()));
+        assertThat(queryable.getConfig(), is(sameInstance(config)));
+    }
+
+    /**
+     * The response specification is linked to the request, as by RestAssured.given():
+     * expectations set before the request are verified.
+     */
+    @Test
+    public void testResponseSpecificationIsLinked() {
+        RequestSpecification requestSpecification = IsolatedRequests.given(new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .addHeader("X-Test", "value")
+                .build());
+        requestSpecification.response().statusCode(200);
+
+        requestSpecification.get("/get").then().body("headers.x-test", is(equalTo("value")));
+
+        AssertionError error = expectThrows(AssertionError.class,
+                () -> IsolatedRequests.given().baseUri(server.baseUri()).response().statusCode(200).when().get("/unknown"));
+        log.info("Expected failure: {}", error.getMessage());
+    }
+}
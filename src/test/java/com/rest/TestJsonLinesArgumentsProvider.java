@@ -0,0 +1,38 @@
+package com.rest;
+
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.collection.Request;
+import com.rest.utilities.JsonLinesSource;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for the JUnit 5 side of @JsonLinesSource (com.rest.utilities.JsonLinesArgumentsProvider).
+ * This is a JUnit test, so it is executed by "mvn test"; it does not need a server.
+ */
+class TestJsonLinesArgumentsProvider {
+
+    @ParameterizedTest
+    @JsonLinesSource(value = "src/test/resources/workspaces.jsonl", type = Workspace.class)
+    void testWorkspaces(Workspace workspace) {
+        assertThat(workspace.getName(), startsWith("workspace"));
+        assertThat(workspace.getType(), is(oneOf("personal", "team")));
+    }
+
+    @ParameterizedTest
+    @JsonLinesSource(value = "src/test/resources/users.jsonl", type = User.class)
+    void testUsers(User user) {
+        assertThat(user.getEmail(), containsString("@"));
+        assertThat(user.getAddress().getCity(), is(notNullValue()));
+    }
+
+    @ParameterizedTest
+    @JsonLinesSource(value = "src/test/resources/collection-requests.jsonl", type = Request.class, limit = 1)
+    void testFirstRequest(Request request) {
+        assertThat(request.getMethod(), is(equalTo("GET")));
+        assertThat(request.getBody(), is(nullValue()));
+    }
+}
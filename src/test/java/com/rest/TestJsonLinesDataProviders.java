@@ -0,0 +1,103 @@
+package com.rest;
+
+import com.rest.entities.User;
+import com.rest.entities.Workspace;
+import com.rest.entities.collection.Request;
+import com.rest.utilities.JsonLines;
+import com.rest.utilities.JsonLinesDataProviders;
+import com.rest.utilities.JsonLinesSource;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for the JSON Lines data providers (com.rest.utilities.JsonLines and JsonLinesDataProviders).
+ * These tests do not need a server.
+ */
+@Slf4j
+public class TestJsonLinesDataProviders {
+
+    private final AtomicInteger workspaces = new AtomicInteger();
+    private final Set<String> parallelThreads = ConcurrentHashMap.newKeySet();
+
+    @Test(dataProvider = JsonLinesDataProviders.JSON_LINES, dataProviderClass = JsonLinesDataProviders.class)
+    @JsonLinesSource(value = "src/test/resources/workspaces.jsonl", type = Workspace.class)
+    public void testWorkspaces(Workspace workspace) {
+        workspaces.incrementAndGet();
+        assertThat(workspace.getName(), startsWith("workspace"));
+        assertThat(workspace.getType(), is(oneOf("personal", "team")));
+    }
+
+    @Test(dataProvider = JsonLinesDataProviders.JSON_LINES, dataProviderClass = JsonLinesDataProviders.class)
+    @JsonLinesSource(value = "src/test/resources/users.jsonl", type = User.class, limit = 2)
+    public void testUsers(User user) {
+        assertThat(user.getAddress().getGeo().getLat(), is(notNullValue()));
+    }
+
+    @Test(dataProvider = JsonLinesDataProviders.JSON_LINES_PARALLEL, dataProviderClass = JsonLinesDataProviders.class)
+    @JsonLinesSource(value = "src/test/resources/collection-requests.jsonl", type = Request.class)
+    public void testRequestsInParallel(Request request) {
+        parallelThreads.add(Thread.currentThread().getName());
+        assertThat(request.getUrl(), endsWith(request.getMethod().toLowerCase()));
+    }
+
+    @AfterClass
+    public void checkCounts() {
+        log.info("Parallel threads: {}", parallelThreads);
+        assertThat(workspaces.get(), is(equalTo(5)));
+        assertThat(parallelThreads, is(not(empty())));
+    }
+
+    @Test
+    public void testIteratorIsLazyAndSkipsEmptyLinesAndComments() throws IOException {
+        Path path = Files.createTempFile("cases", ".jsonl");
+        try {
+            Files.write(path, Arrays.asList(
+                    "// name, type, description",
+                    "{\"name\": \"first\", \"type\": \"personal\"}",
+                    "",
+                    "{\"name\": \"second\", \"type\": \"team\"}",
+                    "this line is never read"), StandardCharsets.UTF_8);
+
+            try (JsonLines.CloseableIterator<Workspace> iterator = JsonLines.iterator(path, Workspace.class)) {
+                assertThat(iterator.next().getName(), is(equalTo("first")));
+                assertThat(iterator.next().getName(), is(equalTo("second")));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testInvalidLineReportsLineNumber() throws IOException {
+        Path path = Files.createTempFile("cases", ".jsonl");
+        try {
+            Files.write(path, Arrays.asList("{\"name\": \"first\"}", "", "{\"name\": "), StandardCharsets.UTF_8);
+
+            try (Stream<Workspace> stream = JsonLines.stream(path, Workspace.class)) {
+                List<String> names = stream.map(Workspace::getName).collect(Collectors.toList());
+                throw new AssertionError("Expected an exception, got " + names);
+            } catch (UncheckedIOException e) {
+                assertThat(e.getMessage(), endsWith("at line 3"));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
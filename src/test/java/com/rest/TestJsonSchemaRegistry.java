@@ -0,0 +1,88 @@
+package com.rest;
+
+import com.rest.utilities.JsonSchemaRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import static com.rest.utilities.JsonSchemaRegistry.matchesCompiledJsonSchemaInClasspath;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests for com.rest.utilities.JsonSchemaRegistry, using the schema of the postman-echo /get response.
+ */
+@Slf4j
+public class TestJsonSchemaRegistry {
+
+    private final String schema = "postman-echo-json-schema.json";
+
+    private final String validResponse = "{\n" +
+            "    \"args\": {},\n" +
+            "    \"headers\": {\n" +
+            "        \"x-forwarded-proto\": \"http\",\n" +
+            "        \"x-forwarded-port\": \"80\",\n" +
+            "        \"host\": \"postman-echo.com\",\n" +
+            "        \"x-amzn-trace-id\": \"Root=1-60d2f0a1-2b0ef3b5371c7a6f0f6a4c1e\",\n" +
+            "        \"content-type\": \"application/json; charset=utf-8\",\n" +
+            "        \"accept\": \"*/*\",\n" +
+            "        \"user-agent\": \"Apache-HttpClient/4.5.13 (Java/1.8.0_292)\",\n" +
+            "        \"accept-encoding\": \"gzip,deflate\"\n" +
+            "    },\n" +
+            "    \"url\": \"http://postman-echo.com/get\"\n" +
+            "}";
+
+    @Test
+    public void testValidResponse() {
+        assertThat(validResponse, matchesCompiledJsonSchemaInClasspath(schema));
+    }
+
+    @Test
+    public void testInvalidResponse() {
+        String invalidResponse = "{\"args\": {}, \"url\": 42}";
+
+        assertThat(invalidResponse, not(matchesCompiledJsonSchemaInClasspath(schema)));
+    }
+
+    /**
+     * The metrics of a schema are shared by all tests in the JVM, so the counts are compared with those before the test.
+     */
+    @Test
+    public void testMetrics() {
+        JsonSchemaRegistry.ValidationMetrics metrics = JsonSchemaRegistry.metrics(schema);
+        long validations = metrics.getValidations();
+        long failures = metrics.getFailures();
+
+        for (int i = 0; i < 100; i++) {
+            JsonSchemaRegistry.validate(schema, validResponse);
+        }
+        log.info("{}: {}", schema, metrics);
+
+        assertThat(metrics.getValidations() - validations, is(equalTo(100L)));
+        assertThat(metrics.getFailures() - failures, is(equalTo(0L)));
+        assertThat(metrics.getMaxNanos(), is(greaterThan(0L)));
+    }
+
+    /**
+     * A failed assertion asks the matcher for the mismatch description as well: the document is validated once.
+     */
+    @Test
+    public void testFailedAssertionValidatesOnce() {
+        JsonSchemaRegistry.ValidationMetrics metrics = JsonSchemaRegistry.metrics(schema);
+        long validations = metrics.getValidations();
+        long failures = metrics.getFailures();
+
+        AssertionError assertionError = expectThrows(AssertionError.class,
+                () -> assertThat("{\"args\": {}, \"url\": 42}", matchesCompiledJsonSchemaInClasspath(schema)));
+        log.info("{}", assertionError.getMessage());
+
+        assertThat(assertionError.getMessage(), containsString("The content does not match the schema"));
+        assertThat(metrics.getValidations() - validations, is(equalTo(1L)));
+        assertThat(metrics.getFailures() - failures, is(equalTo(1L)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownSchema() {
+        JsonSchemaRegistry.validate("does-not-exist.json", validResponse);
+    }
+}
@@ -0,0 +1,191 @@
+package com.rest;
+
+import com.rest.serialization.JsonStreamComparator;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import lombok.extern.slf4j.Slf4j;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.rest.utilities.JsonStreamMatchers.sameJsonAs;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.JsonStreamComparator and com.rest.utilities.JsonStreamMatchers.
+ * The results are compared with JSONAssert in the corresponding mode.
+ */
+@Slf4j
+public class TestJsonStreamComparator {
+
+    private static final String WORKSPACES = "{\"workspaces\": [" +
+            "{\"id\": \"1f0df51a\", \"name\": \"My Workspace\", \"type\": \"personal\", \"tags\": [\"a\", \"b\"]}," +
+            "{\"id\": \"0a2ef62b\", \"name\": \"Team Workspace\", \"type\": \"team\", \"score\": 0.75}], \"total\": 2}";
+
+    @DataProvider
+    public Object[][] documents() {
+        return new Object[][]{
+                // expected, actual, strict, lenient
+                {WORKSPACES, WORKSPACES, true, true},
+                {"{\"a\": 1, \"b\": \"x\"}", "{\"b\": \"x\", \"a\": 1}", true, true},
+                {"{\"a\": 1}", "{\"a\": 1.0}", true, true},
+                {"{\"a\": 1}", "{\"a\": 2}", false, false},
+                {"{\"a\": \"1\"}", "{\"a\": 1}", false, false},
+                {"{\"a\": 1}", "{\"a\": 1, \"b\": 2}", false, false},
+                {"{\"a\": 1, \"b\": 2}", "{\"a\": 1}", false, false},
+                {"{\"a\": null}", "{\"a\": null}", true, true},
+                {"{\"a\": null}", "{\"a\": {}}", false, false},
+                {"[1, 2, 3]", "[3, 1, 2]", false, true},
+                {"[1, 2, 2]", "[2, 1, 1]", false, false},
+                {"[1, 2]", "[1, 2, 3]", false, false},
+                {"[1, 2, 3]", "[1, 2]", false, false},
+                {"[{\"a\": [1, 2]}, {\"b\": true}]", "[{\"b\": true}, {\"a\": [2, 1]}]", false, true},
+                {"[{\"a\": 1, \"b\": 2}]", "[{\"b\": 2, \"a\": 1}]", true, true},
+                {"[[1, 2], [3]]", "[[3], [2, 1]]", false, true},
+                {"[[1, 2], [3]]", "[[1], [2, 3]]", false, false},
+                {"{\"n\": 12345678901234567890123}", "{\"n\": 1.2345678901234567890123E22}", true, true},
+                {"{\"s\": \"caf\\u00e9\"}", "{\"s\": \"café\"}", true, true},
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testSameResultAsJsonAssert(String expected, String actual, boolean strict, boolean lenient) throws Exception {
+        JsonStreamComparator.Result strictResult = JsonStreamComparator.strict().compare(expected, actual);
+        JsonStreamComparator.Result lenientResult = JsonStreamComparator.lenient().compare(expected, actual);
+        log.info("{} / {}: strict {}, lenient {}", expected, actual, strictResult, lenientResult);
+
+        assertThat(strictResult.matches(), is(strict));
+        assertThat(lenientResult.matches(), is(lenient));
+        assertThat(JSONCompare.compareJSON(expected, actual, JSONCompareMode.STRICT).passed(), is(strict));
+        assertThat(JSONCompare.compareJSON(expected, actual, JSONCompareMode.NON_EXTENSIBLE).passed(), is(lenient));
+    }
+
+    @Test
+    public void testMismatchPath() throws IOException {
+        String actual = WORKSPACES.replace("Team Workspace", "Other Workspace");
+
+        JsonStreamComparator.Result result = JsonStreamComparator.strict().compare(WORKSPACES, actual);
+
+        assertThat(result.matches(), is(false));
+        assertThat(result.getPath(), is(equalTo("workspaces[1].name")));
+        assertThat(result.getMessage(), is(equalTo("expected \"Team Workspace\" but was \"Other Workspace\"")));
+        assertThat(JsonStreamComparator.strict().compare("[1]", "[1, 2]").toString(), is(equalTo("[1]: unexpected element")));
+        assertThat(JsonStreamComparator.strict().compare("{\"a\": 1}", "{}").toString(), is(equalTo("a: expected field is missing")));
+        assertThat(JsonStreamComparator.strict().compare("1", "\"1\"").toString(), is(equalTo("$: expected 1 but was \"1\"")));
+    }
+
+    @Test
+    public void testIgnoredPaths() throws IOException {
+        String actual = WORKSPACES.replace("1f0df51a", "other").replace("0a2ef62b", "other2").replace("\"total\": 2", "\"total\": 3");
+        JsonStreamComparator comparator = JsonStreamComparator.lenient().ignoring("workspaces[*].id", "total");
+
+        assertThat(comparator.compare(WORKSPACES, actual).matches(), is(true));
+        assertThat(JsonStreamComparator.lenient().ignoring("workspaces[*].id").compare(WORKSPACES, actual).getPath(), is(equalTo("total")));
+        assertThat(JsonStreamComparator.strict().ignoring("*").compare("{\"a\": 1}", "{\"b\": 2}").matches(), is(true));
+        assertThat(JsonStreamComparator.strict().ignoring("workspace.id")
+                .compare("{\"workspace\": {\"name\": \"a\"}}", "{\"workspace\": {\"id\": \"1\", \"name\": \"a\"}}").matches(), is(true));
+    }
+
+    @Test
+    public void testExtraFields() throws IOException {
+        String expected = "{\"workspace\": {\"name\": \"a\", \"type\": \"personal\"}}";
+        String actual = "{\"workspace\": {\"id\": \"1\", \"name\": \"a\", \"type\": \"personal\", \"visibility\": \"personal\"}}";
+
+        assertThat(JsonStreamComparator.strict().compare(expected, actual).toString(), is(equalTo("workspace.id: unexpected field")));
+        assertThat(JsonStreamComparator.strict().allowingExtraFields().compare(expected, actual).matches(), is(true));
+        assertThat(JsonStreamComparator.strict().allowingExtraFields().compare(actual, expected).toString()
+                , is(equalTo("workspace.id: expected field is missing")));
+    }
+
+    @Test
+    public void testLenientLargeArray() throws IOException {
+        int size = 100_000;
+        StringBuilder expected = new StringBuilder("[");
+        StringBuilder reversed = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            expected.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"w").append(i).append("\"}");
+            int j = size - 1 - i;
+            reversed.append(i == 0 ? "" : ",").append("{\"name\":\"w").append(j).append("\",\"id\":").append(j).append("}");
+        }
+        expected.append("]");
+        reversed.append("]");
+
+        long start = System.nanoTime();
+        JsonStreamComparator.Result result = JsonStreamComparator.lenient().compare(expected.toString(), reversed.toString());
+        log.info("Compared {} elements in any order in {} ms", size, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(result.matches(), is(true));
+    }
+
+    @Test
+    public void testStopsAtFirstMismatch() throws IOException {
+        byte[] expected = ("{\"workspaces\": [{\"name\": \"a\"}, " + repeat("{\"name\": \"b\"}, ", 10_000) + "{}]}").getBytes(StandardCharsets.UTF_8);
+        byte[] actual = ("{\"workspaces\": [{\"name\": \"x\"}, " + repeat("{\"name\": \"b\"}, ", 10_000) + "{}]}").getBytes(StandardCharsets.UTF_8);
+        CountingInputStream actualStream = new CountingInputStream(actual);
+
+        JsonStreamComparator.Result result = JsonStreamComparator.strict().compare(new ByteArrayInputStream(expected), actualStream);
+
+        assertThat(result.getPath(), is(equalTo("workspaces[0].name")));
+        // Only the first buffer of the parser has been read.
+        assertThat(actualStream.read.get(), is(lessThan(actual.length)));
+    }
+
+    @Test
+    public void testMatcher() {
+        Filter server = (requestSpec, responseSpec, ctx) -> new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType(ContentType.JSON)
+                .setBody(WORKSPACES)
+                .build();
+
+        given(new RequestSpecBuilder().setBaseUri("http://localhost").addFilter(server).build())
+                .get("/workspaces")
+                .then()
+                .body(sameJsonAs(WORKSPACES))
+                .body(sameJsonAs("{\"total\": 2}", JsonStreamComparator.strict().allowingExtraFields()));
+
+        Matcher<String> matcher = sameJsonAs("{\"total\": 3}", JsonStreamComparator.strict().ignoring("workspaces"));
+        StringDescription mismatch = new StringDescription();
+        matcher.describeMismatch(WORKSPACES, mismatch);
+        assertThat(matcher.matches(WORKSPACES), is(false));
+        assertThat(mismatch.toString(), is(equalTo("total: expected 3 but was 2")));
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+        private final AtomicInteger read = new AtomicInteger();
+
+        CountingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                read.addAndGet(count);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.JsonTreePath;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static com.rest.utilities.JsonTreeMatchers.jsonTree;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.JsonTreePath and com.rest.utilities.JsonTreeMatchers.
+ * Every path is compared with the result of RestAssured's JsonPath (GPath) for the same document.
+ */
+@Slf4j
+public class TestJsonTreePath {
+
+    private static final String WORKSPACES = "{\"workspaces\": [" +
+            "{\"id\": \"1f0df51a\", \"name\": \"My Workspace\", \"type\": \"personal\", \"members\": 1, \"tags\": [\"a\", \"b\"]}," +
+            "{\"id\": \"0a2ef62b\", \"name\": \"Team Workspace\", \"type\": \"team\", \"members\": 12, \"score\": 0.75}," +
+            "null," +
+            "{\"id\": \"9c3e1d4f\", \"name\": \"Big Workspace\", \"members\": 3000000000, \"score\": 1.0E300," +
+            " \"owner\": {\"name\": \"owner\", \"active\": true}}]," +
+            " \"matrix\": [[{\"v\": 1}, {\"v\": 2}], [{\"v\": 3}]]," +
+            " \"total\": 4, \"next\": null}";
+
+    @DataProvider
+    public Object[][] paths() {
+        return new Object[][]{
+                {""},
+                {"workspaces"},
+                {"workspaces.size()"},
+                {"workspaces[0]"},
+                {"workspaces[0].name"},
+                {"workspaces[0].tags"},
+                {"workspaces[0].tags[1]"},
+                {"workspaces[0].tags.size()"},
+                {"workspaces[0].name.size()"},
+                {"workspaces[0].size()"},
+                {"workspaces[1].score"},
+                {"workspaces[2]"},
+                {"workspaces[3].members"},
+                {"workspaces[3].score"},
+                {"workspaces[3].owner"},
+                {"workspaces[3].owner.active"},
+                {"workspaces[9]"},
+                {"workspaces.name"},
+                {"workspaces.type"},
+                {"workspaces.tags"},
+                {"workspaces.owner.name"},
+                {"workspaces.name[1]"},
+                {"workspaces.name.size()"},
+                {"matrix.v"},
+                {"total"},
+                {"next"},
+                {"missing"},
+                {"missing.name"},
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void testSameValueAsJsonPath(String path) throws IOException {
+        JsonNode root = EntityMappers.objectMapper().readTree(WORKSPACES);
+
+        Object expected = JsonPath.from(WORKSPACES).get(path);
+        Object actual = JsonTreePath.compile(path).read(root);
+
+        log.info("{} = {}", path, actual);
+        assertThat(path, actual, is(equalTo(expected)));
+        if (expected != null) {
+            assertThat(path, actual, is(instanceOf(expected.getClass())));
+        }
+    }
+
+    @Test
+    public void testWildcard() throws IOException {
+        JsonNode root = EntityMappers.objectMapper().readTree(WORKSPACES);
+
+        assertThat(JsonTreePath.compile("workspaces[*].id").read(root)
+                , is(equalTo(JsonPath.from(WORKSPACES).get("workspaces.id"))));
+        assertThat(JsonTreePath.compile("workspaces[*].size()").read(root), is(equalTo(4)));
+    }
+
+    @Test
+    public void testCompiledPathIsCached() {
+        assertThat(JsonTreePath.compile("workspaces[0].name"), is(sameInstance(JsonTreePath.compile("workspaces[0].name"))));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidPath() {
+        JsonTreePath.compile("workspaces[x]");
+    }
+
+    @Test
+    public void testMatcherMismatch() {
+        Matcher<String> matcher = jsonTree("workspaces.size()", is(equalTo(4))
+                , "workspaces[0].name", is(equalTo("Other Workspace"))
+                , "workspaces.name", hasItem("Team Workspace"));
+
+        assertThat(matcher.matches(WORKSPACES), is(false));
+        StringDescription mismatch = new StringDescription();
+        matcher.describeMismatch(WORKSPACES, mismatch);
+        log.info("{}", mismatch);
+        assertThat(mismatch.toString(), is(equalTo("JSON path workspaces[0].name was \"My Workspace\"")));
+        assertThat(matcher.matches("not json"), is(false));
+    }
+
+    @Test
+    public void testResponseSpecBuilderExpectBody() {
+        Filter server = (requestSpec, responseSpec, ctx) -> new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType(ContentType.JSON)
+                .setBody(WORKSPACES)
+                .build();
+        RequestSpecification requestSpecification = new RequestSpecBuilder()
+                .setBaseUri("http://localhost")
+                .addFilter(server)
+                .build();
+        ResponseSpecification responseSpecification = new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .expectBody(jsonTree("workspaces.name", hasItems("My Workspace", "Team Workspace")
+                        , "workspaces.size()", equalTo(4)
+                        , "workspaces[0]", hasKey("id")
+                        , "workspaces[1].score", equalTo(0.75f)))
+                .build();
+
+        given(requestSpecification)
+                .get("/workspaces")
+                .then()
+                .spec(responseSpecification)
+                .body(jsonTree("total", is(equalTo(4))));
+    }
+}
@@ -0,0 +1,125 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.LoadRunner;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests for com.rest.utilities.LoadRunner against the embedded echo server.
+ */
+@Slf4j
+public class TestLoadRunner {
+
+    private EmbeddedEchoServer server;
+    private RequestSpecification requestSpecification;
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+        requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .setBasePath("/get")
+                .addQueryParam("foo1", "bar1")
+                .build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testConstantRate() throws InterruptedException {
+        ResponseSpecification responseSpecification = new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .expectContentType(ContentType.JSON)
+                .expectBody("args.foo1", is(equalTo("bar1")))
+                .build();
+
+        LoadRunner.LoadResult result = new LoadRunner(requestSpecification, responseSpecification, RequestSpecification::get)
+                .ratePerSecond(20)
+                .duration(Duration.ofSeconds(2))
+                .workers(4)
+                .run();
+        log.info("{}", result);
+        ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+        result.outputPercentileDistribution(new PrintStream(distribution, true));
+        log.info("Response time percentiles:\n{}", new String(distribution.toByteArray(), StandardCharsets.UTF_8));
+
+        assertThat(result.getRequests(), is(equalTo(40L)));
+        assertThat(result.getResponseTime().getTotalCount(), is(equalTo(40L)));
+        assertThat(result.getValidationFailures(), is(equalTo(0L)));
+        assertThat(result.getErrors(), is(equalTo(0L)));
+        // The requests are not started before their scheduled start.
+        assertThat(result.getAchievedRatePerSecond(), is(lessThanOrEqualTo(20.0)));
+        assertThat(result.getResponseTime().getMaxValue(), is(greaterThanOrEqualTo(result.getServiceTime().getMaxValue())));
+    }
+
+    @Test
+    public void testValidationFailuresAreCounted() throws InterruptedException {
+        ResponseSpecification responseSpecification = new ResponseSpecBuilder()
+                .expectStatusCode(201)
+                .build();
+
+        LoadRunner.LoadResult result = new LoadRunner(requestSpecification, responseSpecification, RequestSpecification::get)
+                .ratePerSecond(20)
+                .duration(Duration.ofMillis(500))
+                .workers(4)
+                .run();
+
+        assertThat(result.getValidationFailures(), is(equalTo(result.getRequests())));
+        assertThat(result.getErrors(), is(equalTo(0L)));
+    }
+
+    /**
+     * One worker and requests that take 50 ms at a rate of 100/s: the queue grows,
+     * which is visible in the response time but not in the service time.
+     */
+    @Test
+    public void testCoordinatedOmissionIsCorrected() throws InterruptedException {
+        LoadRunner.LoadResult result = new LoadRunner(requestSpecification, null, spec -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return spec.get();
+        })
+                .ratePerSecond(100)
+                .duration(Duration.ofMillis(300))
+                .workers(1)
+                .run();
+        log.info("{}", result);
+
+        assertThat(result.getServiceTime().getMaxValue(), is(lessThan(500_000L)));
+        assertThat(result.getResponseTime().getMaxValue(), is(greaterThan(1_000_000L)));
+    }
+
+    @Test
+    public void testRateIsValidated() {
+        LoadRunner loadRunner = new LoadRunner(requestSpecification, null, RequestSpecification::get);
+
+        loadRunner.ratePerSecond(LoadRunner.MAX_RATE_PER_SECOND);
+        for (double ratePerSecond : new double[]{0, -1, 2e9, Double.NaN, Double.POSITIVE_INFINITY}) {
+            expectThrows(IllegalArgumentException.class, () -> loadRunner.ratePerSecond(ratePerSecond));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest.entities.WorkspaceRoot;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.PayloadTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.PayloadTemplate.
+ * The rendered payloads are parsed by Jackson, so the escaping is checked against a real JSON parser.
+ */
+@Slf4j
+public class TestPayloadTemplate {
+
+    private final ObjectMapper objectMapper = EntityMappers.objectMapper();
+
+    @Test
+    public void testWorkspaceTemplateFromFile() throws IOException {
+        PayloadTemplate template = PayloadTemplate.compile(Paths.get("src/test/resources/workspacePayloadTemplate.json"));
+
+        byte[] payload = template.newRenderer()
+                .set("name", "MySeventhWorkspace")
+                .set("type", "personal")
+                .set("description", "rendered from a template")
+                .render()
+                .toByteArray();
+
+        WorkspaceRoot workspaceRoot = EntityMappers.reader(WorkspaceRoot.class).readValue(payload);
+        assertThat(template.getNames(), contains("name", "type", "description"));
+        assertThat(workspaceRoot.getWorkspace().getName(), is(equalTo("MySeventhWorkspace")));
+        assertThat(workspaceRoot.getWorkspace().getType(), is(equalTo("personal")));
+        assertThat(workspaceRoot.getWorkspace().getDescription(), is(equalTo("rendered from a template")));
+    }
+
+    @Test
+    public void testStringsAreEscaped() throws IOException {
+        PayloadTemplate template = PayloadTemplate.compile("{\"name\":\"{{name}}\"}");
+        String name = "quote \" backslash \\ slash / newline \n tab \t control \u0001 é € 😀";
+
+        String payload = template.newRenderer().set("name", name).render().toString();
+
+        log.info(payload);
+        assertThat(objectMapper.readTree(payload).get("name").asText(), is(equalTo(name)));
+        assertThat(payload, is(equalTo(objectMapper.writeValueAsString(Collections.singletonMap("name", name)))));
+    }
+
+    @Test
+    public void testPlaceholderWithinAString() throws IOException {
+        PayloadTemplate template = PayloadTemplate.compile("{\"description\": \"Load run {{run}} of \\\"{{user}}\\\"\"}");
+
+        String payload = template.newRenderer().set("run", 7).set("user", "a\"b").render().toString();
+
+        assertThat(objectMapper.readTree(payload).get("description").asText(), is(equalTo("Load run 7 of \"a\"b\"")));
+    }
+
+    @Test
+    public void testTypedValues() throws IOException {
+        PayloadTemplate template = PayloadTemplate.compile(
+                "{\"count\": {{count}}, \"min\": {{min}}, \"ratio\": {{ratio}}, \"active\": {{active}}"
+                        + ", \"missing\": {{missing}}, \"text\": {{text}}, \"quoted\": \"{{quoted}}\", \"object\": {{object}}}");
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("id", 1);
+        object.put("tags", Collections.singletonList("x"));
+
+        String payload = template.newRenderer()
+                .setAll(-1234567890123L, Long.MIN_VALUE, 0.5, true, null, "text", 42, object)
+                .render()
+                .toString();
+
+        log.info(payload);
+        JsonNode jsonNode = objectMapper.readTree(payload);
+        assertThat(jsonNode.get("count").asLong(), is(equalTo(-1234567890123L)));
+        assertThat(jsonNode.get("min").asLong(), is(equalTo(Long.MIN_VALUE)));
+        assertThat(jsonNode.get("ratio").asDouble(), is(equalTo(0.5)));
+        assertThat(jsonNode.get("active").asBoolean(), is(true));
+        assertThat(jsonNode.get("missing").isNull(), is(true));
+        assertThat(jsonNode.get("text").asText(), is(equalTo("text")));
+        // A complete string stays a string.
+        assertThat(jsonNode.get("quoted").isTextual(), is(true));
+        assertThat(jsonNode.get("quoted").asText(), is(equalTo("42")));
+        assertThat(jsonNode.get("object"), is(equalTo(objectMapper.valueToTree(object))));
+    }
+
+    @Test
+    public void testRendererReusesItsBuffer() {
+        PayloadTemplate template = PayloadTemplate.compile("{\"name\": \"{{name}}\", \"type\": \"{{type}}\"}");
+        PayloadTemplate.Renderer renderer = template.newRenderer().set("type", "personal");
+
+        byte[] buffer = renderer.set("name", "Workspace1000").render().buffer();
+        assertThat(renderer.toString(), is(equalTo("{\"name\": \"Workspace1000\", \"type\": \"personal\"}")));
+
+        // Only the name changes; the type is kept.
+        renderer.set("name", "W2").render();
+        assertThat(renderer.buffer(), is(sameInstance(buffer)));
+        assertThat(renderer.toString(), is(equalTo("{\"name\": \"W2\", \"type\": \"personal\"}")));
+        assertThat(renderer.length(), is(equalTo(renderer.toString().getBytes(StandardCharsets.UTF_8).length)));
+    }
+
+    @Test
+    public void testRenderWithMap() {
+        PayloadTemplate template = PayloadTemplate.compile("[\"{{a}}\", {{b}}, \"{{a}}\"]");
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("a", "x");
+        values.put("b", 2);
+
+        assertThat(new String(template.render(values), StandardCharsets.UTF_8), is(equalTo("[\"x\", 2, \"x\"]")));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testMissingValue() {
+        PayloadTemplate.compile("{\"name\": \"{{name}}\", \"type\": \"{{type}}\"}").newRenderer().set("name", "x").render();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownName() {
+        PayloadTemplate.compile("{\"name\": \"{{name}}\"}").newRenderer().set("nmae", "x");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnclosedPlaceholder() {
+        PayloadTemplate.compile("{\"name\": \"{{name\"}");
+    }
+}
@@ -0,0 +1,173 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.PooledHttpClients;
+import io.restassured.builder.RequestSpecBuilder;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.HttpClient;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.PooledHttpClients against the embedded echo server, which supports keep-alive.
+ */
+@Slf4j
+public class TestPooledHttpClients {
+
+    private EmbeddedEchoServer server;
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testSequentialRequestsReuseOneConnection() {
+        try (PooledHttpClients pooledHttpClients = new PooledHttpClients()) {
+            RequestSpecification requestSpecification = requestSpecification(pooledHttpClients);
+
+            for (int i = 0; i < 20; i++) {
+                given(requestSpecification)
+                        .queryParam("i", i)
+                        .get()
+                        .then()
+                        .statusCode(200)
+                        .body("args.i", is(equalTo(String.valueOf(i))));
+            }
+
+            PooledHttpClients.PoolMetrics metrics = pooledHttpClients.getMetrics();
+            log.info("{}", metrics);
+            assertThat(metrics.getLeases(), is(equalTo(20L)));
+            assertThat(metrics.getConnectionsOpened(), is(equalTo(1L)));
+            assertThat(metrics.getPoolStats().getLeased(), is(equalTo(0)));
+            assertThat(metrics.getPoolStats().getAvailable(), is(equalTo(1)));
+        }
+    }
+
+    /**
+     * With at most 2 connections per route, 8 threads have to wait for a connection.
+     * The bodies are not read by the test, but the connections are released anyway.
+     */
+    @Test
+    public void testMaxPerRoute() throws Exception {
+        try (PooledHttpClients pooledHttpClients = new PooledHttpClients(10, 2
+                , PooledHttpClients.DEFAULT_KEEP_ALIVE_MILLIS, PooledHttpClients.DEFAULT_IDLE_MILLIS)) {
+            RequestSpecification requestSpecification = requestSpecification(pooledHttpClients);
+
+            ExecutorService executorService = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < 80; i++) {
+                    futures.add(executorService.submit(() -> given(requestSpecification).get().statusCode()));
+                }
+                for (Future<Integer> future : futures) {
+                    assertThat(future.get(), is(equalTo(200)));
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+
+            PooledHttpClients.PoolMetrics metrics = pooledHttpClients.getMetrics();
+            log.info("{}", metrics);
+            assertThat(metrics.getLeases(), is(equalTo(80L)));
+            assertThat(metrics.getConnectionsOpened(), is(lessThanOrEqualTo(2L)));
+            assertThat(metrics.getReuseRatio(), is(greaterThan(0.9)));
+        }
+    }
+
+    /**
+     * RestAssured writes the settings of a request into the HttpClient, so requests must not share one.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testEveryRequestGetsItsOwnClientOnTheSamePool() {
+        try (PooledHttpClients pooledHttpClients = new PooledHttpClients()) {
+            HttpClientConfig httpClientConfig = pooledHttpClients.httpClientConfig();
+
+            HttpClient first = httpClientConfig.httpClientInstance();
+            HttpClient second = httpClientConfig.httpClientInstance();
+
+            assertThat(first, is(not(sameInstance(second))));
+            assertThat(first.getConnectionManager(), is(sameInstance(second.getConnectionManager())));
+        }
+    }
+
+    /**
+     * A chunked body has no Content-Length and is not buffered: the response is returned
+     * while the server is still sending the body, and the test reads it to the end.
+     */
+    @Test
+    public void testChunkedBodyIsStreamed() throws Exception {
+        CountDownLatch lastChunk = new CountDownLatch(1);
+        HttpServer chunkedServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        chunkedServer.createContext("/chunked", exchange -> {
+            // Length 0: the body is sent with chunked transfer encoding.
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write("first,".getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+                lastChunk.await(10, TimeUnit.SECONDS);
+                outputStream.write("last".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        chunkedServer.start();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try (PooledHttpClients pooledHttpClients = new PooledHttpClients()) {
+            RequestSpecification requestSpecification = new RequestSpecBuilder()
+                    .setBaseUri("http://localhost:" + chunkedServer.getAddress().getPort())
+                    .setBasePath("/chunked")
+                    .setConfig(RestAssuredConfig.config().httpClient(pooledHttpClients.httpClientConfig()))
+                    .build();
+
+            Future<Response> response = executorService.submit(() -> given(requestSpecification).get());
+
+            // If the body were buffered, get() would wait for the last chunk.
+            assertThat(response.get(5, TimeUnit.SECONDS).statusCode(), is(equalTo(200)));
+            lastChunk.countDown();
+            assertThat(response.get().asString(), is(equalTo("first,last")));
+            assertThat(pooledHttpClients.getMetrics().getPoolStats().getLeased(), is(equalTo(0)));
+        } finally {
+            lastChunk.countDown();
+            executorService.shutdownNow();
+            chunkedServer.stop(0);
+        }
+    }
+
+    private RequestSpecification requestSpecification(PooledHttpClients pooledHttpClients) {
+        return new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .setBasePath("/get")
+                .setConfig(RestAssuredConfig.config().httpClient(pooledHttpClients.httpClientConfig()))
+                .build();
+    }
+}
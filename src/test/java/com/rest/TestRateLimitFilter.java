@@ -0,0 +1,212 @@
+package com.rest;
+
+import com.rest.utilities.RateLimitFilter;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.RateLimitFilter.
+ * No server is needed: a filter plays the server. It is registered with RestAssured.filters();
+ * it comes after the RateLimitFilter, so a retry is also sent through it.
+ */
+@Slf4j
+public class TestRateLimitFilter {
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() {
+        RestAssured.replaceFiltersWith(Collections.emptyList());
+        RestAssured.requestSpecification = null;
+    }
+
+    @Test
+    public void testRequestsArePacedPerApiKey() {
+        FakeServer server = new FakeServer();
+        RestAssured.filters(server);
+        // 10 requests per second, no burst.
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(600, 1);
+        RequestSpecification requestSpecification = requestSpecification(rateLimitFilter, "key1");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            given(requestSpecification).get("/workspaces").then().statusCode(200);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("{} in {} ms", rateLimitFilter, elapsedMillis);
+        assertThat(elapsedMillis, is(greaterThanOrEqualTo(450L)));
+        assertThat(rateLimitFilter.getRequests(), is(equalTo(6L)));
+        assertThat(rateLimitFilter.getWaitMillis(), is(greaterThan(0.0)));
+    }
+
+    @Test
+    public void testApiKeysHaveTheirOwnBucket() {
+        FakeServer server = new FakeServer();
+        RestAssured.filters(server);
+        // 1 request per 10 seconds.
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6, 1);
+
+        given(requestSpecification(rateLimitFilter, "key1")).get("/workspaces");
+        given(requestSpecification(rateLimitFilter, "key2")).get("/workspaces");
+
+        assertThat(rateLimitFilter.getWaitMillis(), is(lessThan(1000.0)));
+        assertThat(server.requests, hasSize(2));
+    }
+
+    @Test
+    public void testRequestsWithoutApiKeyHaveTheirOwnBucket() {
+        FakeServer server = new FakeServer();
+        RestAssured.filters(server);
+        // 1 request per 10 seconds.
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6, 1);
+
+        given(requestSpecification(rateLimitFilter, "null")).get("/workspaces");
+        given(new RequestSpecBuilder().setBaseUri("http://localhost").addFilter(rateLimitFilter).build()).get("/workspaces");
+
+        assertThat(rateLimitFilter.getWaitMillis(), is(lessThan(1000.0)));
+        assertThat(server.requests, hasSize(2));
+    }
+
+    @Test
+    public void testTooManyRequestsIsRetriedAfterRetryAfter() {
+        FakeServer server = new FakeServer();
+        server.tooManyRequests = 2;
+        server.retryAfter = "1";
+        RestAssured.filters(server);
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6000, 10).backoff(10, 100);
+
+        long start = System.nanoTime();
+        given(requestSpecification(rateLimitFilter, "key1"))
+                .queryParam("name", "My Workspace")
+                .contentType(ContentType.JSON)
+                .body("{\"workspace\": {\"name\": \"MyWorkspace\"}}")
+                .post("/workspaces")
+                .then()
+                .statusCode(200);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("{} in {} ms", rateLimitFilter, elapsedMillis);
+        assertThat(elapsedMillis, is(greaterThanOrEqualTo(1900L)));
+        assertThat(rateLimitFilter.getTooManyRequests(), is(equalTo(2L)));
+        assertThat(rateLimitFilter.getRetries(), is(equalTo(2L)));
+        // The retries are the same request.
+        assertThat(server.requests, hasSize(3));
+        assertThat(server.requests, everyItem(is(equalTo(server.requests.get(0)))));
+        assertThat(server.requests.get(0), containsString("name=My%20Workspace"));
+        assertThat(server.requests.get(0), containsString("key1"));
+        assertThat(server.requests.get(0), containsString("{\"workspace\": {\"name\": \"MyWorkspace\"}}"));
+    }
+
+    /**
+     * A retry should not add the static RestAssured.requestSpecification again: its header is sent once.
+     */
+    @Test
+    public void testRetryOfStaticRequestSpecificationIsTheSameRequest() {
+        FakeServer server = new FakeServer();
+        server.tooManyRequests = 1;
+        RestAssured.filters(server);
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6000, 10).backoff(10, 100);
+        RestAssured.requestSpecification = requestSpecification(rateLimitFilter, "key1");
+
+        given().get("/workspaces").then().statusCode(200);
+
+        assertThat(rateLimitFilter.getRetries(), is(equalTo(1L)));
+        assertThat(server.requests, hasSize(2));
+        assertThat(server.requests.get(0), containsString("[key1]"));
+        assertThat(server.requests.get(1), is(equalTo(server.requests.get(0))));
+    }
+
+    @Test
+    public void testRetriesAreLimited() {
+        FakeServer server = new FakeServer();
+        server.tooManyRequests = Integer.MAX_VALUE;
+        RestAssured.filters(server);
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6000, 10).maxRetries(2).backoff(10, 50);
+
+        given(requestSpecification(rateLimitFilter, "key1")).get("/workspaces").then().statusCode(429);
+
+        assertThat(server.requests, hasSize(3));
+        assertThat(rateLimitFilter.getTooManyRequests(), is(equalTo(3L)));
+        assertThat(rateLimitFilter.getRetries(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testNoRequestIsSentBeforeTheReset() {
+        FakeServer server = new FakeServer();
+        server.remaining = 0;
+        server.reset = 1;
+        RestAssured.filters(server);
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(6000, 10);
+        RequestSpecification requestSpecification = requestSpecification(rateLimitFilter, "key1");
+
+        given(requestSpecification).get("/workspaces");
+        long start = System.nanoTime();
+        given(requestSpecification).get("/workspaces");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis, is(greaterThanOrEqualTo(900L)));
+    }
+
+    private RequestSpecification requestSpecification(RateLimitFilter rateLimitFilter, String apiKey) {
+        return new RequestSpecBuilder()
+                .setBaseUri("http://localhost")
+                .addHeader(RateLimitFilter.API_KEY_HEADER, apiKey)
+                .addFilter(rateLimitFilter)
+                .build();
+    }
+
+    /**
+     * Answers the first tooManyRequests requests with 429, the others with 200.
+     * Records the URI, the values of the API key header and the body of every request.
+     */
+    private static class FakeServer implements OrderedFilter {
+        private final List<String> requests = new ArrayList<>();
+        private int tooManyRequests;
+        private String retryAfter;
+        private Integer remaining;
+        private Integer reset;
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            requests.add(requestSpec.getMethod() + " " + requestSpec.getURI() + " "
+                    + requestSpec.getHeaders().getValues(RateLimitFilter.API_KEY_HEADER) + " " + requestSpec.getBody());
+
+            ResponseBuilder responseBuilder = new ResponseBuilder().setContentType(ContentType.JSON).setBody("{}");
+            if (remaining != null) {
+                responseBuilder.setHeader("RateLimit-Remaining", String.valueOf(remaining));
+                responseBuilder.setHeader("RateLimit-Reset", String.valueOf(reset));
+            }
+            if (requests.size() <= tooManyRequests) {
+                if (retryAfter != null) {
+                    responseBuilder.setHeader("Retry-After", retryAfter);
+                }
+                return responseBuilder.setStatusCode(429).setStatusLine("HTTP/1.1 429 Too Many Requests").build();
+            }
+            return responseBuilder.setStatusCode(200).setStatusLine("HTTP/1.1 200 OK").build();
+        }
+    }
+}
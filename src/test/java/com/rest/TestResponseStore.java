@@ -0,0 +1,180 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.ResponseStore;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.Method;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.ResponseStore against the embedded echo server.
+ */
+@Slf4j
+public class TestResponseStore {
+
+    private EmbeddedEchoServer server;
+    private RequestSpecification requestSpecification;
+    private final AtomicInteger serverRequests = new AtomicInteger();
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+        requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .addHeader("X-Api-Key", "key")
+                // Counts the requests that reach the server; a slow server makes concurrent calls overlap.
+                .addFilter((requestSpec, responseSpec, ctx) -> {
+                    serverRequests.incrementAndGet();
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ctx.next(requestSpec, responseSpec);
+                })
+                .build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testConcurrentCallsSendOneRequest() throws Exception {
+        ResponseStore responseStore = new ResponseStore();
+        serverRequests.set(0);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return responseStore.get(requestSpecification, Method.GET, "/get?fixture=workspaces");
+                }));
+            }
+            start.countDown();
+
+            Response first = futures.get(0).get();
+            for (Future<Response> future : futures) {
+                assertThat(future.get(), is(sameInstance(first)));
+                assertThat(future.get().path("args.fixture"), is(equalTo("workspaces")));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(serverRequests.get(), is(equalTo(1)));
+        assertThat(responseStore.getRequests(), is(equalTo(1L)));
+        assertThat(responseStore.getHits(), is(equalTo(7L)));
+    }
+
+    @Test
+    public void testKeyContainsMethodPathHeadersAndBody() {
+        ResponseStore responseStore = new ResponseStore();
+
+        responseStore.get(requestSpecification, Method.GET, "/get");
+        responseStore.get(requestSpecification, Method.GET, "/get");
+        responseStore.get(new RequestSpecBuilder().addRequestSpecification(requestSpecification)
+                .addHeader("X-Other", "value").build(), Method.GET, "/get");
+        Response post1 = responseStore.get(new RequestSpecBuilder().addRequestSpecification(requestSpecification)
+                .setContentType("application/json").setBody("{\"name\": \"first\"}").build(), Method.POST, "/post");
+        Response post2 = responseStore.get(new RequestSpecBuilder().addRequestSpecification(requestSpecification)
+                .setContentType("application/json").setBody("{\"name\": \"second\"}").build(), Method.POST, "/post");
+
+        assertThat(responseStore.getRequests(), is(equalTo(4L)));
+        assertThat(post1.path("json.name"), is(equalTo("first")));
+        assertThat(post2.path("json.name"), is(equalTo("second")));
+    }
+
+    @Test
+    public void testJsonPathIsParsedOnce() {
+        ResponseStore responseStore = new ResponseStore();
+
+        JsonPath jsonPath = responseStore.jsonPath(requestSpecification, Method.GET, "/get?foo1=bar1");
+
+        assertThat(jsonPath.getString("args.foo1"), is(equalTo("bar1")));
+        assertThat(responseStore.jsonPath(requestSpecification, Method.GET, "/get?foo1=bar1"), is(sameInstance(jsonPath)));
+    }
+
+    /**
+     * As in Part05TestDefaultRequestSpecification: the specification is also the static RestAssured.requestSpecification,
+     * or has been built by a RequestSpecBuilder on top of it. Its headers and filters should be applied once.
+     */
+    @Test
+    public void testStaticRequestSpecificationIsAppliedOnce() {
+        ResponseStore responseStore = new ResponseStore();
+        serverRequests.set(0);
+        RestAssured.requestSpecification = requestSpecification;
+        try {
+            Response response = responseStore.get(requestSpecification, Method.GET, "/get");
+            Response other = responseStore.get(new RequestSpecBuilder().addHeader("X-Other", "value").build(), Method.GET, "/get");
+
+            assertThat(response.path("headers.x-api-key"), is(equalTo("key")));
+            assertThat(other.path("headers.x-api-key"), is(equalTo("key")));
+            assertThat(other.path("headers.x-other"), is(equalTo("value")));
+        } finally {
+            RestAssured.requestSpecification = null;
+        }
+
+        assertThat(serverRequests.get(), is(equalTo(2)));
+        assertThat(responseStore.getRequests(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testFailedRequestIsNotStored() {
+        ResponseStore responseStore = new ResponseStore();
+        RequestSpecification unreachable = new RequestSpecBuilder().setBaseUri("http://localhost").setPort(1).build();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                responseStore.get(unreachable, Method.GET, "/get");
+            } catch (Exception e) {
+                log.info("Expected failure: {}", e.toString());
+            }
+        }
+
+        assertThat(responseStore.getRequests(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testOnlySuccessfulResponsesAreStored() {
+        ResponseStore responseStore = new ResponseStore();
+
+        Response notFound = responseStore.get(requestSpecification, Method.GET, "/unknown");
+        responseStore.get(requestSpecification, Method.GET, "/unknown");
+
+        assertThat(notFound.statusCode(), is(equalTo(404)));
+        assertThat(responseStore.getRequests(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testStorablePredicate() {
+        ResponseStore responseStore = new ResponseStore(response -> true);
+
+        Response notFound = responseStore.get(requestSpecification, Method.GET, "/unknown");
+
+        assertThat(responseStore.get(requestSpecification, Method.GET, "/unknown"), is(sameInstance(notFound)));
+        assertThat(responseStore.getRequests(), is(equalTo(1L)));
+    }
+}
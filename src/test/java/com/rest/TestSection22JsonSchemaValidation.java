@@ -1,17 +1,22 @@
 package com.rest;
 
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static com.rest.utilities.JsonSchemaRegistry.matchesCompiledJsonSchemaInClasspath;
 
 @Slf4j
 public class TestSection22JsonSchemaValidation {
@@ -25,17 +30,17 @@ public class TestSection22JsonSchemaValidation {
     Response response;
 
     @BeforeClass
-    public void init() {
-        baseURI = "http://postman-echo.com";
-        basePath = "/get";
-
+    public void init() throws IOException {
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
 
         requestSpecBuilder
-                .setBaseUri(baseURI)
+//                .setBaseUri("http://postman-echo.com")
+                // The embedded echo server answers /get the same way as postman-echo.com.
+                .setBaseUri(EmbeddedEchoServer.shared().baseUri())
+                .setBasePath("/get")
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -43,10 +48,15 @@ public class TestSection22JsonSchemaValidation {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
         log.info("init");
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     /**
      * Ch. 108. Automate JSON Schema Validation.
      *
@@ -73,6 +83,10 @@ public class TestSection22JsonSchemaValidation {
      *
      * File: src/test/resources/postman-echo-json-schema.json
      * - Contains the json schema of the json response.
+     *
+     * Instead of matchesJsonSchemaInClasspath(), which reads and compiles the schema for every call,
+     * matchesCompiledJsonSchemaInClasspath() from JsonSchemaRegistry is used:
+     * the schema is compiled once and shared. See JsonSchemaRegistry.metrics() for the validation times.
      */
     @Test
     public void testJsonSchema() {
@@ -84,7 +98,7 @@ public class TestSection22JsonSchemaValidation {
                 .log().all()
                 .assertThat()
                 .statusCode(HTTP_Status_code_OK)
-                .body(matchesJsonSchemaInClasspath("postman-echo-json-schema.json"));
+                .body(matchesCompiledJsonSchemaInClasspath("postman-echo-json-schema.json"));
         ;
     }
 }
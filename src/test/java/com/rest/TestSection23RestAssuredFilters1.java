@@ -1,5 +1,7 @@
 package com.rest;
 
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
@@ -8,15 +10,17 @@ import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintStream;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 
 @Slf4j
 public class TestSection23RestAssuredFilters1 {
@@ -30,20 +34,20 @@ public class TestSection23RestAssuredFilters1 {
     Response response;
 
     @BeforeClass
-    public void init() {
-        baseURI = "http://postman-echo.com";
-        basePath = "/get";
-
+    public void init() throws IOException {
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
 
         requestSpecBuilder
-                .setBaseUri(baseURI)
+//                .setBaseUri("http://postman-echo.com")
+                // The embedded echo server answers /get the same way as postman-echo.com.
+                .setBaseUri(EmbeddedEchoServer.shared().baseUri())
+                .setBasePath("/get")
                 .setContentType("application/json; charset=utf-8")
         // This logging is put on comment because this functionality is
         // taken over by using the logging filters in the methods.
 //                .log(LogDetail.ALL)
         ;
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -51,7 +55,12 @@ public class TestSection23RestAssuredFilters1 {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
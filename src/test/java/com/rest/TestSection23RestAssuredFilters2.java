@@ -1,5 +1,8 @@
 package com.rest;
 
+import com.rest.utilities.AsyncFileLoggingFilter;
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
@@ -8,13 +11,17 @@ import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Collections;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 
 /**
@@ -38,44 +45,57 @@ public class TestSection23RestAssuredFilters2 {
 
     Response response;
     PrintStream fileOutputStream;
+    AsyncFileLoggingFilter asyncFileLoggingFilter;
 
     @BeforeClass
-    public void init() throws FileNotFoundException {
-        baseURI = "http://postman-echo.com";
-        basePath = "/get";
-
+    public void init() throws IOException {
         boolean shouldPrettyPrint = true;
         // Using this stream the logging will now be placed in:
         // $HOME/Development/workspaceStudy/RestAssured/restAssured.log
         // So in the basedirectory of the project.
         fileOutputStream = new PrintStream(new File("restAssured.log"));
 
+        // Logs to $HOME/Development/workspaceStudy/RestAssured/restAssuredAsync.log.
+        asyncFileLoggingFilter = new AsyncFileLoggingFilter(Paths.get("restAssuredAsync.log")
+                , LogDetail.ALL
+                , AsyncFileLoggingFilter.DEFAULT_CAPACITY
+                , Collections.singletonList("X-Api-Key"));
+
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
 
         requestSpecBuilder
-                .setBaseUri(baseURI)
+//                .setBaseUri("http://postman-echo.com")
+                // The embedded echo server answers /get the same way as postman-echo.com.
+                .setBaseUri(EmbeddedEchoServer.shared().baseUri())
+                .setBasePath("/get")
                 .setContentType("application/json; charset=utf-8")
                 .addFilter(new RequestLoggingFilter(LogDetail.ALL, shouldPrettyPrint, fileOutputStream))
                 .addFilter(new ResponseLoggingFilter(LogDetail.ALL, shouldPrettyPrint, fileOutputStream))
                 // If the following it NOT commented out it will send the same logging to the console.
                 .log(LogDetail.ALL)
         ;
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
-        // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
                 .expectStatusCode(HTTP_Status_code_OK)
-                .expectContentType(ContentType.JSON)
-                .log(LogDetail.ALL);
+                .expectContentType(ContentType.JSON);
+
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
 
-        responseSpecification = responseSpecBuilder.build();
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        SpecContext.clear();
+        fileOutputStream.close();
+        // Writes the records that are still waiting in the buffer.
+        asyncFileLoggingFilter.close();
     }
 
     /**
      * Ch. 111. Reuse Filters.
      */
     @Test
-    public void testReuseFilters() throws FileNotFoundException {
+    public void testReuseFilters() {
 
         given()
                 // These filters are now placed in the requestSpecification.
@@ -85,14 +105,33 @@ public class TestSection23RestAssuredFilters2 {
                 // Thus allowing for logging to a filter per separate test method.
 //                .filter(new RequestLoggingFilter(LogDetail.BODY, shouldPrettyPrint, fileOutputStream))
 //                .filter(new ResponseLoggingFilter(LogDetail.STATUS, shouldPrettyPrint, fileOutputStream))
-//                .log().all()
                 .when()
                 .get()
                 .then()
                 // If the following it NOT commented out it will send the same logging to the console.
                 .log().all()
-//                .assertThat()
-//                .statusCode(HTTP_Status_code_OK)
+                .assertThat()
+                .statusCode(HTTP_Status_code_OK)
+        ;
+    }
+
+    /**
+     * Ch. 112. Log to File, without blocking the test.
+     * RequestLoggingFilter / ResponseLoggingFilter pretty-print and write to the file on the test thread.
+     * AsyncFileLoggingFilter only copies the request and the response, and hands the logging over to a background thread.
+     * The filters and console logging of the requestSpecification still run on the test thread as well.
+     */
+    @Test
+    public void testLogToFileAsync() {
+
+        given()
+                // Added here in the method: only this test is logged to restAssuredAsync.log.
+                .filter(asyncFileLoggingFilter)
+                .when()
+                .get()
+                .then()
+                .assertThat()
+                .statusCode(HTTP_Status_code_OK)
         ;
     }
 }
@@ -4,19 +4,21 @@ import com.rest.entities.Address;
 import com.rest.entities.Geo;
 import com.rest.entities.User;
 import com.rest.entities.WorkspaceRoot;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 import static org.hamcrest.Matchers.*;
 
 @Slf4j
@@ -32,14 +34,13 @@ public class TestSection24Assignment {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://jsonplaceholder.typicode.com";
-        basePath = "/users";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
+                .setBaseUri("https://jsonplaceholder.typicode.com")
+                .setBasePath("/users")
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -47,7 +48,12 @@ public class TestSection24Assignment {
                 .expectContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     @Test
@@ -4,12 +4,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -18,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -51,18 +56,18 @@ public class TestSection24PostPayloadJsonListSerialization {
 
     @BeforeClass
     public void init() {
-        // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
-        basePath = "/post";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                // The base Url of the Mock server that has been set up in Postman.
+                .setBaseUri("https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io")
+                .setBasePath("/post")
+                // Use the shared ObjectMapper from EntityMappers for the implicit (de-)serialization of the bodies.
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("x-mock-match-request-body", "true")
 //                .setContentType(ContentType.JSON)
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -70,7 +75,12 @@ public class TestSection24PostPayloadJsonListSerialization {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     @Test
@@ -92,7 +102,7 @@ public class TestSection24PostPayloadJsonListSerialization {
          * This is only done in order to show that Jackson works.
          * Normally we will use it implicitly, as has been done in the earlier example.
          */
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
         String jsonListString = objectMapper.writeValueAsString(jsonList);
 
         log.info("********************");
@@ -115,9 +125,9 @@ public class TestSection24PostPayloadJsonListSerialization {
      */
     @Test
     public void testPostRequestPayloadJsonArrayAsObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
 
-        ArrayNode arrayNode = new ObjectMapper().createArrayNode();
+        ArrayNode arrayNode = objectMapper.createArrayNode();
 
         ObjectNode objectNode5001 = objectMapper.createObjectNode();
         objectNode5001.put("id", "5001");
@@ -3,17 +3,21 @@ package com.rest;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rest.entities.SimplePoJo;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -39,17 +43,17 @@ public class TestSection24PostPayloadSimplePoJo {
 
     @BeforeClass
     public void init() {
-        // The base Url of the Mock server that has been set up in Postman.
-        baseURI = "https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io";
-        basePath = "/postSimplePojo";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                // The base Url of the Mock server that has been set up in Postman.
+                .setBaseUri("https://0cfbbd01-fbce-453b-91c1-41c2b17b356d.mock.pstmn.io")
+                .setBasePath("/postSimplePojo")
+                // Use the shared ObjectMapper from EntityMappers for the implicit (de-)serialization of the bodies.
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("x-mock-match-request-body", "true")
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -57,11 +61,16 @@ public class TestSection24PostPayloadSimplePoJo {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
 
         simplePoJo = new SimplePoJo("value1", "value2");
     }
 
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+    }
+
     @Test
     public void testPostRequestPayloadSimplePoJo() {
 
@@ -99,7 +108,7 @@ public class TestSection24PostPayloadSimplePoJo {
                 .response()
                 .as(SimplePoJo.class);
 
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
         String serializedSimplePoJoString = objectMapper.writeValueAsString(simplePoJoResponse);
         String simplePoJoString = objectMapper.writeValueAsString(simplePoJo);
 
@@ -5,12 +5,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.rest.entities.Workspace;
 import com.rest.entities.WorkspaceRoot;
+import com.rest.serialization.EntityMappers;
+import com.rest.utilities.JsonLinesDataProviders;
+import com.rest.utilities.JsonLinesSource;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -20,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -47,16 +54,17 @@ public class TestSection24TestPostPayloadJsonObjectSerialization {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/workspaces";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/workspaces")
+                // Use the shared ObjectMapper from EntityMappers for the implicit (de-)serialization of the bodies.
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader(X_API_KEY, X_API_KEY_VALUE)
 //                .setContentType(ContentType.JSON)
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -64,7 +72,12 @@ public class TestSection24TestPostPayloadJsonObjectSerialization {
                 .expectContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     /**
@@ -132,7 +145,7 @@ public class TestSection24TestPostPayloadJsonObjectSerialization {
          * This is only done in order to show that Jackson works.
          * Normally we will use it implicitly, as has been done in the first test.
          */
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
         String mainObjectStr = objectMapper.writeValueAsString(mainObject);
 
         log.info("********************");
@@ -159,7 +172,7 @@ public class TestSection24TestPostPayloadJsonObjectSerialization {
      */
     @Test
     public void testPostRequestPayloadWorkspaceUseOjectMapperOnly() throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = EntityMappers.objectMapper();
 
         ObjectNode nestedObjectNode = objectMapper.createObjectNode();
         nestedObjectNode.put("name", "MyFifthWorkspace");
@@ -263,4 +276,27 @@ public class TestSection24TestPostPayloadJsonObjectSerialization {
                 is(equalTo(workspaceRoot.getWorkspace().getName())));
         assertThat(workspaceRootResponse.getWorkspace().getId(), matchesPattern("^[a-z0-9-]{36}$"));
     }
+
+    /**
+     * The same test, but the cases are read line by line from src/test/resources/workspaces.jsonl
+     * instead of being hard-coded in a @DataProvider method.
+     */
+    @Test(dataProvider = JsonLinesDataProviders.JSON_LINES, dataProviderClass = JsonLinesDataProviders.class)
+    @JsonLinesSource(value = "src/test/resources/workspaces.jsonl", type = Workspace.class, limit = 2)
+    public void testPostRequestPayloadWorkspaceFromJsonLines(Workspace workspace) {
+        WorkspaceRoot workspaceRoot = new WorkspaceRoot(workspace);
+
+        WorkspaceRoot workspaceRootResponse = given()
+                .body(workspaceRoot)
+                .when()
+                .post()
+                .then()
+                .log().all()
+                .extract()
+                .as(WorkspaceRoot.class);
+
+        assertThat(workspaceRootResponse.getWorkspace().getName(),
+                is(equalTo(workspaceRoot.getWorkspace().getName())));
+        assertThat(workspaceRootResponse.getWorkspace().getId(), matchesPattern("^[a-z0-9-]{36}$"));
+    }
 }
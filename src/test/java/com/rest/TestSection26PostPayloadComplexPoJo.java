@@ -2,20 +2,27 @@ package com.rest;
 
 import com.rest.entities.WorkspaceRoot;
 import com.rest.entities.collection.*;
+import com.rest.serialization.CollectionRootStreamWriter;
+import com.rest.utilities.RateLimitFilter;
+import com.rest.utilities.RestAssuredConfigs;
+import com.rest.utilities.SpecContext;
+import com.rest.utilities.TimingFilter;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.rest.utilities.SpecContext.given;
 import static io.restassured.RestAssured.*;
-import static io.restassured.RestAssured.responseSpecification;
 
 @Slf4j
 public class TestSection26PostPayloadComplexPoJo {
@@ -35,16 +42,17 @@ public class TestSection26PostPayloadComplexPoJo {
 
     @BeforeClass
     public void init() {
-        baseURI = "https://api.postman.com";
-        basePath = "/collections";
-
         RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
         requestSpecBuilder
-                .setBaseUri(baseURI)
+                .setBaseUri("https://api.postman.com")
+                .setBasePath("/collections")
+                .setConfig(RestAssuredConfigs.restAssuredConfig())
                 .addHeader("X-Api-Key", X_API_KEY_VALUE)
+                .addFilter(RateLimitFilter.shared())
+                .addFilter(TimingFilter.shared())
                 .setContentType("application/json; charset=utf-8")
                 .log(LogDetail.ALL);
-        requestSpecification = requestSpecBuilder.build();
+        SpecContext.setRequestSpecification(requestSpecBuilder.build());
 
         // Note that this will not show the logging. '.log(LogDetail.ALL)' Doesn't work.
         ResponseSpecBuilder responseSpecBuilder = new ResponseSpecBuilder()
@@ -52,12 +60,47 @@ public class TestSection26PostPayloadComplexPoJo {
                 .expectContentType(ContentType.JSON)
                 .log(LogDetail.ALL);
 
-        responseSpecification = responseSpecBuilder.build();
+        SpecContext.setResponseSpecification(responseSpecBuilder.build());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
     }
 
     @Test
     public void testPostRequestComplexJson() {
 
+        CollectionRoot collectionRoot = createCollectionRoot();
+
+        given()
+                .body(collectionRoot)
+                .when()
+                .post()
+                .then();
+    }
+
+    /**
+     * The same collection as above, but now the JSON is written by CollectionRootStreamWriter
+     * directly into the request while it is being sent.
+     * Intended for collections with a large number of requests:
+     * the collection is not first serialized into one String.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testPostRequestComplexJsonStreaming() throws IOException {
+
+        CollectionRoot collectionRoot = createCollectionRoot();
+
+        given()
+                .body(CollectionRootStreamWriter.asInputStream(collectionRoot))
+                .when()
+                .post()
+                .then();
+    }
+
+    private CollectionRoot createCollectionRoot() {
         Header header = new Header("Content-Type", "application/json; charset=utf-8");
         List<Header> headerList = new ArrayList<>();
         headerList.add(header);
@@ -81,13 +124,7 @@ public class TestSection26PostPayloadComplexPoJo {
         , "https://schema.getpostman.com/json/collection/v2.1.0/collection.json");
 
         Collection collection = new Collection(info, folderList);
-        CollectionRoot collectionRoot = new CollectionRoot(collection);
-
-        given()
-                .body(collectionRoot)
-                .when()
-                .post()
-                .then();
+        return new CollectionRoot(collection);
     }
 
 }
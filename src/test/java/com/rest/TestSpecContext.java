@@ -0,0 +1,107 @@
+package com.rest;
+
+import com.rest.utilities.SpecContext;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.SpecContext. No requests are sent: the specifications are only queried.
+ */
+@Slf4j
+public class TestSpecContext {
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() {
+        SpecContext.clear();
+        RestAssured.reset();
+    }
+
+    @Test
+    public void testGivenUsesSpecificationOfThread() {
+        SpecContext.setRequestSpecification(new RequestSpecBuilder()
+                .setBaseUri("http://postman-echo.com")
+                .setBasePath("/get")
+                .addHeader("X-Test", "value")
+                .build());
+
+        QueryableRequestSpecification queryable = SpecificationQuerier.query(SpecContext.given());
+
+        assertThat(queryable.getBaseUri(), is(equalTo("http://postman-echo.com")));
+        assertThat(queryable.getBasePath(), is(equalTo("/get")));
+        assertThat(queryable.getHeaders().getValue("X-Test"), is(equalTo("value")));
+    }
+
+    /**
+     * The static settings of RestAssured, e.g. of a class that still sets them, are not added to the request.
+     */
+    @Test
+    public void testGivenDoesNotUseStaticSettings() {
+        RequestSpecification requestSpecification = new RequestSpecBuilder()
+                .setBaseUri("http://postman-echo.com")
+                .addHeader("x-mock-match-request-body", "true")
+                .build();
+        RestAssured.requestSpecification = requestSpecification;
+        RestAssured.basePath = "/static";
+        SpecContext.setRequestSpecification(requestSpecification);
+
+        QueryableRequestSpecification queryable = SpecificationQuerier.query(SpecContext.given());
+
+        assertThat(queryable.getHeaders().getValues("x-mock-match-request-body"), is(equalTo(Collections.singletonList("true"))));
+        assertThat(queryable.getBasePath(), is(equalTo("")));
+
+        SpecContext.clear();
+        assertThat(SpecificationQuerier.query(SpecContext.given()).getHeaders().exist(), is(false));
+    }
+
+    @Test
+    public void testClear() {
+        SpecContext.setRequestSpecification(new RequestSpecBuilder().setBaseUri("http://postman-echo.com").build());
+        SpecContext.clear();
+
+        assertThat(SpecContext.requestSpecification(), is(nullValue()));
+        assertThat(SpecificationQuerier.query(SpecContext.given()).getBaseUri(), is(not(equalTo("http://postman-echo.com"))));
+    }
+
+    @Test
+    public void testThreadsDoNotSeeEachOthersSpecification() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String baseUri = "http://host" + i + ".example.com";
+                Callable<String> task = () -> {
+                    SpecContext.setRequestSpecification(new RequestSpecBuilder().setBaseUri(baseUri).build());
+                    try {
+                        Thread.sleep(1);
+                        return SpecificationQuerier.query(SpecContext.given()).getBaseUri();
+                    } finally {
+                        SpecContext.clear();
+                    }
+                };
+                futures.add(executorService.submit(task));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get(), is(equalTo("http://host" + i + ".example.com")));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
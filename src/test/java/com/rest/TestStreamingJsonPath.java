@@ -0,0 +1,103 @@
+package com.rest;
+
+import com.rest.serialization.StreamingJsonPath;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.serialization.StreamingJsonPath.
+ * The JSON below has the same structure as the response of GET https://api.postman.com/workspaces.
+ */
+@Slf4j
+public class TestStreamingJsonPath {
+
+    private final String workspaces =
+            "{\n" +
+                    "    \"workspaces\": [\n" +
+                    "        {\"id\": \"1f0df51a\", \"name\": \"My Workspace\", \"type\": \"personal\"},\n" +
+                    "        {\"id\": \"0a2ef62b\", \"name\": \"Team Workspace\", \"type\": \"team\"},\n" +
+                    "        {\"id\": \"ab0c21f4\", \"name\": \"Postman Essentials Workspace\", \"type\": \"personal\",\n" +
+                    "            \"tags\": [\"a\", \"b\"]},\n" +
+                    "        {\"id\": \"d4c50c13\", \"name\": \"Yet another Workspace\", \"type\": \"personal\"}\n" +
+                    "    ]\n" +
+                    "}";
+
+    @Test
+    public void testAllWorkspaceNames() throws IOException {
+        List<Object> names = StreamingJsonPath.compile("workspaces[*].name").read(inputStream(workspaces));
+
+        assertThat(names, contains("My Workspace", "Team Workspace", "Postman Essentials Workspace", "Yet another Workspace"));
+    }
+
+    @Test
+    public void testSingleWorkspaceName() throws IOException {
+        String name = StreamingJsonPath.compile("workspaces[2].name").readFirst(inputStream(workspaces));
+
+        assertThat(name, is(equalTo("Postman Essentials Workspace")));
+    }
+
+    @Test
+    public void testMaxResults() throws IOException {
+        List<Object> types = StreamingJsonPath.compile("workspaces[*].type").read(inputStream(workspaces), 2);
+
+        assertThat(types, contains("personal", "team"));
+    }
+
+    @Test
+    public void testObjectsAndArraysAreReturnedAsMapAndList() throws IOException {
+        Map<String, Object> workspace = StreamingJsonPath.compile("workspaces[2]").readFirst(inputStream(workspaces));
+        List<Object> tags = StreamingJsonPath.compile("workspaces[2].tags").readFirst(inputStream(workspaces));
+
+        assertThat(workspace, hasEntry("id", "ab0c21f4"));
+        assertThat(tags, contains("a", "b"));
+    }
+
+    @Test
+    public void testNoMatch() throws IOException {
+        assertThat(StreamingJsonPath.compile("workspaces[10].name").readFirst(inputStream(workspaces)), is(nullValue()));
+        assertThat(StreamingJsonPath.compile("workspace.name").read(inputStream(workspaces)), is(empty()));
+    }
+
+    /**
+     * Everything after the requested values is never read, so in this case the invalid JSON is not noticed.
+     */
+    @Test
+    public void testStopsReadingAfterLastPossibleMatch() throws IOException {
+        String json = "{\"workspaces\": [{\"name\": \"first\"}, {\"name\": \"second\"}], \"rest\": [ this is not json";
+
+        assertThat(StreamingJsonPath.compile("workspaces[*].name").read(inputStream(json)), contains("first", "second"));
+        assertThat(StreamingJsonPath.compile("workspaces[0].name").read(inputStream(json)), contains("first"));
+    }
+
+    @Test
+    public void testNestedWildcards() throws IOException {
+        String json = "{\"collection\": {\"items\": [" +
+                "{\"items\": [{\"name\": \"a\"}, {\"name\": \"b\"}]}, " +
+                "{\"name\": \"no items\"}, " +
+                "{\"items\": [{\"name\": \"c\"}]}]}}";
+
+        assertThat(StreamingJsonPath.compile("collection.items[*].items[*].name").read(inputStream(json)),
+                contains("a", "b", "c"));
+        assertThat(StreamingJsonPath.compile("collection.items[*].items[0].name").read(inputStream(json)),
+                contains("a", "c"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidPath() {
+        StreamingJsonPath.compile("workspaces[x].name");
+    }
+
+    private InputStream inputStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
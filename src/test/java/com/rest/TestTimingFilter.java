@@ -0,0 +1,125 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.PooledHttpClients;
+import com.rest.utilities.TimingFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.TimingFilter against the embedded echo server.
+ * TLS is not measured here: the embedded server only supports http.
+ */
+@Slf4j
+public class TestTimingFilter {
+
+    private EmbeddedEchoServer server;
+    private PooledHttpClients pooledHttpClients;
+
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+        pooledHttpClients = new PooledHttpClients();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        pooledHttpClients.close();
+        server.close();
+    }
+
+    @Test
+    public void testPhasesArePerEndpointTemplate() {
+        TimingFilter timingFilter = new TimingFilter();
+        RequestSpecification requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .setConfig(RestAssuredConfig.config().httpClient(pooledHttpClients.httpClientConfig()))
+                .addFilter(timingFilter)
+                .build();
+
+        for (int i = 0; i < 5; i++) {
+            given(requestSpecification).queryParam("i", i).get("/{method}", "get").then().statusCode(200);
+        }
+        given(requestSpecification).body("{}").post("/post").then().statusCode(200);
+
+        assertThat(timingFilter.getEndpoints(), contains("GET /{method}", "POST /post"));
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.TOTAL).getTotalCount(), is(equalTo(5L)));
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.TTFB).getTotalCount(), is(equalTo(5L)));
+        // Only the first request opens a connection; the others reuse it.
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.CONNECT).getTotalCount(), is(equalTo(1L)));
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.DNS).getTotalCount(), is(equalTo(1L)));
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.TLS).getTotalCount(), is(equalTo(0L)));
+        assertThat(timingFilter.histogram("POST /post", TimingFilter.Phase.CONNECT).getTotalCount(), is(equalTo(0L)));
+        assertThat(timingFilter.histogram("GET /{method}", TimingFilter.Phase.TTFB).getMaxValue()
+                , is(lessThanOrEqualTo(timingFilter.histogram("GET /{method}", TimingFilter.Phase.TOTAL).getMaxValue())));
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        timingFilter.writeReport(new PrintStream(report, true));
+        String text = new String(report.toByteArray(), StandardCharsets.UTF_8);
+        log.info("\n{}", text);
+        assertThat(text, containsString("GET /{method}"));
+        assertThat(text, containsString("TTFB"));
+    }
+
+    @Test
+    public void testBasePathAndFullUrl() {
+        TimingFilter timingFilter = new TimingFilter();
+
+        given().baseUri(server.baseUri()).basePath("/get").filter(timingFilter).get().then().statusCode(200);
+        given().filter(timingFilter).get(server.baseUri() + "/get?foo1=bar1").then().statusCode(200);
+
+        assertThat(timingFilter.getEndpoints(), contains("GET /get"));
+        // The default HttpClient of RestAssured is not instrumented: only the total time is measured.
+        assertThat(timingFilter.histogram("GET /get", TimingFilter.Phase.TOTAL).getTotalCount(), is(equalTo(2L)));
+        assertThat(timingFilter.histogram("GET /get", TimingFilter.Phase.TTFB).getTotalCount(), is(equalTo(0L)));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRequiredPhasesFailWithoutPooledClient() {
+        TimingFilter timingFilter = new TimingFilter(true);
+
+        given().baseUri(server.baseUri()).filter(timingFilter).get("/get");
+    }
+
+    @Test
+    public void testRequiredPhasesWithPooledClient() {
+        TimingFilter timingFilter = new TimingFilter(true);
+
+        given().baseUri(server.baseUri())
+                .config(RestAssuredConfig.config().httpClient(pooledHttpClients.httpClientConfig()))
+                .filter(timingFilter)
+                .get("/get")
+                .then().statusCode(200);
+
+        assertThat(timingFilter.histogram("GET /get", TimingFilter.Phase.TTFB).getTotalCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testFailedRequestIsCounted() {
+        TimingFilter timingFilter = new TimingFilter();
+
+        try {
+            given().filter(timingFilter).get("http://localhost:1/workspaces");
+        } catch (Exception e) {
+            log.info("Expected failure: {}", e.toString());
+        }
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        timingFilter.writeReport(new PrintStream(report, true));
+        assertThat(new String(report.toByteArray(), StandardCharsets.UTF_8), containsString("ERRORS"));
+    }
+}
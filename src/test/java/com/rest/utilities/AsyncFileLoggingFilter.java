@@ -0,0 +1,424 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rest.serialization.EntityMappers;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs requests and responses to a file without blocking the test thread.
+ * <p>
+ * RequestLoggingFilter / ResponseLoggingFilter with a PrintStream (see TestSection23RestAssuredFilters2)
+ * pretty-print and write to the file on the test thread, so the logging is part of the measured time of every request.
+ * This filter only copies the parts of the request and response that should be logged into a record
+ * and puts the record in a bounded lock-free ring buffer.
+ * A background thread takes the records from the buffer in batches, formats them and writes them to a FileChannel.
+ * <p>
+ * If the buffer is full the record is dropped instead of blocking the test thread; see getDroppedRecords().
+ * A request that fails with an exception (e.g. connection refused) is logged with the exception instead of the response.
+ * The writer thread parks while the buffer is empty, and is unparked by the next record.
+ * Headers on the blacklist are logged as "[ BLACKLISTED ]", like LogConfig.blacklistHeader().
+ * <p>
+ * Usage:
+ * <pre>
+ *     AsyncFileLoggingFilter loggingFilter = new AsyncFileLoggingFilter(Paths.get("restAssured.log"), LogDetail.ALL);
+ *     requestSpecBuilder.addFilter(loggingFilter);
+ *     ...
+ *     loggingFilter.close(); // e.g. in @AfterClass: writes the remaining records.
+ * </pre>
+ */
+@Slf4j
+public class AsyncFileLoggingFilter implements Filter, Closeable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final String BLACKLISTED = "[ BLACKLISTED ]";
+
+    private static final int BATCH_SIZE = 256;
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final LogDetail logDetail;
+    private final Set<String> blacklistedHeaders;
+    private final RingBuffer ringBuffer;
+    private final FileChannel fileChannel;
+    private final Thread writerThread;
+    private final LongAdder droppedRecords = new LongAdder();
+    private final LongAdder writtenRecords = new LongAdder();
+
+    /**
+     * False after close(): no records are accepted anymore.
+     */
+    private volatile boolean running = true;
+    /**
+     * The number of filter() calls that are offering a record; close() waits until they are done.
+     */
+    private final AtomicInteger offering = new AtomicInteger();
+    /**
+     * True when no record can be offered anymore: the writer thread stops when the buffer is empty.
+     */
+    private volatile boolean stopped;
+    private final AtomicBoolean writerParked = new AtomicBoolean();
+
+    public AsyncFileLoggingFilter(Path logFile, LogDetail logDetail) throws IOException {
+        this(logFile, logDetail, DEFAULT_CAPACITY, Collections.emptySet());
+    }
+
+    /**
+     * @param logFile            the file to log to. The file is truncated.
+     * @param logDetail          what should be logged of the request and the response.
+     * @param capacity           the maximum number of records that wait to be written.
+     * @param blacklistedHeaders headers of which the value should not be logged, case-insensitive.
+     * @throws IOException
+     */
+    public AsyncFileLoggingFilter(Path logFile, LogDetail logDetail, int capacity, Collection<String> blacklistedHeaders) throws IOException {
+        if (logDetail == null) {
+            throw new IllegalArgumentException("logDetail should not be null");
+        }
+        this.logDetail = logDetail;
+        this.blacklistedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.blacklistedHeaders.addAll(blacklistedHeaders);
+        this.ringBuffer = new RingBuffer(capacity);
+        this.fileChannel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        this.writerThread = new Thread(this::writeLoop, "async-logging-filter-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        LogRecord logRecord = new LogRecord();
+        logRecord.method = requestSpec.getMethod();
+        logRecord.uri = requestSpec.getURI();
+        logRecord.requestHeaders = requestSpec.getHeaders();
+        logRecord.requestCookies = requestSpec.getCookies();
+        logRecord.requestParams = requestSpec.getRequestParams();
+        logRecord.queryParams = requestSpec.getQueryParams();
+        logRecord.formParams = requestSpec.getFormParams();
+        logRecord.requestBody = requestSpec.getBody();
+
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) {
+            // RestAssured also throws checked exceptions, e.g. ConnectException, without declaring them.
+            logRecord.failure = e.toString();
+            enqueue(logRecord);
+            throw e;
+        }
+
+        logRecord.statusLine = response.getStatusLine();
+        logRecord.responseHeaders = response.getHeaders();
+        logRecord.responseCookies = response.getDetailedCookies();
+        if (shouldLog(LogDetail.BODY)) {
+            // RestAssured keeps the body after it has been read, so the response can still be used by the test.
+            logRecord.responseBody = response.asString();
+        }
+        enqueue(logRecord);
+        return response;
+    }
+
+    private void enqueue(LogRecord logRecord) {
+        // running is read after offering has been incremented: either close() waits for this offer,
+        // or this call sees that the filter has been closed. A record is never offered after the writer has stopped.
+        offering.incrementAndGet();
+        try {
+            if (!running || !ringBuffer.offer(logRecord)) {
+                droppedRecords.increment();
+                return;
+            }
+        } finally {
+            offering.decrementAndGet();
+        }
+        if (writerParked.get() && writerParked.compareAndSet(true, false)) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * @return the number of records that were not logged because the buffer was full or the filter was closed.
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    public long getWrittenRecords() {
+        return writtenRecords.sum();
+    }
+
+    /**
+     * Stops the writer thread after it has written the records that are still in the buffer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        while (offering.get() > 0) {
+            Thread.yield();
+        }
+        stopped = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fileChannel.force(false);
+        fileChannel.close();
+    }
+
+    private void writeLoop() {
+        StringBuilder batch = new StringBuilder(16 * 1024);
+        while (true) {
+            // Read the flag before draining: records offered before close() are always written.
+            boolean stopping = stopped;
+            int count = 0;
+            LogRecord logRecord;
+            while (count < BATCH_SIZE && (logRecord = ringBuffer.poll()) != null) {
+                format(logRecord, batch);
+                count++;
+            }
+            if (count > 0) {
+                write(batch);
+                writtenRecords.add(count);
+                batch.setLength(0);
+            } else if (stopping) {
+                return;
+            } else {
+                writerParked.set(true);
+                // A record that has been offered before writerParked was set is found here;
+                // a later one unparks this thread.
+                if (ringBuffer.isEmpty() && !stopped) {
+                    LockSupport.park(this);
+                }
+                writerParked.set(false);
+            }
+        }
+    }
+
+    private void write(StringBuilder batch) {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (byteBuffer.hasRemaining()) {
+                fileChannel.write(byteBuffer);
+            }
+        } catch (IOException e) {
+            log.error("Writing the request logging failed", e);
+        }
+    }
+
+    private boolean shouldLog(LogDetail detail) {
+        return logDetail == LogDetail.ALL || logDetail == detail;
+    }
+
+    private void format(LogRecord logRecord, StringBuilder out) {
+        if (shouldLog(LogDetail.METHOD)) {
+            out.append("Request method:\t").append(logRecord.method).append(NEW_LINE);
+        }
+        if (shouldLog(LogDetail.URI)) {
+            out.append("Request URI:\t").append(logRecord.uri).append(NEW_LINE);
+        }
+        if (shouldLog(LogDetail.PARAMS)) {
+            appendParams(out, "Request params:", logRecord.requestParams);
+            appendParams(out, "Query params:", logRecord.queryParams);
+            appendParams(out, "Form params:", logRecord.formParams);
+        }
+        if (shouldLog(LogDetail.HEADERS)) {
+            appendHeaders(out, "Headers:", logRecord.requestHeaders);
+        }
+        if (shouldLog(LogDetail.COOKIES)) {
+            appendCookies(out, "Cookies:", logRecord.requestCookies);
+        }
+        if (shouldLog(LogDetail.BODY)) {
+            out.append("Body:").append(NEW_LINE);
+            out.append(prettify(logRecord.requestBody)).append(NEW_LINE);
+        }
+        if (logRecord.failure != null) {
+            out.append("Request failed:\t").append(logRecord.failure).append(NEW_LINE).append(NEW_LINE);
+            return;
+        }
+        if (shouldLog(LogDetail.STATUS)) {
+            out.append(logRecord.statusLine).append(NEW_LINE);
+        }
+        if (shouldLog(LogDetail.HEADERS)) {
+            appendHeaders(out, "Response headers:", logRecord.responseHeaders);
+        }
+        if (shouldLog(LogDetail.COOKIES)) {
+            appendCookies(out, "Response cookies:", logRecord.responseCookies);
+        }
+        if (shouldLog(LogDetail.BODY)) {
+            out.append(NEW_LINE).append(prettify(logRecord.responseBody)).append(NEW_LINE);
+        }
+        out.append(NEW_LINE);
+    }
+
+    private void appendHeaders(StringBuilder out, String title, Headers headers) {
+        out.append(title);
+        if (headers == null || !headers.exist()) {
+            out.append("\t\t<none>").append(NEW_LINE);
+            return;
+        }
+        boolean first = true;
+        for (Header header : headers) {
+            out.append(first ? "\t\t" : "\t\t\t\t");
+            String value = blacklistedHeaders.contains(header.getName()) ? BLACKLISTED : header.getValue();
+            out.append(header.getName()).append('=').append(value).append(NEW_LINE);
+            first = false;
+        }
+    }
+
+    private void appendCookies(StringBuilder out, String title, Cookies cookies) {
+        out.append(title);
+        if (cookies == null || !cookies.exist()) {
+            out.append("\t\t<none>").append(NEW_LINE);
+            return;
+        }
+        out.append("\t\t").append(cookies.toString().replace("\n", NEW_LINE + "\t\t\t\t")).append(NEW_LINE);
+    }
+
+    private void appendParams(StringBuilder out, String title, Map<String, ?> params) {
+        out.append(title);
+        if (params == null || params.isEmpty()) {
+            out.append("\t<none>").append(NEW_LINE);
+            return;
+        }
+        boolean first = true;
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            out.append(first ? "\t" : "\t\t\t\t").append(param.getKey()).append('=').append(param.getValue()).append(NEW_LINE);
+            first = false;
+        }
+    }
+
+    /**
+     * JSON is pretty-printed, other content is logged as is.
+     */
+    private static String prettify(Object body) {
+        if (body == null) {
+            return "<none>";
+        }
+        String text = body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString();
+        String trimmed = text.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                JsonNode jsonNode = EntityMappers.objectMapper().readTree(trimmed);
+                return EntityMappers.objectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(jsonNode);
+            } catch (IOException e) {
+                return text;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * The parts of a request and its response that are logged.
+     */
+    private static class LogRecord {
+        String method;
+        String uri;
+        Headers requestHeaders;
+        Cookies requestCookies;
+        Map<String, ?> requestParams;
+        Map<String, ?> queryParams;
+        Map<String, ?> formParams;
+        Object requestBody;
+        String statusLine;
+        Headers responseHeaders;
+        Cookies responseCookies;
+        String responseBody;
+        String failure;
+    }
+
+    /**
+     * Bounded multi-producer / single-consumer queue on an array.
+     * Producers claim a slot with a CAS on head and then publish the record in the slot;
+     * the consumer takes records in order and frees the slot by moving tail.
+     */
+    private static class RingBuffer {
+        private final int capacity;
+        private final AtomicReferenceArray<LogRecord> slots;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        RingBuffer(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity should be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        boolean offer(LogRecord logRecord) {
+            while (true) {
+                long currentHead = head.get();
+                if (currentHead - tail.get() >= capacity) {
+                    return false;
+                }
+                if (head.compareAndSet(currentHead, currentHead + 1)) {
+                    slots.set(index(currentHead), logRecord);
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Only called by the writer thread.
+         *
+         * @return the next record, or null if there is none (yet).
+         */
+        LogRecord poll() {
+            long currentTail = tail.get();
+            int index = index(currentTail);
+            LogRecord logRecord = slots.get(index);
+            if (logRecord == null) {
+                return null;
+            }
+            slots.set(index, null);
+            tail.lazySet(currentTail + 1);
+            return logRecord;
+        }
+
+        /**
+         * Only called by the writer thread.
+         *
+         * @return true if there is no published record to poll.
+         */
+        boolean isEmpty() {
+            return slots.get(index(tail.get())) == null;
+        }
+
+        private int index(long sequence) {
+            return (int) (sequence % capacity);
+        }
+    }
+}
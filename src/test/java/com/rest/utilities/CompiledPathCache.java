@@ -0,0 +1,218 @@
+package com.rest.utilities;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import io.restassured.internal.path.json.ConfigurableJsonSlurper;
+import io.restassured.path.json.config.JsonPathConfig;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of compiled GPath expressions, keyed by the path string.
+ * <p>
+ * For every body("workspace.name", matcher) RestAssured turns the path into a Groovy script and compiles it again.
+ * This class compiles the script for a path once and keeps the compiled class;
+ * evaluating the path afterwards only creates a new script instance.
+ * The cache is bounded: the least recently used path is evicted when the maximum size is reached.
+ * Every path is compiled by its own GroovyClassLoader, so the class of an evicted path can be garbage collected.
+ * <p>
+ * compiledPaths(...) parses the body the same way as RestAssured with its default JsonPathConfig:
+ * decimal numbers are Float or Double (NumberReturnType.FLOAT_AND_DOUBLE), not the BigDecimal of a plain JsonSlurper.
+ * <p>
+ * Usage: body(Matcher) applies the matcher to the response body, which is parsed once for all given paths.
+ * <pre>
+ *     .then()
+ *     .assertThat()
+ *     .body(compiledPaths("workspace.name", is(equalTo("MyFifthWorkspace"))
+ *             , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")));
+ * </pre>
+ */
+public class CompiledPathCache {
+
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final String ROOT_OBJECT = "restAssuredJsonRootObject";
+
+    private static final CompiledPathCache SHARED = new CompiledPathCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final Map<String, Class<? extends Script>> compiledPaths;
+    private final AtomicInteger scriptCounter = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CompiledPathCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        // Access order: the eldest entry is the least recently used one.
+        this.compiledPaths = new LinkedHashMap<String, Class<? extends Script>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Class<? extends Script>> eldest) {
+                if (size() > CompiledPathCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cache that is used by compiledPaths(...).
+     */
+    public static CompiledPathCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Hamcrest matcher for ValidatableResponse.body(Matcher): parses the JSON body once
+     * and evaluates every path with the compiled expressions of the shared cache.
+     *
+     * @param path                       e.g. "workspace.name".
+     * @param matcher                    the matcher for the value of the path.
+     * @param additionalKeyMatcherPairs  more path / matcher pairs, like in body(path, matcher, additionalKeyMatcherPairs).
+     * @return
+     */
+    public static Matcher<String> compiledPaths(String path, Matcher<?> matcher, Object... additionalKeyMatcherPairs) {
+        if (additionalKeyMatcherPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("additionalKeyMatcherPairs should contain path / matcher pairs");
+        }
+        List<String> paths = new ArrayList<>();
+        List<Matcher<?>> matchers = new ArrayList<>();
+        paths.add(path);
+        matchers.add(matcher);
+        for (int i = 0; i < additionalKeyMatcherPairs.length; i += 2) {
+            paths.add((String) additionalKeyMatcherPairs[i]);
+            matchers.add((Matcher<?>) additionalKeyMatcherPairs[i + 1]);
+        }
+        return new CompiledPathsMatcher(SHARED, paths, matchers);
+    }
+
+    /**
+     * Evaluates a GPath expression on a parsed JSON document (e.g. the result of JsonSlurper).
+     *
+     * @param path the GPath expression, e.g. "workspaces.size()".
+     * @param root the root object of the document.
+     * @return the value of the expression.
+     */
+    public Object evaluate(String path, Object root) {
+        if (path == null || path.isEmpty() || "$".equals(path)) {
+            return root;
+        }
+        Binding binding = new Binding();
+        binding.setVariable(ROOT_OBJECT, root);
+        Script script = InvokerHelper.createScript(compiledScript(path), binding);
+        return script.run();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public synchronized int size() {
+        return compiledPaths.size();
+    }
+
+    public synchronized void clear() {
+        compiledPaths.clear();
+    }
+
+    private Class<? extends Script> compiledScript(String path) {
+        Class<? extends Script> scriptClass;
+        synchronized (this) {
+            scriptClass = compiledPaths.get(path);
+        }
+        if (scriptClass != null) {
+            hits.incrementAndGet();
+            return scriptClass;
+        }
+        misses.incrementAndGet();
+
+        // Compile outside of the lock; if two threads compile the same path the last one wins, which is harmless.
+        scriptClass = compile(path);
+        synchronized (this) {
+            compiledPaths.put(path, scriptClass);
+        }
+        return scriptClass;
+    }
+
+    /**
+     * The same script as RestAssured creates for a path:
+     * the path is appended to the root object, unless it starts with an index, e.g. "[0].name".
+     * A GroovyClassLoader keeps every class that it has parsed, so each path gets a new one:
+     * the loader is only referenced by the compiled class and is collected together with it after eviction.
+     */
+    @SuppressWarnings("unchecked")
+    private Class<? extends Script> compile(String path) {
+        String separator = path.matches("^\\[\\d+\\].*") ? "" : ".";
+        String scriptText = ROOT_OBJECT + separator + path;
+        String fileName = "CompiledPath" + scriptCounter.incrementAndGet() + ".groovy";
+        GroovyClassLoader groovyClassLoader = new GroovyClassLoader(CompiledPathCache.class.getClassLoader());
+        return (Class<? extends Script>) groovyClassLoader.parseClass(scriptText, fileName);
+    }
+
+    private static class CompiledPathsMatcher extends TypeSafeDiagnosingMatcher<String> {
+
+        private final CompiledPathCache cache;
+        private final List<String> paths;
+        private final List<Matcher<?>> matchers;
+
+        CompiledPathsMatcher(CompiledPathCache cache, List<String> paths, List<Matcher<?>> matchers) {
+            this.cache = cache;
+            this.paths = paths;
+            this.matchers = matchers;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body, Description mismatchDescription) {
+            Object root = new ConfigurableJsonSlurper(JsonPathConfig.jsonPathConfig().numberReturnType()).parseText(body);
+            boolean matches = true;
+            for (int i = 0; i < paths.size(); i++) {
+                Object value = cache.evaluate(paths.get(i), root);
+                Matcher<?> matcher = matchers.get(i);
+                if (!matcher.matches(value)) {
+                    if (!matches) {
+                        mismatchDescription.appendText(", ");
+                    }
+                    mismatchDescription.appendText("JSON path ").appendText(paths.get(i)).appendText(" ");
+                    matcher.describeMismatch(value, mismatchDescription);
+                    matches = false;
+                }
+            }
+            return matches;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            for (int i = 0; i < paths.size(); i++) {
+                if (i > 0) {
+                    description.appendText(", ");
+                }
+                description.appendText("JSON path ").appendText(paths.get(i)).appendText(" ")
+                        .appendDescriptionOf(matchers.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rest.serialization.EntityMappers;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process HTTP server that replaces http://postman-echo.com and the Postman mock server (*.mock.pstmn.io).
+ * It is built on the HTTP server of the JDK (com.sun.net.httpserver), which handles the connections with
+ * a NIO selector. The handlers run on a fixed pool of daemon threads.
+ * <p>
+ * Echo:
+ * /get, /post, /put, /patch and /delete return the request as JSON, the same way as postman-echo.com does:
+ * <pre>
+ *     { "args": {...}, "data": ..., "form": {...}, "json": ..., "headers": {...}, "url": "..." }
+ * </pre>
+ * Mock:
+ * A Stub is the equivalent of an example that has been saved in a Postman mock collection.
+ * A request is answered by the first stub with the same method and path, where
+ * <ul>
+ *     <li>header "x-mock-match-request-body: true": the request body should be equal (as JSON) to the body of the stub;</li>
+ *     <li>header "x-mock-match-request-headers: header1,header2": the values of these headers should be equal to those of the stub.</li>
+ * </ul>
+ * If no stub matches, the response is 404 with a mockRequestNotFoundError, as the Postman mock server does.
+ * Stubs have priority over the echo endpoints.
+ * <p>
+ * Usage:
+ * <pre>
+ *     EmbeddedEchoServer server = EmbeddedEchoServer.shared();
+ *     server.addStub(EmbeddedEchoServer.stub("POST", "/postComplexJson")
+ *             .requestBody("{\"id\": \"0001\"}")
+ *             .responseBody("{\"message\": \"Success\"}"));
+ *     baseURI = server.baseUri();
+ * </pre>
+ */
+@Slf4j
+public class EmbeddedEchoServer implements Closeable {
+
+    public static final String MATCH_REQUEST_BODY = "x-mock-match-request-body";
+    public static final String MATCH_REQUEST_HEADERS = "x-mock-match-request-headers";
+    public static final int DEFAULT_THREADS = 16;
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private static final Map<String, String> ECHO_PATHS = new HashMap<>();
+
+    static {
+        ECHO_PATHS.put("/get", "GET");
+        ECHO_PATHS.put("/post", "POST");
+        ECHO_PATHS.put("/put", "PUT");
+        ECHO_PATHS.put("/patch", "PATCH");
+        ECHO_PATHS.put("/delete", "DELETE");
+    }
+
+    private static EmbeddedEchoServer sharedServer;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final List<Stub> stubs = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = EntityMappers.objectMapper();
+
+    /**
+     * Starts a server on a free port of the loopback address.
+     *
+     * @param threads the number of threads that handle the requests.
+     * @throws IOException
+     */
+    public EmbeddedEchoServer(int threads) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "embedded-echo-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/", this::handle);
+        startOnDaemonThread();
+        log.info("Embedded echo server started on {}", baseUri());
+    }
+
+    public EmbeddedEchoServer() throws IOException {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * @return a server that is shared by all tests in this JVM and is stopped when the JVM stops.
+     * @throws IOException
+     */
+    public static synchronized EmbeddedEchoServer shared() throws IOException {
+        if (sharedServer == null) {
+            sharedServer = new EmbeddedEchoServer();
+        }
+        return sharedServer;
+    }
+
+    public static Stub stub(String method, String path) {
+        return new Stub(method, path);
+    }
+
+    /**
+     * @return e.g. http://localhost:54321
+     */
+    public String baseUri() {
+        return "http://localhost:" + port();
+    }
+
+    public int port() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public EmbeddedEchoServer addStub(Stub stub) {
+        stubs.add(stub);
+        return this;
+    }
+
+    public void removeStubs() {
+        stubs.clear();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    /**
+     * The dispatcher thread of the JDK server inherits the daemon status of the thread that starts the server.
+     * Starting it from a daemon thread makes sure that a server that has not been closed does not keep the JVM alive.
+     */
+    private void startOnDaemonThread() throws IOException {
+        Thread starter = new Thread(httpServer::start, "embedded-echo-server-starter");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the embedded echo server", e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            String path = exchange.getRequestURI().getPath();
+            byte[] requestBody = IOUtils.toByteArray(exchange.getRequestBody());
+
+            boolean pathHasStubs = false;
+            for (Stub stub : stubs) {
+                if (stub.path.equals(path)) {
+                    pathHasStubs = true;
+                    if (stub.method.equals(method) && stub.matches(exchange.getRequestHeaders(), requestBody, objectMapper)) {
+                        respond(exchange, stub.status, stub.responseHeaders, stub.responseBody);
+                        return;
+                    }
+                }
+            }
+
+            if (!pathHasStubs && method.equals(ECHO_PATHS.get(path))) {
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                headers.put("Content-Type", singletonList(JSON_CONTENT_TYPE));
+                respond(exchange, 200, headers, echo(exchange, requestBody));
+                return;
+            }
+
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            headers.put("Content-Type", singletonList(JSON_CONTENT_TYPE));
+            respond(exchange, 404, headers, ("{\"error\":{\"name\":\"mockRequestNotFoundError\""
+                    + ",\"message\":\"Double check your method and the request path and try again.\""
+                    + ",\"header\":\"No matching requests\"}}").getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.error("Embedded echo server failed on {}", exchange.getRequestURI(), e);
+            respond(exchange, 500, new LinkedHashMap<>(), new byte[0]);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body) throws IOException {
+        Headers responseHeaders = exchange.getResponseHeaders();
+        headers.forEach((name, values) -> responseHeaders.put(name, new ArrayList<>(values)));
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+
+    /**
+     * Builds the response of postman-echo.com.
+     */
+    private byte[] echo(HttpExchange exchange, byte[] requestBody) throws IOException {
+        Headers requestHeaders = exchange.getRequestHeaders();
+        ObjectNode echo = objectMapper.createObjectNode();
+
+        ObjectNode args = echo.putObject("args");
+        parseUrlEncoded(exchange.getRequestURI().getRawQuery()).forEach(args::put);
+
+        if (!"GET".equals(exchange.getRequestMethod().toUpperCase(Locale.ROOT))) {
+            String contentType = String.valueOf(requestHeaders.getFirst("Content-Type")).toLowerCase(Locale.ROOT);
+            String data = new String(requestBody, StandardCharsets.UTF_8);
+            ObjectNode form = objectMapper.createObjectNode();
+            JsonNode json = objectMapper.nullNode();
+            if (contentType.startsWith("application/x-www-form-urlencoded")) {
+                parseUrlEncoded(data).forEach(form::put);
+                json = form;
+                echo.put("data", "");
+            } else if (contentType.contains("json") && !data.isEmpty()) {
+                json = objectMapper.readTree(requestBody);
+                echo.set("data", json);
+            } else {
+                echo.put("data", data);
+            }
+            echo.putObject("files");
+            echo.set("form", form);
+            echo.set("json", json);
+        }
+
+        ObjectNode headers = echo.putObject("headers");
+        headers.put("x-forwarded-proto", "http");
+        headers.put("x-forwarded-port", String.valueOf(port()));
+        headers.put("host", "localhost:" + port());
+        headers.put("x-amzn-trace-id", "Root=" + UUID.randomUUID());
+        requestHeaders.forEach((name, values) -> headers.put(name.toLowerCase(Locale.ROOT), String.join(", ", values)));
+
+        echo.put("url", baseUri() + exchange.getRequestURI());
+
+        return objectMapper.writeValueAsBytes(echo);
+    }
+
+    private static Map<String, String> parseUrlEncoded(String encoded) throws UnsupportedEncodingException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            int index = pair.indexOf('=');
+            String name = URLDecoder.decode(index < 0 ? pair : pair.substring(0, index), "UTF-8");
+            String value = index < 0 ? "" : URLDecoder.decode(pair.substring(index + 1), "UTF-8");
+            parameters.merge(name, value, (first, second) -> first + "," + second);
+        }
+        return parameters;
+    }
+
+    private static List<String> singletonList(String value) {
+        List<String> list = new ArrayList<>();
+        list.add(value);
+        return list;
+    }
+
+    /**
+     * An example request with its response, see the class documentation.
+     */
+    public static class Stub {
+        private final String method;
+        private final String path;
+        private final Map<String, String> requestHeaders = new HashMap<>();
+        private String requestBody;
+        private int status = 200;
+        private final Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+        private byte[] responseBody = new byte[0];
+        private boolean defaultContentType = true;
+
+        private Stub(String method, String path) {
+            this.method = method.toUpperCase(Locale.ROOT);
+            this.path = path;
+            responseHeaders.put("Content-Type", singletonList(JSON_CONTENT_TYPE));
+        }
+
+        /**
+         * A header of the example request; only used if the request contains x-mock-match-request-headers.
+         */
+        public Stub requestHeader(String name, String value) {
+            requestHeaders.put(name.toLowerCase(Locale.ROOT), value);
+            return this;
+        }
+
+        /**
+         * The body of the example request; only used if the request contains x-mock-match-request-body: true.
+         */
+        public Stub requestBody(String requestBody) {
+            this.requestBody = requestBody;
+            return this;
+        }
+
+        public Stub status(int status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * Adds a value to a response header. Calling this method twice with the same name gives a multi value header.
+         * The default Content-Type is replaced by the first call with name Content-Type.
+         */
+        public Stub responseHeader(String name, String value) {
+            if (defaultContentType && name.equalsIgnoreCase("Content-Type")) {
+                responseHeaders.remove("Content-Type");
+                defaultContentType = false;
+            }
+            responseHeaders.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            return this;
+        }
+
+        public Stub responseBody(String responseBody) {
+            this.responseBody = responseBody.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        private boolean matches(Headers headers, byte[] body, ObjectMapper objectMapper) {
+            if ("true".equalsIgnoreCase(headers.getFirst(MATCH_REQUEST_BODY)) && !bodyMatches(body, objectMapper)) {
+                return false;
+            }
+            String matchHeaders = headers.getFirst(MATCH_REQUEST_HEADERS);
+            if (matchHeaders != null) {
+                for (String name : Arrays.asList(matchHeaders.split(","))) {
+                    String expected = requestHeaders.get(name.trim().toLowerCase(Locale.ROOT));
+                    if (expected == null || !expected.equals(headers.getFirst(name.trim()))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean bodyMatches(byte[] body, ObjectMapper objectMapper) {
+            if (requestBody == null) {
+                return body.length == 0;
+            }
+            try {
+                return objectMapper.readTree(requestBody).equals(objectMapper.readTree(body));
+            } catch (JsonProcessingException e) {
+                return requestBody.equals(new String(body, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
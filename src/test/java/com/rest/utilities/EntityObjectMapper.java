@@ -0,0 +1,65 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rest.serialization.EntityFormat;
+import com.rest.serialization.EntityMappers;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestAssured ObjectMapper that (de-)serializes bodies in the EntityFormat of the Content-Type:
+ * application/x-jackson-smile and application/cbor with the binary ObjectMappers of EntityMappers,
+ * other content types with the shared JSON ObjectMapper.
+ * <p>
+ * RestAssured expects a String from the default ObjectMapper of an ObjectMapperConfig,
+ * so a binary body is returned as a String with one ISO-8859-1 character per byte.
+ * RestAssuredConfigs.entityFormatConfig() encodes these content types as ISO-8859-1 text,
+ * which sends exactly the original bytes.
+ */
+public class EntityObjectMapper implements ObjectMapper {
+
+    private static final EntityObjectMapper INSTANCE = new EntityObjectMapper();
+
+    public static EntityObjectMapper instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        EntityFormat format = EntityFormat.fromContentType(context.getContentType());
+        Object value = context.getObjectToSerialize();
+        try {
+            if (format.isBinary()) {
+                byte[] body = EntityMappers.writer(format, value.getClass()).writeValueAsBytes(value);
+                return new String(body, StandardCharsets.ISO_8859_1);
+            }
+            return EntityMappers.writer(format, value.getClass()).writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not serialize " + value.getClass().getName() + " as " + format, e);
+        }
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        EntityFormat format = EntityFormat.fromContentType(context.getContentType());
+        Type type = context.getType();
+        ObjectReader reader = type instanceof Class
+                ? EntityMappers.reader(format, (Class<?>) type)
+                : EntityMappers.objectMapper(format).readerFor(EntityMappers.objectMapper(format).constructType(type));
+        try {
+            if (format.isBinary()) {
+                return reader.readValue(context.getDataToDeserialize().asByteArray());
+            }
+            // The String is decoded with the charset of the response.
+            return reader.readValue(context.getDataToDeserialize().asString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not deserialize " + format + " to " + type.getTypeName(), e);
+        }
+    }
+}
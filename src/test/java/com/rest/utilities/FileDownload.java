@@ -0,0 +1,140 @@
+package com.rest.utilities;
+
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Downloads a response body to a file without holding the body in memory.
+ * <p>
+ * response().asByteArray() reads the complete file into the heap.
+ * This class streams the body with FileChannel.transferFrom() to the file in chunks of bufferSize bytes,
+ * and calculates the checksum of the content while it is being written.
+ * <p>
+ * Note: the body of the response should not have been read before, e.g. by .log().all() or .log().body():
+ * RestAssured then already holds the complete body in memory.
+ * <pre>
+ *     InputStream inputStream = given()
+ *             .when()
+ *             .get()
+ *             .then()
+ *             .log().status()
+ *             .extract()
+ *             .response().asInputStream();
+ *     FileDownload.DownloadResult result = FileDownload.download(inputStream, Paths.get("ApiDemos-debug.apk"));
+ * </pre>
+ */
+public class FileDownload {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    public static final String DEFAULT_DIGEST_ALGORITHM = "SHA-256";
+
+    public static DownloadResult download(Response response, Path target) throws IOException {
+        return download(response.asInputStream(), target);
+    }
+
+    public static DownloadResult download(InputStream inputStream, Path target) throws IOException {
+        return download(inputStream, target, DEFAULT_BUFFER_SIZE, DEFAULT_DIGEST_ALGORITHM);
+    }
+
+    /**
+     * @param inputStream     the body; it is closed afterwards.
+     * @param target          the file to write to; an existing file is overwritten.
+     * @param bufferSize      the maximum number of bytes per transfer.
+     * @param digestAlgorithm e.g. "SHA-256" or "MD5".
+     * @return the size, checksum and duration of the download.
+     * @throws IOException
+     */
+    public static DownloadResult download(InputStream inputStream, Path target, int bufferSize, String digestAlgorithm) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize should be positive: " + bufferSize);
+        }
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unknown digest algorithm " + digestAlgorithm, e);
+        }
+
+        long start = System.nanoTime();
+        long position = 0;
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(inputStream, messageDigest));
+             FileChannel fileChannel = FileChannel.open(target,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long transferred;
+            // The source channel blocks until data is available, so 0 bytes transferred means the end of the stream.
+            while ((transferred = fileChannel.transferFrom(source, position, bufferSize)) > 0) {
+                position += transferred;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        return new DownloadResult(target, position, toHex(messageDigest.digest()), digestAlgorithm, nanos);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public static class DownloadResult {
+        private final Path path;
+        private final long bytes;
+        private final String checksum;
+        private final String digestAlgorithm;
+        private final long nanos;
+
+        DownloadResult(Path path, long bytes, String checksum, String digestAlgorithm, long nanos) {
+            this.path = path;
+            this.bytes = bytes;
+            this.checksum = checksum;
+            this.digestAlgorithm = digestAlgorithm;
+            this.nanos = nanos;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the checksum of the content as lower case hex string.
+         */
+        public String getChecksum() {
+            return checksum;
+        }
+
+        public String getDigestAlgorithm() {
+            return digestAlgorithm;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return nanos == 0 ? 0 : (bytes / (1024.0 * 1024.0)) / (nanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d bytes in %d ms (%.2f MB/s), %s %s",
+                    path, bytes, nanos / 1_000_000, getMegabytesPerSecond(), digestAlgorithm, checksum);
+        }
+    }
+}
@@ -4,11 +4,28 @@ import org.apache.commons.io.IOUtils;
 import org.testng.annotations.Test;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class FileReading {
 
     private static String HOME = System.getProperty("user.home");
 
+    /**
+     * Payload files larger than this are not cached; a payload is a request body, not a download.
+     */
+    public static final long MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The content of payload files, keyed by absolute path.
+     * An entry is only used as long as the last modified time and size of the file are unchanged.
+     */
+    private static final ConcurrentMap<Path, CachedPayload> PAYLOADS = new ConcurrentHashMap<>();
+
     public static File returnFile(String relativeFilePath) {
         return new File(relativeFilePath);
     }
@@ -21,6 +38,78 @@ public class FileReading {
         return data;
     }
 
+    /**
+     * Returns the content of a payload file (e.g. src/test/resources/createPostWorkspacePayload.json)
+     * as a read-only ByteBuffer, without decoding it to a String.
+     * <p>
+     * The file is read once and cached; the next calls only check the last modified time and size of the file.
+     * A changed file is read again.
+     * Each call returns its own read-only view, so the position of the buffer can be changed by the caller.
+     *
+     * @param relativeFilePath
+     * @return
+     * @throws IOException
+     */
+    public static ByteBuffer readPayload(String relativeFilePath) throws IOException {
+        return ByteBuffer.wrap(readPayloadBytes(relativeFilePath)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the content of a payload file as byte array, which can be used in given().body(byte[]).
+     * See readPayload().
+     * <p>
+     * The array is cached and returned to every caller without a copy, so it must not be modified.
+     * The file is read into the heap instead of being memory-mapped: a mapped file that is truncated
+     * while it is in use crashes the JVM (SIGBUS) instead of throwing an exception.
+     *
+     * @param relativeFilePath
+     * @return
+     * @throws IOException if the file cannot be read, or is larger than MAX_PAYLOAD_SIZE.
+     */
+    public static byte[] readPayloadBytes(String relativeFilePath) throws IOException {
+        Path path = Paths.get(relativeFilePath).toAbsolutePath().normalize();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+
+        CachedPayload payload = PAYLOADS.get(path);
+        if (payload == null || payload.lastModified != lastModified || payload.size != size) {
+            payload = new CachedPayload(read(path, size), lastModified, size);
+            PAYLOADS.put(path, payload);
+        }
+        return payload.bytes;
+    }
+
+    /**
+     * Removes all cached payload files.
+     */
+    public static void clearPayloadCache() {
+        PAYLOADS.clear();
+    }
+
+    private static byte[] read(Path path, long size) throws IOException {
+        if (size > MAX_PAYLOAD_SIZE) {
+            throw new IOException("Payload file " + path + " has " + size + " bytes, more than " + MAX_PAYLOAD_SIZE);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length != size) {
+            // The file has changed while it was read: the next call reads it again.
+            throw new IOException("Payload file " + path + " has changed while it was read");
+        }
+        return bytes;
+    }
+
+    private static class CachedPayload {
+        private final byte[] bytes;
+        private final long lastModified;
+        private final long size;
+
+        CachedPayload(byte[] bytes, long lastModified, long size) {
+            this.bytes = bytes;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
     /**
      * https://www.baeldung.com/reading-file-in-java
      * Helper method in order to read from an input stream.
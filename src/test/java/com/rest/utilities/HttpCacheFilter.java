@@ -0,0 +1,232 @@
+package com.rest.utilities;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A RestAssured filter that caches the responses of GET requests in memory.
+ * <p>
+ * A cached response is fresh for the max-age of its Cache-Control header, or for freshnessMillis
+ * if the server does not send a max-age. A fresh response is returned without a request.
+ * A stale response that has an ETag or Last-Modified header is revalidated with If-None-Match / If-Modified-Since:
+ * if the server answers 304 Not Modified the cached response is returned (and is fresh again).
+ * <p>
+ * Only 200 responses are cached, not when the server sends Cache-Control no-store.
+ * The key is the URI (including the query parameters) plus the request headers, e.g. X-Api-Key.
+ * The cache is bounded by the total size of the bodies: the least recently used responses are removed first.
+ * <p>
+ * Every response gets the header X-Cache: HIT (no request), REVALIDATED (304) or MISS.
+ * <p>
+ * The filter can be configured per RequestSpecification:
+ * <pre>
+ *     HttpCacheFilter cacheFilter = new HttpCacheFilter(10 * 1024 * 1024, 60_000);
+ *     new RequestSpecBuilder().addFilter(cacheFilter)
+ * </pre>
+ * or for all requests: RestAssured.filters(cacheFilter).
+ */
+@Slf4j
+public class HttpCacheFilter implements OrderedFilter {
+
+    public static final String X_CACHE = "X-Cache";
+    public static final String HIT = "HIT";
+    public static final String REVALIDATED = "REVALIDATED";
+    public static final String MISS = "MISS";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final long maxBytes;
+    private final long freshnessMillis;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes        the maximum total size of the cached bodies.
+     * @param freshnessMillis the time a response is used without revalidation if the server does not send a max-age;
+     *                        0 means that every use is revalidated.
+     */
+    public HttpCacheFilter(long maxBytes, long freshnessMillis) {
+        this.maxBytes = maxBytes;
+        this.freshnessMillis = freshnessMillis;
+    }
+
+    /**
+     * The cache should be executed after the other filters (e.g. logging), just before the request is sent,
+     * but before a RateLimitFilter: a response from the cache does not need to wait for the rate limit.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = key(requestSpec);
+        long now = System.currentTimeMillis();
+
+        CachedResponse cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.freshUntil > now) {
+            hits.increment();
+            return withCacheHeader(cached.response, HIT);
+        }
+
+        if (cached != null) {
+            if (cached.eTag != null) {
+                requestSpec.header("If-None-Match", cached.eTag);
+            }
+            if (cached.lastModified != null) {
+                requestSpec.header("If-Modified-Since", cached.lastModified);
+            }
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (cached != null && response.statusCode() == 304) {
+            revalidations.increment();
+            CachedResponse refreshed = new CachedResponse(cached.response, freshUntil(response, now), cached.size);
+            put(key, refreshed);
+            return withCacheHeader(cached.response, REVALIDATED);
+        }
+
+        misses.increment();
+        if (response.statusCode() == 200 && !hasCacheControl(response, "no-store")) {
+            // Reads the body into memory; the returned response can still be read by the test.
+            byte[] body = response.asByteArray();
+            put(key, new CachedResponse(response, freshUntil(response, now), body.length));
+        } else if (cached != null) {
+            remove(key);
+        }
+        return withCacheHeader(response, MISS);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, revalidations=%d, misses=%d, evictions=%d, entries=%d, bytes=%d",
+                getHits(), getRevalidations(), getMisses(), getEvictions(), size(), getBytes());
+    }
+
+    private synchronized void put(String key, CachedResponse cachedResponse) {
+        if (cachedResponse.size > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, cachedResponse);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += cachedResponse.size;
+
+        Iterator<CachedResponse> leastRecentlyUsed = entries.values().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            bytes -= leastRecentlyUsed.next().size;
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+    }
+
+    private long freshUntil(Response response, long now) {
+        Matcher matcher = MAX_AGE.matcher(String.valueOf(response.getHeader("Cache-Control")));
+        if (hasCacheControl(response, "no-cache")) {
+            return now;
+        }
+        if (matcher.find()) {
+            return now + Long.parseLong(matcher.group(1)) * 1000;
+        }
+        return now + freshnessMillis;
+    }
+
+    private static boolean hasCacheControl(Response response, String directive) {
+        String cacheControl = response.getHeader("Cache-Control");
+        return cacheControl != null && cacheControl.toLowerCase().contains(directive);
+    }
+
+    private static Response withCacheHeader(Response response, String value) {
+        return new ResponseBuilder().clone(response).setHeader(X_CACHE, value).build();
+    }
+
+    /**
+     * The URI and the request headers, sorted by name.
+     */
+    private static String key(FilterableRequestSpecification requestSpec) {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : requestSpec.getHeaders()) {
+            headers.merge(header.getName(), header.getValue(), (first, second) -> first + "," + second);
+        }
+        return requestSpec.getURI() + " " + headers;
+    }
+
+    private static class CachedResponse {
+        private final Response response;
+        private final String eTag;
+        private final String lastModified;
+        private final long freshUntil;
+        private final long size;
+
+        CachedResponse(Response response, long freshUntil, long size) {
+            this.response = response;
+            this.eTag = response.getHeader("ETag");
+            this.lastModified = response.getHeader("Last-Modified");
+            this.freshUntil = freshUntil;
+            this.size = size;
+        }
+    }
+}
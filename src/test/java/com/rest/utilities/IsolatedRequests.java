@@ -0,0 +1,66 @@
+package com.rest.utilities;
+
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.internal.RequestSpecificationImpl;
+import io.restassured.internal.ResponseParserRegistrar;
+import io.restassured.internal.ResponseSpecificationImpl;
+import io.restassured.internal.TestSpecificationImpl;
+import io.restassured.internal.log.LogRepository;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Collections;
+
+/**
+ * Starts requests without the static settings of io.restassured.RestAssured.
+ * <p>
+ * RestAssured.given(), and also new RequestSpecBuilder(), merge the static baseURI, basePath, port, authentication,
+ * filters, config and requestSpecification into every new request.
+ * Merging a specification adds its headers, query parameters and filters to the ones that are already there,
+ * so given().spec(spec) sends the headers of the static requestSpecification twice (e.g. "X-Api-Key: k, k")
+ * if spec is, or has been built on top of, that static requestSpecification.
+ * A request of this class has the RestAssured defaults and only the specification that is passed in.
+ * <p>
+ * Usage:
+ * <pre>
+ *     Response response = IsolatedRequests.given(requestSpecification).get("/workspaces");
+ * </pre>
+ */
+public class IsolatedRequests {
+
+    /**
+     * Replacement for RestAssured.given() without the static settings.
+     *
+     * @return
+     */
+    public static RequestSpecification given() {
+        return newRequestSpecification(RestAssuredConfig.config());
+    }
+
+    /**
+     * @param requestSpecification merged exactly once into the new request.
+     * @return
+     */
+    public static RequestSpecification given(RequestSpecification requestSpecification) {
+        return given().spec(requestSpecification);
+    }
+
+    /**
+     * The only use of the io.restassured.internal classes.
+     * RestAssured has no public API for a specification without the static settings, so this method
+     * does what RestAssured.createTestSpecification() does, with the defaults instead of the static fields.
+     * The constructors are not part of the public API of RestAssured: this is tied to RestAssured 4.4.0
+     * and should be checked (see TestIsolatedRequests) when RestAssured is upgraded.
+     */
+    public static RequestSpecification newRequestSpecification(RestAssuredConfig config) {
+        LogRepository logRepository = new LogRepository();
+        RequestSpecificationImpl requestSpecification = new RequestSpecificationImpl(RestAssured.DEFAULT_URI,
+                RestAssured.UNDEFINED_PORT, RestAssured.DEFAULT_PATH, RestAssured.DEFAULT_AUTH, Collections.emptyList(),
+                null, RestAssured.DEFAULT_URL_ENCODING_ENABLED, config, logRepository, null);
+        ResponseSpecificationImpl responseSpecification = new ResponseSpecificationImpl(RestAssured.DEFAULT_BODY_ROOT_PATH,
+                null, new ResponseParserRegistrar(), config, logRepository);
+        // Links the request and the response specification, as RestAssured.given() does.
+        new TestSpecificationImpl(requestSpecification, responseSpecification);
+        return requestSpecification;
+    }
+}
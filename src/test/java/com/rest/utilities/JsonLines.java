@@ -0,0 +1,123 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rest.serialization.EntityMappers;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a JSON Lines file (one JSON document per line) lazily, line by line, into entities,
+ * e.g. src/test/resources/workspaces.jsonl into com.rest.entities.Workspace.
+ * Only the current line is in memory, so a file with millions of cases can be used as test data.
+ * <p>
+ * Empty lines and lines that start with // are skipped.
+ * The lines are deserialized by the shared ObjectMapper of EntityMappers.
+ * A line that can not be deserialized results in an UncheckedIOException with the file name and line number.
+ * <p>
+ * Used by JsonLinesDataProviders (TestNG) and JsonLinesArgumentsProvider (JUnit 5), see @JsonLinesSource.
+ */
+public final class JsonLines {
+
+    private JsonLines() {
+    }
+
+    /**
+     * The iterator closes the file when the last line has been read; otherwise it should be closed by the caller.
+     * next() is synchronized, so the iterator can be shared by several threads.
+     */
+    public static <T> CloseableIterator<T> iterator(Path path, Class<T> type) {
+        try {
+            return new CloseableIterator<>(path, Files.newBufferedReader(path, StandardCharsets.UTF_8), EntityMappers.reader(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not open " + path, e);
+        }
+    }
+
+    /**
+     * The stream should be closed, e.g. with try-with-resources.
+     */
+    public static <T> Stream<T> stream(Path path, Class<T> type) {
+        CloseableIterator<T> iterator = iterator(path, type);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    public static final class CloseableIterator<T> implements Iterator<T>, Closeable {
+        private final Path path;
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+        private String nextLine;
+        private long lineNumber;
+        private boolean closed;
+
+        private CloseableIterator(Path path, BufferedReader reader, ObjectReader objectReader) {
+            this.path = path;
+            this.reader = reader;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            if (nextLine != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    String trimmed = line.trim();
+                    if (!trimmed.isEmpty() && !trimmed.startsWith("//")) {
+                        nextLine = line;
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not read " + path + " after line " + lineNumber, e);
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public synchronized T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return objectReader.readValue(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Invalid JSON in " + path + " at line " + lineNumber, e);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can not close " + path, e);
+            }
+        }
+    }
+}
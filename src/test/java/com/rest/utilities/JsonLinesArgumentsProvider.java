@@ -0,0 +1,30 @@
+package com.rest.utilities;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * JUnit 5 provider for @JsonLinesSource.
+ * JUnit consumes the stream lazily and closes it when the parameterized test has finished.
+ */
+public class JsonLinesArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<JsonLinesSource> {
+
+    private JsonLinesSource source;
+
+    @Override
+    public void accept(JsonLinesSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        return JsonLines.stream(Paths.get(source.value()), source.type())
+                .limit(source.limit())
+                .map(Arguments::of);
+    }
+}
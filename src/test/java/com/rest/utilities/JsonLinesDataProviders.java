@@ -0,0 +1,64 @@
+package com.rest.utilities;
+
+import org.testng.annotations.DataProvider;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * TestNG data providers for @JsonLinesSource.
+ * <p>
+ * JSON_LINES returns a lazy Iterator: TestNG asks for the next case when the previous one has been executed,
+ * so only one line at a time is in memory.
+ * <p>
+ * JSON_LINES_PARALLEL runs the cases in parallel with the data-provider-thread-count of the suite (default 10).
+ * Note that TestNG 7.4 reads the complete iterator up front in order to create one task per case,
+ * so for millions of cases the sequential provider (or JUnit) should be used.
+ */
+public class JsonLinesDataProviders {
+
+    public static final String JSON_LINES = "jsonLines";
+    public static final String JSON_LINES_PARALLEL = "jsonLinesParallel";
+
+    @DataProvider(name = JSON_LINES)
+    public static Iterator<Object[]> jsonLines(Method method) {
+        return cases(method);
+    }
+
+    @DataProvider(name = JSON_LINES_PARALLEL, parallel = true)
+    public static Iterator<Object[]> jsonLinesParallel(Method method) {
+        return cases(method);
+    }
+
+    private static Iterator<Object[]> cases(Method method) {
+        JsonLinesSource source = method.getAnnotation(JsonLinesSource.class);
+        if (source == null) {
+            throw new IllegalStateException(method + " has no @" + JsonLinesSource.class.getSimpleName());
+        }
+        JsonLines.CloseableIterator<?> lines = JsonLines.iterator(Paths.get(source.value()), source.type());
+        long limit = source.limit();
+        return new Iterator<Object[]>() {
+            private long count;
+
+            @Override
+            public boolean hasNext() {
+                if (count < limit && lines.hasNext()) {
+                    return true;
+                }
+                lines.close();
+                return false;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                count++;
+                return new Object[]{lines.next()};
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.rest.utilities;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The JSON Lines file with the cases of a data-driven test. Every line is one case:
+ * the test method gets it as a single parameter of the given type.
+ * <p>
+ * TestNG:
+ * <pre>
+ *     &#64;Test(dataProvider = JsonLinesDataProviders.JSON_LINES, dataProviderClass = JsonLinesDataProviders.class)
+ *     &#64;JsonLinesSource(value = "src/test/resources/workspaces.jsonl", type = Workspace.class)
+ *     public void test(Workspace workspace)
+ * </pre>
+ * JUnit 5:
+ * <pre>
+ *     &#64;ParameterizedTest
+ *     &#64;JsonLinesSource(value = "src/test/resources/workspaces.jsonl", type = Workspace.class)
+ *     void test(Workspace workspace)
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@ArgumentsSource(JsonLinesArgumentsProvider.class)
+public @interface JsonLinesSource {
+
+    /**
+     * @return the path of the file, relative to the working directory (the project directory).
+     */
+    String value();
+
+    /**
+     * @return the class of a line, e.g. Workspace, User or com.rest.entities.collection.Request.
+     */
+    Class<?> type();
+
+    /**
+     * @return the maximum number of cases; by default all lines.
+     */
+    long limit() default Long.MAX_VALUE;
+}
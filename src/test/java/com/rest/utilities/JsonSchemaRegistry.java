@@ -0,0 +1,230 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.rest.serialization.EntityMappers;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of compiled JSON schemas from the classpath (src/test/resources).
+ * <p>
+ * JsonSchemaValidator.matchesJsonSchemaInClasspath("postman-echo-json-schema.json") reads the resource
+ * and builds a new JsonSchema every time it is called.
+ * This registry loads and compiles every schema only once; the compiled JsonSchema is immutable
+ * and is shared by all threads.
+ * <p>
+ * Usage, as a replacement for matchesJsonSchemaInClasspath:
+ * <pre>
+ *     .body(matchesCompiledJsonSchemaInClasspath("postman-echo-json-schema.json"));
+ * </pre>
+ * For every schema the number of validations, the number of failures and the validation time are recorded,
+ * see metrics(String).
+ */
+public class JsonSchemaRegistry {
+
+    private static final JsonSchemaFactory JSON_SCHEMA_FACTORY = JsonSchemaFactory.byDefault();
+
+    private static final ConcurrentMap<String, CompiledSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    /**
+     * Hamcrest matcher that validates the response body against the compiled schema.
+     *
+     * @param pathToSchemaInClasspath e.g. "postman-echo-json-schema.json".
+     * @return
+     */
+    public static Matcher<String> matchesCompiledJsonSchemaInClasspath(String pathToSchemaInClasspath) {
+        return new CompiledSchemaMatcher(pathToSchemaInClasspath);
+    }
+
+    /**
+     * Validates a JSON document against the compiled schema.
+     *
+     * @param pathToSchemaInClasspath e.g. "postman-echo-json-schema.json".
+     * @param json                    the JSON document.
+     * @return the report of the validation.
+     */
+    public static ProcessingReport validate(String pathToSchemaInClasspath, String json) {
+        CompiledSchema compiledSchema = compiledSchema(pathToSchemaInClasspath);
+        JsonNode instance;
+        try {
+            instance = EntityMappers.objectMapper().readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a valid JSON document", e);
+        }
+        return compiledSchema.validate(instance);
+    }
+
+    /**
+     * @return the metrics of the schema; all values are 0 if the schema has not been used yet.
+     */
+    public static ValidationMetrics metrics(String pathToSchemaInClasspath) {
+        return compiledSchema(pathToSchemaInClasspath).metrics;
+    }
+
+    private static CompiledSchema compiledSchema(String pathToSchemaInClasspath) {
+        return SCHEMAS.computeIfAbsent(pathToSchemaInClasspath, JsonSchemaRegistry::load);
+    }
+
+    private static CompiledSchema load(String pathToSchemaInClasspath) {
+        long start = System.nanoTime();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = JsonSchemaRegistry.class.getClassLoader();
+        }
+        try (InputStream inputStream = classLoader.getResourceAsStream(pathToSchemaInClasspath)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Schema " + pathToSchemaInClasspath + " not found in classpath");
+            }
+            JsonNode schemaNode = EntityMappers.objectMapper().readTree(inputStream);
+            JsonSchema jsonSchema = JSON_SCHEMA_FACTORY.getJsonSchema(schemaNode);
+            return new CompiledSchema(jsonSchema, new ValidationMetrics(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Schema " + pathToSchemaInClasspath + " can not be read", e);
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Schema " + pathToSchemaInClasspath + " is not a valid schema", e);
+        }
+    }
+
+    private static class CompiledSchema {
+        private final JsonSchema jsonSchema;
+        private final ValidationMetrics metrics;
+
+        CompiledSchema(JsonSchema jsonSchema, ValidationMetrics metrics) {
+            this.jsonSchema = jsonSchema;
+            this.metrics = metrics;
+        }
+
+        ProcessingReport validate(JsonNode instance) {
+            long start = System.nanoTime();
+            try {
+                ProcessingReport report = jsonSchema.validate(instance);
+                metrics.record(System.nanoTime() - start, report.isSuccess());
+                return report;
+            } catch (ProcessingException e) {
+                metrics.record(System.nanoTime() - start, false);
+                throw new IllegalStateException("Validation could not be executed", e);
+            }
+        }
+    }
+
+    /**
+     * Counters of the validations against one schema. The counters are updated concurrently.
+     */
+    public static class ValidationMetrics {
+        private final long loadNanos;
+        private final LongAdder validations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        ValidationMetrics(long loadNanos) {
+            this.loadNanos = loadNanos;
+        }
+
+        void record(long nanos, boolean success) {
+            validations.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * @return the time it took to read and compile the schema.
+         */
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        public long getValidations() {
+            return validations.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getAverageNanos() {
+            long count = getValidations();
+            return count == 0 ? 0 : getTotalNanos() / count;
+        }
+
+        @Override
+        public String toString() {
+            return "validations=" + getValidations()
+                    + ", failures=" + getFailures()
+                    + ", averageMicros=" + getAverageNanos() / 1_000
+                    + ", maxMicros=" + getMaxNanos() / 1_000
+                    + ", loadMicros=" + getLoadNanos() / 1_000;
+        }
+    }
+
+    /**
+     * The report of the last validation is kept: hamcrest calls matches() and, if that fails, describeMismatch()
+     * with the same item, and the document should be validated (and counted in the metrics) only once.
+     * A matcher is used by one assertion at a time.
+     */
+    private static class CompiledSchemaMatcher extends BaseMatcher<String> {
+
+        private final String pathToSchemaInClasspath;
+        private String lastJson;
+        private ProcessingReport lastReport;
+
+        CompiledSchemaMatcher(String pathToSchemaInClasspath) {
+            this.pathToSchemaInClasspath = pathToSchemaInClasspath;
+        }
+
+        @Override
+        public boolean matches(Object item) {
+            return item instanceof String && report((String) item).isSuccess();
+        }
+
+        @Override
+        public void describeMismatch(Object item, Description mismatchDescription) {
+            if (!(item instanceof String)) {
+                super.describeMismatch(item, mismatchDescription);
+                return;
+            }
+            mismatchDescription.appendText("The content does not match the schema:");
+            for (ProcessingMessage message : report((String) item)) {
+                mismatchDescription.appendText("\n").appendText(message.toString());
+            }
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("The content to match the given JSON schema ").appendText(pathToSchemaInClasspath);
+        }
+
+        private ProcessingReport report(String json) {
+            if (lastReport == null || json != lastJson) {
+                lastReport = validate(pathToSchemaInClasspath, json);
+                lastJson = json;
+            }
+            return lastReport;
+        }
+    }
+}
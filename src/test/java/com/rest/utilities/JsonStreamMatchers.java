@@ -0,0 +1,69 @@
+package com.rest.utilities;
+
+import com.rest.serialization.JsonStreamComparator;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+
+/**
+ * Hamcrest matchers that compare a response body with an expected JSON document by JsonStreamComparator.
+ * <pre>
+ *     .then()
+ *     .body(sameJsonAs(payload, JsonStreamComparator.strict().allowingExtraFields()));
+ * </pre>
+ * The mismatch description contains the path of the first difference, e.g. "workspace.name: expected "A" but was "B"".
+ */
+public class JsonStreamMatchers {
+
+    private JsonStreamMatchers() {
+    }
+
+    /**
+     * @param expected   the expected document.
+     * @param comparator e.g. JsonStreamComparator.lenient().ignoring("workspace.id").
+     * @return a matcher for the response body.
+     */
+    public static Matcher<String> sameJsonAs(String expected, JsonStreamComparator comparator) {
+        return new SameJsonMatcher(expected, comparator);
+    }
+
+    /**
+     * @return a matcher that compares with JsonStreamComparator.strict().
+     */
+    public static Matcher<String> sameJsonAs(String expected) {
+        return new SameJsonMatcher(expected, JsonStreamComparator.strict());
+    }
+
+    private static class SameJsonMatcher extends TypeSafeDiagnosingMatcher<String> {
+
+        private final String expected;
+        private final JsonStreamComparator comparator;
+
+        SameJsonMatcher(String expected, JsonStreamComparator comparator) {
+            this.expected = expected;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body, Description mismatchDescription) {
+            JsonStreamComparator.Result result;
+            try {
+                result = comparator.compare(expected, body);
+            } catch (IOException e) {
+                mismatchDescription.appendText("body is not valid JSON: ").appendText(e.getMessage());
+                return false;
+            }
+            if (!result.matches()) {
+                mismatchDescription.appendText(result.toString());
+            }
+            return result.matches();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("JSON (").appendText(comparator.toString()).appendText(") ").appendText(expected);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rest.serialization.EntityMappers;
+import com.rest.serialization.JsonTreePath;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hamcrest matchers that evaluate paths on a Jackson tree (JsonTreePath) instead of a Groovy object tree.
+ * <p>
+ * body(path, matcher) evaluates every path as a Groovy script; jsonTree() parses the body once with the
+ * shared ObjectMapper and evaluates the paths in plain Java. The values have the same types as with body(path, matcher),
+ * so the same matchers can be used.
+ * The matcher can be used in ValidatableResponse.body(Matcher) and in ResponseSpecBuilder.expectBody(Matcher):
+ * <pre>
+ *     ResponseSpecification responseSpecification = new ResponseSpecBuilder()
+ *             .expectStatusCode(200)
+ *             .expectBody(jsonTree("workspace.name", is(equalTo("MyFifthWorkspace"))
+ *                     , "workspace.id", matchesPattern("^[a-z0-9-]{36}$")))
+ *             .build();
+ * </pre>
+ * Supported paths: see JsonTreePath. Groovy expressions like find { ... } are not supported; use CompiledPathCache for those.
+ */
+public class JsonTreeMatchers {
+
+    private JsonTreeMatchers() {
+    }
+
+    /**
+     * @param path                      e.g. "workspaces[0].name" or "workspaces.size()".
+     * @param matcher                   the matcher for the value of the path.
+     * @param additionalKeyMatcherPairs more path / matcher pairs, like in body(path, matcher, additionalKeyMatcherPairs).
+     * @return a matcher for the response body.
+     */
+    public static Matcher<String> jsonTree(String path, Matcher<?> matcher, Object... additionalKeyMatcherPairs) {
+        if (additionalKeyMatcherPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("additionalKeyMatcherPairs should contain path / matcher pairs");
+        }
+        List<JsonTreePath> paths = new ArrayList<>();
+        List<Matcher<?>> matchers = new ArrayList<>();
+        paths.add(JsonTreePath.compile(path));
+        matchers.add(matcher);
+        for (int i = 0; i < additionalKeyMatcherPairs.length; i += 2) {
+            paths.add(JsonTreePath.compile((String) additionalKeyMatcherPairs[i]));
+            matchers.add((Matcher<?>) additionalKeyMatcherPairs[i + 1]);
+        }
+        return new JsonTreeMatcher(paths, matchers);
+    }
+
+    private static class JsonTreeMatcher extends TypeSafeDiagnosingMatcher<String> {
+
+        private final List<JsonTreePath> paths;
+        private final List<Matcher<?>> matchers;
+
+        JsonTreeMatcher(List<JsonTreePath> paths, List<Matcher<?>> matchers) {
+            this.paths = paths;
+            this.matchers = matchers;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body, Description mismatchDescription) {
+            JsonNode root;
+            try {
+                root = EntityMappers.objectMapper().readTree(body);
+            } catch (IOException e) {
+                mismatchDescription.appendText("body is not valid JSON: ").appendText(e.getMessage());
+                return false;
+            }
+            boolean matches = true;
+            for (int i = 0; i < paths.size(); i++) {
+                Object value = paths.get(i).read(root);
+                Matcher<?> matcher = matchers.get(i);
+                if (!matcher.matches(value)) {
+                    if (!matches) {
+                        mismatchDescription.appendText(", ");
+                    }
+                    mismatchDescription.appendText("JSON path ").appendText(paths.get(i).toString()).appendText(" ");
+                    matcher.describeMismatch(value, mismatchDescription);
+                    matches = false;
+                }
+            }
+            return matches;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            for (int i = 0; i < paths.size(); i++) {
+                if (i > 0) {
+                    description.appendText(", ");
+                }
+                description.appendText("JSON path ").appendText(paths.get(i).toString()).appendText(" ")
+                        .appendDescriptionOf(matchers.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.rest.utilities;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Executes an existing RequestSpecification / ResponseSpecification combination (see Part03 - Part07)
+ * as a load test.
+ * <p>
+ * The requests are started at a constant rate (open model): request i is scheduled at start + i / ratePerSecond,
+ * independent of how long the previous requests take. The requests are executed by a pool of worker threads.
+ * If the workers can not keep up, the requests wait in the queue of the pool.
+ * <p>
+ * Two latencies are recorded in an HdrHistogram:
+ * <ul>
+ *     <li>response time: from the scheduled start to the end of the request, including the time in the queue.
+ *     This corrects for "coordinated omission": a slow server is not hidden by sending fewer requests.</li>
+ *     <li>service time: from the actual start to the end of the request.</li>
+ * </ul>
+ * A response that does not satisfy the ResponseSpecification is counted as validation failure,
+ * an exception (e.g. connection refused) as error.
+ * <p>
+ * Note: the logging of the specifications (e.g. .log(LogDetail.ALL)) is done for every request.
+ * <pre>
+ *     LoadRunner.LoadResult result = new LoadRunner(requestSpecification, responseSpecification, RequestSpecification::get)
+ *             .ratePerSecond(100)
+ *             .duration(Duration.ofSeconds(30))
+ *             .workers(16)
+ *             .run();
+ *     log.info("{}", result);
+ * </pre>
+ */
+@Slf4j
+public class LoadRunner {
+
+    /**
+     * One request per nanosecond.
+     */
+    public static final double MAX_RATE_PER_SECOND = 1_000_000_000;
+
+    /**
+     * Latencies above 1 hour can not be recorded.
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final RequestSpecification requestSpecification;
+    private final ResponseSpecification responseSpecification;
+    private final Function<RequestSpecification, Response> request;
+    private double ratePerSecond = 10;
+    private Duration duration = Duration.ofSeconds(10);
+    private int workers = 8;
+
+    /**
+     * @param requestSpecification  the request.
+     * @param responseSpecification the validation of the response; may be null.
+     * @param request               executes the request, e.g. RequestSpecification::get or spec -> spec.post("/workspaces").
+     */
+    public LoadRunner(RequestSpecification requestSpecification
+            , ResponseSpecification responseSpecification
+            , Function<RequestSpecification, Response> request) {
+        this.requestSpecification = requestSpecification;
+        this.responseSpecification = responseSpecification;
+        this.request = request;
+    }
+
+    /**
+     * @param ratePerSecond the number of requests that are started per second, at most MAX_RATE_PER_SECOND.
+     */
+    public LoadRunner ratePerSecond(double ratePerSecond) {
+        // The requests are scheduled in whole nanoseconds: at a higher rate several requests would get the same start.
+        if (!(ratePerSecond > 0 && ratePerSecond <= MAX_RATE_PER_SECOND)) {
+            throw new IllegalArgumentException("ratePerSecond should be positive and at most " + MAX_RATE_PER_SECOND + ": " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        return this;
+    }
+
+    public LoadRunner duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    public LoadRunner workers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers should be positive: " + workers);
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Sends the requests and waits until all of them have been completed.
+     *
+     * @return the latencies and counts.
+     * @throws InterruptedException
+     */
+    public LoadResult run() throws InterruptedException {
+        long totalRequests = Math.max(1, (long) (duration.toNanos() * ratePerSecond / TimeUnit.SECONDS.toNanos(1)));
+
+        Recorder responseTimeRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Recorder serviceTimeRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        LongAdder validationFailures = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAccumulator lastStart = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "load-runner-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("Load run: {} requests at {}/s with {} workers", totalRequests, ratePerSecond, workers);
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < totalRequests; i++) {
+                // Computed per request, so a truncated interval does not add up over the run.
+                long scheduledStart = start + (long) (i * (double) TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+                long wait;
+                while ((wait = scheduledStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                executorService.execute(() -> {
+                    long actualStart = System.nanoTime();
+                    lastStart.accumulate(actualStart - start);
+                    try {
+                        // Without the static RestAssured settings: those could be changed by tests running in parallel.
+                        Response response = request.apply(IsolatedRequests.given(requestSpecification));
+                        if (responseSpecification != null) {
+                            response.then().spec(responseSpecification);
+                        }
+                    } catch (AssertionError e) {
+                        validationFailures.increment();
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                        log.debug("Request failed", e);
+                    } finally {
+                        long end = System.nanoTime();
+                        responseTimeRecorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - scheduledStart) / 1000));
+                        serviceTimeRecorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - actualStart) / 1000));
+                    }
+                });
+            }
+            executorService.shutdown();
+            while (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.debug("Waiting for the outstanding requests");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new LoadResult(totalRequests
+                , validationFailures.sum()
+                , errors.sum()
+                , elapsedNanos
+                , lastStart.get()
+                , responseTimeRecorder.getIntervalHistogram()
+                , serviceTimeRecorder.getIntervalHistogram());
+    }
+
+    public static class LoadResult {
+        private final long requests;
+        private final long validationFailures;
+        private final long errors;
+        private final long elapsedNanos;
+        private final long lastStartNanos;
+        private final Histogram responseTime;
+        private final Histogram serviceTime;
+
+        LoadResult(long requests, long validationFailures, long errors, long elapsedNanos, long lastStartNanos
+                , Histogram responseTime, Histogram serviceTime) {
+            this.requests = requests;
+            this.validationFailures = validationFailures;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.lastStartNanos = lastStartNanos;
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getValidationFailures() {
+            return validationFailures;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * The rate at which the requests have been started: requests - 1 intervals from the start of the run
+         * to the actual start of the last request. The time of the last request itself is not part of it.
+         * With one request there is no interval: the request divided by the elapsed time of the run.
+         *
+         * @return the achieved rate; at most the requested rate, because no request is started before its scheduled start.
+         */
+        public double getAchievedRatePerSecond() {
+            if (requests <= 1 || lastStartNanos <= 0) {
+                return requests / (elapsedNanos / 1_000_000_000.0);
+            }
+            return (requests - 1) / (lastStartNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * @return the response times in microseconds, measured from the scheduled start.
+         */
+        public Histogram getResponseTime() {
+            return responseTime;
+        }
+
+        /**
+         * @return the service times in microseconds, measured from the actual start.
+         */
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /**
+         * @param percentile e.g. 99.9
+         * @return the response time in milliseconds.
+         */
+        public double responseTimeMillis(double percentile) {
+            return responseTime.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * Prints the percentile distribution of the response times in milliseconds.
+         */
+        public void outputPercentileDistribution(PrintStream printStream) {
+            responseTime.outputPercentileDistribution(printStream, 1000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, validationFailures=%d, errors=%d, rate=%.1f/s"
+                            + ", response time ms p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f"
+                            + ", service time ms p50=%.2f p99=%.2f",
+                    requests, validationFailures, errors, getAchievedRatePerSecond()
+                    , responseTimeMillis(50), responseTimeMillis(90), responseTimeMillis(99), responseTimeMillis(99.9)
+                    , responseTime.getMaxValue() / 1000.0
+                    , serviceTime.getValueAtPercentile(50) / 1000.0, serviceTime.getValueAtPercentile(99) / 1000.0);
+        }
+    }
+}
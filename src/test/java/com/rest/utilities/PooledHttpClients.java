@@ -0,0 +1,369 @@
+package com.rest.utilities;
+
+import io.restassured.config.HttpClientConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pooled Apache HttpClient for RestAssured.
+ * <p>
+ * By default RestAssured 4.4.0 creates a new DefaultHttpClient for every request,
+ * so every request opens a new TCP connection and does a full TLS handshake.
+ * The client of this class keeps the connections in a pool:
+ * <ul>
+ *     <li>maxTotal / maxPerRoute: the maximum number of connections in total and per host;</li>
+ *     <li>keep-alive: a connection is reused for the time the server allows in its Keep-Alive header,
+ *     or keepAliveMillis if the server does not send one;</li>
+ *     <li>idle eviction: a background thread closes expired connections and connections that have been idle
+ *     for longer than idleMillis, so no request gets a connection that the server has already closed;</li>
+ *     <li>TLS session reuse: all https connections are created by one SSLSocketFactory and therefore one SSLContext,
+ *     which caches the TLS sessions, so a new connection to the same host does an abbreviated handshake.</li>
+ * </ul>
+ * The client measures the DNS resolution, TCP connect, TLS handshake and time to first byte of every request
+ * in RequestTimings, which a TimingFilter collects per endpoint.
+ * A connection only returns to the pool when the body of the response has been read completely.
+ * RestAssured reads the body lazily, e.g. given().get().statusCode() never reads it.
+ * Therefore bodies with a Content-Length up to maxBufferedBytes are read into memory as soon as the response arrives.
+ * Larger bodies and bodies of unknown length (chunked) are streamed and have to be read to the end by the test
+ * (as FileDownload does).
+ * getMetrics() shows how many connections have been leased and opened, and how long requests waited for a connection.
+ * <p>
+ * Usage:
+ * <pre>
+ *     RestAssured.config = RestAssuredConfig.config().httpClient(PooledHttpClients.shared().httpClientConfig());
+ * </pre>
+ * RestAssuredConfigs.restAssuredConfig() already contains the shared pool.
+ * <p>
+ * RestAssured writes the settings of a request (HttpClientConfig params, content encodings) into the HttpClient itself.
+ * Therefore every request gets a new, lightweight DefaultHttpClient; only the connection pool is shared,
+ * so requests in parallel threads do not see each other's settings.
+ * <p>
+ * RestAssured 4.4.0 only supports the AbstractHttpClient API of HttpClient 4, which is deprecated.
+ * Under -source 8 the import of a deprecated type is a warning that @SuppressWarnings can not suppress,
+ * so these types are referenced by their full names in the members that need them.
+ */
+@Slf4j
+public class PooledHttpClients implements Closeable {
+
+    public static final int DEFAULT_MAX_TOTAL = 50;
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30_000;
+    public static final long DEFAULT_IDLE_MILLIS = 60_000;
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = 16 * 1024 * 1024;
+
+    private static PooledHttpClients sharedClients;
+
+    private final MeteredConnectionManager connectionManager;
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+    private final ScheduledExecutorService evictionExecutor;
+
+    public PooledHttpClients() {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_KEEP_ALIVE_MILLIS, DEFAULT_IDLE_MILLIS);
+    }
+
+    @SuppressWarnings("deprecation")
+    public PooledHttpClients(int maxTotal, int maxPerRoute, long keepAliveMillis, long idleMillis) {
+        org.apache.http.conn.scheme.SchemeRegistry schemeRegistry = new org.apache.http.conn.scheme.SchemeRegistry();
+        schemeRegistry.register(new org.apache.http.conn.scheme.Scheme("http", 80,
+                org.apache.http.conn.scheme.PlainSocketFactory.getSocketFactory()));
+        schemeRegistry.register(new org.apache.http.conn.scheme.Scheme("https", 443,
+                new TimingSSLSocketFactory(SSLContexts.createDefault(),
+                        org.apache.http.conn.ssl.SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER)));
+
+        connectionManager = new MeteredConnectionManager(schemeRegistry, SystemDefaultDnsResolver.INSTANCE);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        keepAliveStrategy = new ConnectionKeepAliveStrategy() {
+            private final ConnectionKeepAliveStrategy serverStrategy = DefaultConnectionKeepAliveStrategy.INSTANCE;
+
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                long serverKeepAlive = serverStrategy.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMillis;
+            }
+        };
+
+        evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-connection-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionPeriod = Math.max(1, Math.min(idleMillis, keepAliveMillis) / 2);
+        evictionExecutor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a pool with the default settings that is shared by all tests in this JVM.
+     */
+    public static synchronized PooledHttpClients shared() {
+        if (sharedClients == null) {
+            sharedClients = new PooledHttpClients();
+        }
+        return sharedClients;
+    }
+
+    /**
+     * @return a configuration in which RestAssured uses a new client on the pooled connections for every request.
+     * The client instance is deliberately not reused (no reuseHttpClientInstance()): RestAssured changes its settings per request.
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(this::createHttpClient);
+    }
+
+    /**
+     * @return a new client that uses the connection pool, with the timing, buffering and keep-alive settings of this class.
+     */
+    @SuppressWarnings("deprecation")
+    public org.apache.http.impl.client.DefaultHttpClient createHttpClient() {
+        org.apache.http.impl.client.DefaultHttpClient httpClient = new org.apache.http.impl.client.DefaultHttpClient(connectionManager);
+        // The request interceptors are executed when the connection has been established, just before sending.
+        httpClient.addRequestInterceptor((request, context) -> {
+            RequestTimings requestTimings = RequestTimings.current();
+            if (requestTimings != null) {
+                requestTimings.requestSent();
+            }
+        });
+        // The first response interceptor: the headers have been received, the body has not been read yet.
+        httpClient.addResponseInterceptor((response, context) -> {
+            RequestTimings requestTimings = RequestTimings.current();
+            if (requestTimings != null) {
+                requestTimings.responseReceived();
+            }
+        });
+        httpClient.addResponseInterceptor(new BufferingResponseInterceptor(DEFAULT_MAX_BUFFERED_BYTES));
+        httpClient.setKeepAliveStrategy(keepAliveStrategy);
+        return httpClient;
+    }
+
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(connectionManager.getTotalStats()
+                , connectionManager.leases.sum()
+                , connectionManager.operator.connectionsOpened.sum()
+                , connectionManager.leaseWaitNanos.sum()
+                , connectionManager.maxLeaseWaitNanos.get());
+    }
+
+    @Override
+    public void close() {
+        evictionExecutor.shutdownNow();
+        connectionManager.shutdown();
+    }
+
+    /**
+     * Counts the leases of connections from the pool and the time a request has to wait for a free connection.
+     */
+    @SuppressWarnings("deprecation")
+    private static class MeteredConnectionManager extends org.apache.http.impl.conn.PoolingClientConnectionManager {
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder leaseWaitNanos = new LongAdder();
+        private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0);
+        // Assigned by createConnectionOperator(), which is called by the constructor of the superclass.
+        // Therefore this field should not have an initializer.
+        private CountingConnectionOperator operator;
+
+        MeteredConnectionManager(org.apache.http.conn.scheme.SchemeRegistry schemeRegistry, DnsResolver dnsResolver) {
+            super(schemeRegistry, -1, TimeUnit.MILLISECONDS, dnsResolver);
+        }
+
+        @Override
+        protected org.apache.http.conn.ClientConnectionOperator createConnectionOperator(org.apache.http.conn.scheme.SchemeRegistry schemeRegistry) {
+            operator = new CountingConnectionOperator(schemeRegistry);
+            return operator;
+        }
+
+        @Override
+        public org.apache.http.conn.ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            org.apache.http.conn.ClientConnectionRequest request = super.requestConnection(route, state);
+            return new org.apache.http.conn.ClientConnectionRequest() {
+                @Override
+                public org.apache.http.conn.ManagedClientConnection getConnection(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return request.getConnection(timeout, timeUnit);
+                    } finally {
+                        long waited = System.nanoTime() - start;
+                        leases.increment();
+                        leaseWaitNanos.add(waited);
+                        maxLeaseWaitNanos.accumulate(waited);
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+
+    /**
+     * Replaces a body with a Content-Length up to maxBufferedBytes by a buffered copy.
+     * The original body is then read to the end, so the connection is released to the pool immediately.
+     * Bodies of unknown length (-1, e.g. chunked) are not buffered: their size is not bounded.
+     */
+    private static class BufferingResponseInterceptor implements HttpResponseInterceptor {
+        private final long maxBufferedBytes;
+
+        BufferingResponseInterceptor(long maxBufferedBytes) {
+            this.maxBufferedBytes = maxBufferedBytes;
+        }
+
+        @Override
+        public void process(HttpResponse response, HttpContext context) throws IOException {
+            HttpEntity entity = response.getEntity();
+            if (entity == null || !entity.isStreaming()) {
+                return;
+            }
+            long length = entity.getContentLength();
+            if (0 <= length && length <= maxBufferedBytes) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+        }
+    }
+
+    /**
+     * Counts the new connections; a lease without a new connection is a reused connection.
+     * Measures the DNS resolution and the time to open a connection in RequestTimings.
+     */
+    @SuppressWarnings("deprecation")
+    private static class CountingConnectionOperator extends org.apache.http.impl.conn.DefaultClientConnectionOperator {
+        private final LongAdder connectionsOpened = new LongAdder();
+
+        CountingConnectionOperator(org.apache.http.conn.scheme.SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        public void openConnection(org.apache.http.conn.OperatedClientConnection connection, HttpHost target
+                , InetAddress local, HttpContext context, org.apache.http.params.HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            super.openConnection(connection, target, local, context, params);
+            connectionsOpened.increment();
+            RequestTimings requestTimings = RequestTimings.current();
+            if (requestTimings != null) {
+                requestTimings.connectionOpened(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return super.resolveHostname(host);
+            } finally {
+                RequestTimings requestTimings = RequestTimings.current();
+                if (requestTimings != null) {
+                    requestTimings.addDnsNanos(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures the TLS handshake: connectSocket() connects the plain socket and then calls createLayeredSocket(),
+     * which does the handshake and verifies the host name.
+     */
+    @SuppressWarnings("deprecation")
+    private static class TimingSSLSocketFactory extends org.apache.http.conn.ssl.SSLSocketFactory {
+
+        TimingSSLSocketFactory(SSLContext sslContext, org.apache.http.conn.ssl.X509HostnameVerifier hostnameVerifier) {
+            super(sslContext, hostnameVerifier);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.createLayeredSocket(socket, target, port, context);
+            } finally {
+                RequestTimings requestTimings = RequestTimings.current();
+                if (requestTimings != null) {
+                    requestTimings.addTlsNanos(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    public static class PoolMetrics {
+        private final PoolStats poolStats;
+        private final long leases;
+        private final long connectionsOpened;
+        private final long leaseWaitNanos;
+        private final long maxLeaseWaitNanos;
+
+        PoolMetrics(PoolStats poolStats, long leases, long connectionsOpened, long leaseWaitNanos, long maxLeaseWaitNanos) {
+            this.poolStats = poolStats;
+            this.leases = leases;
+            this.connectionsOpened = connectionsOpened;
+            this.leaseWaitNanos = leaseWaitNanos;
+            this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+        }
+
+        /**
+         * @return the current number of leased, pending (waiting) and available connections.
+         */
+        public PoolStats getPoolStats() {
+            return poolStats;
+        }
+
+        public long getLeases() {
+            return leases;
+        }
+
+        public long getConnectionsOpened() {
+            return connectionsOpened;
+        }
+
+        /**
+         * @return the part of the leases that got an existing connection from the pool.
+         */
+        public double getReuseRatio() {
+            return leases == 0 ? 0 : Math.max(0, leases - connectionsOpened) / (double) leases;
+        }
+
+        public double getAverageLeaseWaitMillis() {
+            return leases == 0 ? 0 : leaseWaitNanos / (double) leases / 1_000_000.0;
+        }
+
+        public double getMaxLeaseWaitMillis() {
+            return maxLeaseWaitNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leases=%d, connectionsOpened=%d, reuseRatio=%.2f, leaseWait avg=%.3f ms max=%.3f ms, %s",
+                    leases, connectionsOpened, getReuseRatio(), getAverageLeaseWaitMillis(), getMaxLeaseWaitMillis(), poolStats);
+        }
+    }
+}
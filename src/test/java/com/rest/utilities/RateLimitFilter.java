@@ -0,0 +1,363 @@
+package com.rest.utilities;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A RestAssured filter that paces the requests per API key, so parallel tests stay within the quota of
+ * api.postman.com instead of failing with 429 Too Many Requests.
+ * <p>
+ * Every API key (the value of the X-Api-Key header) has a token bucket: it holds up to burst tokens
+ * and is refilled with requestsPerMinute tokens per minute. A request takes a token, or waits until there is one.
+ * Requests without an API key share one bucket of their own.
+ * <p>
+ * The bucket also follows the rate limit headers of the server:
+ * <ul>
+ *     <li>RateLimit-Remaining / X-RateLimit-Remaining: the bucket never holds more tokens than the server allows;</li>
+ *     <li>RateLimit-Reset / X-RateLimit-Reset: if nothing remains, no request is sent before the reset
+ *     (seconds from now, or epoch seconds);</li>
+ *     <li>Retry-After of a 429 response: no request with this key is sent before that time.</li>
+ * </ul>
+ * A 429 response is retried up to maxRetries times. The wait is a random time between Retry-After and
+ * Retry-After + baseBackoffMillis if the server sends it, otherwise a random time between 0 and
+ * baseBackoffMillis * 2^retry, at most maxBackoffMillis ("full jitter"), so parallel tests do not retry at the same moment.
+ * After the wait the retry takes a token like any other request.
+ * <p>
+ * A retry is sent with the configuration, headers, cookies, form parameters and body of the original request,
+ * and only with the filters that come after this filter (e.g. not the logging filters).
+ * It does not start from RestAssured.given(), which would add the static RestAssured settings a second time
+ * (see IsolatedRequests). Multipart requests are not retried.
+ * <p>
+ * The limits are per JVM, so all test classes should use the same filter:
+ * <pre>
+ *     new RequestSpecBuilder().addFilter(RateLimitFilter.shared())
+ * </pre>
+ */
+@Slf4j
+public class RateLimitFilter implements OrderedFilter {
+
+    public static final String API_KEY_HEADER = "X-Api-Key";
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The quota of the Postman API is 300 requests per minute; 10 % is kept in reserve for other clients of the key.
+     */
+    public static final double DEFAULT_REQUESTS_PER_MINUTE = 270;
+    public static final int DEFAULT_BURST = 10;
+    public static final int DEFAULT_MAX_RETRIES = 5;
+    public static final long DEFAULT_BASE_BACKOFF_MILLIS = 500;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 30_000;
+
+    private static final RateLimitFilter SHARED = new RateLimitFilter(DEFAULT_REQUESTS_PER_MINUTE, DEFAULT_BURST);
+
+    /**
+     * Larger values of a reset header are epoch seconds, smaller ones seconds from now.
+     */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final double requestsPerMinute;
+    private final int burst;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long baseBackoffMillis = DEFAULT_BASE_BACKOFF_MILLIS;
+    private long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // A map key would collide with an API key of the same value.
+    private final TokenBucket anonymousBucket;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder tooManyRequests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * @param requestsPerMinute the sustained rate per API key.
+     * @param burst             the number of requests per API key that may be sent at once after a quiet period.
+     */
+    public RateLimitFilter(double requestsPerMinute, int burst) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("requestsPerMinute should be positive: " + requestsPerMinute);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst should be positive: " + burst);
+        }
+        this.requestsPerMinute = requestsPerMinute;
+        this.burst = burst;
+        this.anonymousBucket = new TokenBucket(requestsPerMinute, burst);
+    }
+
+    /**
+     * @return the filter with the default limits that is shared by all tests in this JVM.
+     */
+    public static RateLimitFilter shared() {
+        return SHARED;
+    }
+
+    public RateLimitFilter maxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries should not be negative: " + maxRetries);
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public RateLimitFilter backoff(long baseBackoffMillis, long maxBackoffMillis) {
+        if (baseBackoffMillis <= 0 || maxBackoffMillis < baseBackoffMillis) {
+            throw new IllegalArgumentException("0 < baseBackoffMillis <= maxBackoffMillis expected: "
+                    + baseBackoffMillis + ", " + maxBackoffMillis);
+        }
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        return this;
+    }
+
+    /**
+     * The pacing should be done just before the request is sent, after an HttpCacheFilter:
+     * a response from the cache does not need a token.
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String apiKey = requestSpec.getHeaders().getValue(API_KEY_HEADER);
+        TokenBucket bucket = apiKey == null
+                ? anonymousBucket
+                : buckets.computeIfAbsent(apiKey, key -> new TokenBucket(requestsPerMinute, burst));
+
+        acquire(bucket);
+        Response response = observe(bucket, ctx.next(requestSpec, responseSpec));
+
+        for (int retry = 1; response.statusCode() == TOO_MANY_REQUESTS; retry++) {
+            if (retry > maxRetries || !requestSpec.getMultiPartParams().isEmpty()) {
+                break;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long retryAfterMillis = retryAfterMillis(response.getHeader("Retry-After"));
+            long backoffMillis;
+            if (retryAfterMillis >= 0) {
+                // Retry-After is the earliest moment; the jitter spreads the retries of parallel tests after it.
+                backoffMillis = retryAfterMillis + random.nextLong(baseBackoffMillis + 1);
+            } else {
+                long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(retry, 30));
+                backoffMillis = random.nextLong(ceiling + 1);
+            }
+            log.info("429 Too Many Requests: retry {} of {} {} in {} ms", retry, requestSpec.getMethod()
+                    , requestSpec.getURI(), backoffMillis);
+            sleep(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            // The bucket has been blocked until Retry-After, so this only paces the retries that are due at the same time.
+            acquire(bucket);
+            retries.increment();
+            response = observe(bucket, resend(requestSpec));
+        }
+        return response;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of 429 responses, including the ones that have been retried successfully.
+     */
+    public long getTooManyRequests() {
+        return tooManyRequests.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the total time the requests have waited for a token.
+     */
+    public double getWaitMillis() {
+        return waitNanos.sum() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, tooManyRequests=%d, retries=%d, wait=%.1f ms, apiKeys=%d",
+                getRequests(), getTooManyRequests(), getRetries(), getWaitMillis(), buckets.size());
+    }
+
+    private void acquire(TokenBucket bucket) {
+        long wait = bucket.reserve(System.nanoTime());
+        requests.increment();
+        waitNanos.add(wait);
+        sleep(wait);
+    }
+
+    private Response observe(TokenBucket bucket, Response response) {
+        if (response.statusCode() == TOO_MANY_REQUESTS) {
+            tooManyRequests.increment();
+        }
+        bucket.update(response);
+        return response;
+    }
+
+    private Response resend(FilterableRequestSpecification requestSpec) {
+        RequestSpecification retry = IsolatedRequests.given()
+                .config(requestSpec.getConfig())
+                .headers(requestSpec.getHeaders())
+                .cookies(requestSpec.getCookies())
+                // The URI of the original request has already been encoded.
+                .urlEncodingEnabled(false);
+        if (!requestSpec.getFormParams().isEmpty()) {
+            retry.formParams(requestSpec.getFormParams());
+        }
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            retry.body(body);
+        }
+        List<Filter> filters = laterFilters(requestSpec.getDefinedFilters());
+        if (!filters.isEmpty()) {
+            retry.filters(filters);
+        }
+        // getURI() contains the query parameters, unlike the URI that ctx.send() would use.
+        return retry.request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    /**
+     * @return the filters that RestAssured runs after this filter, i.e. the ones with a higher order.
+     */
+    private List<Filter> laterFilters(List<Filter> definedFilters) {
+        List<Filter> filters = new ArrayList<>();
+        for (Filter filter : definedFilters) {
+            int order = filter instanceof OrderedFilter ? ((OrderedFilter) filter).getOrder() : DEFAULT_PRECEDENCE;
+            if (filter != this && order > getOrder()) {
+                filters.add(filter);
+            }
+        }
+        return filters;
+    }
+
+    private static void sleep(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rate limit");
+            }
+        }
+    }
+
+    /**
+     * @return the wait in milliseconds of a Retry-After header (seconds or an HTTP date), or -1 if there is none.
+     */
+    private static long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, (long) (Double.parseDouble(value) * 1000));
+        } catch (NumberFormatException e) {
+            try {
+                long epochMillis = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                return Math.max(0, epochMillis - System.currentTimeMillis());
+            } catch (DateTimeParseException dateTimeParseException) {
+                log.warn("Invalid Retry-After header: {}", value);
+                return -1;
+            }
+        }
+    }
+
+    private static String header(Response response, String name) {
+        String value = response.getHeader(name);
+        return value != null ? value : response.getHeader("X-" + name);
+    }
+
+    /**
+     * Tokens are reserved in advance: a negative number of tokens means that requests are waiting,
+     * and the next request waits until the refill has made the number positive again.
+     */
+    private static class TokenBucket {
+        private final double tokensPerNano;
+        private final int burst;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double requestsPerMinute, int burst) {
+            this.tokensPerNano = requestsPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.burst = burst;
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * @return the time in nanoseconds to wait before the request may be sent.
+         */
+        synchronized long reserve(long now) {
+            refill(now);
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+
+        void update(Response response) {
+            long now = System.nanoTime();
+            if (response.statusCode() == TOO_MANY_REQUESTS) {
+                long retryAfterMillis = retryAfterMillis(response.getHeader("Retry-After"));
+                if (retryAfterMillis > 0) {
+                    blockFor(now, TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+                }
+            }
+            String remaining = header(response, "RateLimit-Remaining");
+            if (remaining == null) {
+                return;
+            }
+            try {
+                long remainingRequests = Long.parseLong(remaining.trim());
+                if (remainingRequests > 0) {
+                    limit(now, remainingRequests);
+                    return;
+                }
+                String reset = header(response, "RateLimit-Reset");
+                long resetSeconds = reset == null ? 0 : Long.parseLong(reset.trim());
+                if (resetSeconds > EPOCH_SECONDS_THRESHOLD) {
+                    resetSeconds -= TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+                }
+                blockFor(now, TimeUnit.SECONDS.toNanos(Math.max(resetSeconds, 0)));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid rate limit headers: remaining={}", remaining);
+            }
+        }
+
+        private synchronized void limit(long now, long remainingRequests) {
+            refill(now);
+            tokens = Math.min(tokens, remainingRequests);
+        }
+
+        private synchronized void blockFor(long now, long nanos) {
+            refill(now);
+            tokens = Math.min(tokens, -nanos * tokensPerNano);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
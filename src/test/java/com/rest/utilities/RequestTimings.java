@@ -0,0 +1,101 @@
+package com.rest.utilities;
+
+/**
+ * The phases of one request, measured by the instrumented HttpClient of PooledHttpClients:
+ * <ul>
+ *     <li>dns: the resolution of the host name;</li>
+ *     <li>connect: the TCP connect;</li>
+ *     <li>tls: the TLS handshake, including the verification of the host name;</li>
+ *     <li>ttfb (time to first byte): from sending the request until the status line and headers have been received.</li>
+ * </ul>
+ * dns, connect and tls are only measured when a new connection is opened; for a reused connection they are -1.
+ * <p>
+ * RestAssured executes a request on the calling thread, so the timings are passed from the HttpClient to
+ * the TimingFilter in a ThreadLocal: the filter calls start() before and clear() after the request.
+ * Without a TimingFilter (or with another HttpClient) nothing is measured; see isMeasured().
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private long dnsNanos = -1;
+    private long connectNanos = -1;
+    private long tlsNanos = -1;
+    private long requestSentAt = -1;
+    private long ttfbNanos = -1;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings requestTimings = new RequestTimings();
+        CURRENT.set(requestTimings);
+        return requestTimings;
+    }
+
+    /**
+     * @return the timings of the request that is executed by this thread, or null.
+     */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return true if the request has been sent by the instrumented HttpClient of PooledHttpClients.
+     */
+    public boolean isMeasured() {
+        return requestSentAt >= 0;
+    }
+
+    /**
+     * @return true if the request has opened a new connection.
+     */
+    public boolean isNewConnection() {
+        return connectNanos >= 0;
+    }
+
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    public long getTtfbNanos() {
+        return ttfbNanos;
+    }
+
+    void addDnsNanos(long nanos) {
+        dnsNanos = Math.max(dnsNanos, 0) + nanos;
+    }
+
+    void addTlsNanos(long nanos) {
+        tlsNanos = Math.max(tlsNanos, 0) + nanos;
+    }
+
+    /**
+     * @param openNanos the time to open the connection, which includes the DNS resolution and the TLS handshake.
+     */
+    void connectionOpened(long openNanos) {
+        connectNanos = Math.max(0, openNanos - Math.max(dnsNanos, 0) - Math.max(tlsNanos, 0));
+    }
+
+    void requestSent() {
+        requestSentAt = System.nanoTime();
+    }
+
+    void responseReceived() {
+        if (requestSentAt >= 0) {
+            ttfbNanos = System.nanoTime() - requestSentAt;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.rest.utilities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.rest.serialization.EntityMappers;
+import io.restassured.http.Header;
+import io.restassured.http.Method;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Stores responses that are used by several tests, e.g. the response that Part05TestDefaultRequestSpecification
+ * extracts in init() and checks in every test method.
+ * <p>
+ * The key of a response is the method, the URI (base URI, base path, path, query and path parameters),
+ * the request headers and a SHA-256 hash of the body.
+ * The first call for a key sends the request; concurrent calls for the same key wait for that request
+ * instead of sending their own (single flight). Later calls get the stored response.
+ * A failed request is not stored, so the next call tries again.
+ * By default only a 2xx response is stored: a 429 or 5xx is given to the calls that were waiting for it,
+ * but the next call sends the request again. Another predicate can be passed to the constructor.
+ * The static settings of RestAssured are not used (see IsolatedRequests): the request specification should contain
+ * the base URI, headers, filters and config of the request.
+ * <p>
+ * The body of a stored response has been read into memory, so it can be read by several tests and threads.
+ * jsonPath() also stores the parsed body, so it is parsed only once.
+ * <pre>
+ *     Response response = ResponseStore.shared().get(requestSpecification, Method.GET, "");
+ * </pre>
+ */
+public class ResponseStore {
+
+    private static final ResponseStore SHARED = new ResponseStore();
+
+    /**
+     * Stores only the responses with a 2xx status code.
+     */
+    public static final Predicate<Response> SUCCESSFUL = response -> response.statusCode() >= 200 && response.statusCode() < 300;
+
+    private final Predicate<Response> storable;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> responses = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public ResponseStore() {
+        this(SUCCESSFUL);
+    }
+
+    /**
+     * @param storable the responses that should be stored; the others are only given to the concurrent calls.
+     */
+    public ResponseStore(Predicate<Response> storable) {
+        this.storable = storable;
+    }
+
+    /**
+     * @return the store that is shared by all tests in this JVM.
+     */
+    public static ResponseStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param requestSpecification the request, e.g. built by a RequestSpecBuilder.
+     * @param method               the HTTP method.
+     * @param path                 appended to the base path; may contain path parameters, e.g. "{workspaceId}".
+     * @param pathParams           the values of unnamed path parameters in path.
+     * @return the stored response, or the response of a new request if there is none.
+     */
+    public Response get(RequestSpecification requestSpecification, Method method, String path, Object... pathParams) {
+        return storedResponse(requestSpecification, method, path, pathParams).response;
+    }
+
+    /**
+     * @return the parsed body of the stored response; see get().
+     */
+    public JsonPath jsonPath(RequestSpecification requestSpecification, Method method, String path, Object... pathParams) {
+        return storedResponse(requestSpecification, method, path, pathParams).jsonPath();
+    }
+
+    public void invalidate(RequestSpecification requestSpecification, Method method, String path, Object... pathParams) {
+        responses.remove(key(IsolatedRequests.given(requestSpecification), method, path, pathParams));
+    }
+
+    public void clear() {
+        responses.clear();
+    }
+
+    /**
+     * @return the number of requests that have been sent.
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of calls that got a stored (or in flight) response.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    private StoredResponse storedResponse(RequestSpecification requestSpecification, Method method, String path, Object... pathParams) {
+        // The request is exactly the given specification, also if it is the static RestAssured.requestSpecification:
+        // RestAssured.given().spec(requestSpecification) would merge that one twice, and send its headers twice.
+        RequestSpecification request = IsolatedRequests.given(requestSpecification);
+        String key = key(request, method, path, pathParams);
+
+        CompletableFuture<StoredResponse> created = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = responses.putIfAbsent(key, created);
+        if (existing != null) {
+            hits.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        // This thread sends the request; the request is not sent while holding a lock of the map.
+        try {
+            requests.increment();
+            Response response = request.request(method, path, pathParams);
+            // Reads the body into memory, so it can be shared.
+            response.asByteArray();
+            StoredResponse storedResponse = new StoredResponse(response);
+            if (!storable.test(response)) {
+                // Removed before the waiting calls are released: a later call sends the request again.
+                responses.remove(key, created);
+            }
+            created.complete(storedResponse);
+            return storedResponse;
+        } catch (Throwable e) {
+            // RestAssured also throws checked exceptions, e.g. ConnectException, without declaring them.
+            responses.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static String key(RequestSpecification requestSpecification, Method method, String path, Object... pathParams) {
+        QueryableRequestSpecification queryable = SpecificationQuerier.query(requestSpecification);
+
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : queryable.getHeaders()) {
+            headers.merge(header.getName(), header.getValue(), (first, second) -> first + "," + second);
+        }
+
+        return method + " " + queryable.getBaseUri() + ":" + queryable.getPort() + queryable.getBasePath() + "/" + path
+                + " " + String.join(",", toStrings(pathParams))
+                + " " + new TreeMap<>(queryable.getPathParams())
+                + " " + new TreeMap<>(queryable.getQueryParams())
+                + " " + new TreeMap<>(queryable.getFormParams())
+                + " " + headers
+                + " " + bodyHash(queryable.getBody());
+    }
+
+    private static String[] toStrings(Object[] values) {
+        String[] strings = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            strings[i] = String.valueOf(values[i]);
+        }
+        return strings;
+    }
+
+    private static String bodyHash(Object body) {
+        if (body == null) {
+            return "";
+        }
+        byte[] bytes;
+        if (body instanceof byte[]) {
+            bytes = (byte[]) body;
+        } else if (body instanceof String) {
+            bytes = ((String) body).getBytes(StandardCharsets.UTF_8);
+        } else {
+            try {
+                bytes = EntityMappers.objectMapper().writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                bytes = String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    private static class StoredResponse {
+        private final Response response;
+        private volatile JsonPath jsonPath;
+
+        StoredResponse(Response response) {
+            this.response = response;
+        }
+
+        JsonPath jsonPath() {
+            JsonPath parsed = jsonPath;
+            if (parsed == null) {
+                // Parsing twice in a race is harmless: both results are equal.
+                parsed = response.jsonPath();
+                jsonPath = parsed;
+            }
+            return parsed;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.rest.utilities;
+
+import com.rest.serialization.EntityFormat;
+import com.rest.serialization.EntityMappers;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper methods in order to create RestAssured configurations that are shared by the tests.
+ *
+ * Usage, e.g. in an @BeforeClass method:
+ *     RestAssured.config = RestAssuredConfigs.restAssuredConfig();
+ * or
+ *     new RequestSpecBuilder().setConfig(RestAssuredConfigs.restAssuredConfig())
+ */
+public class RestAssuredConfigs {
+
+    /**
+     * RestAssured normally creates its own Jackson ObjectMapper.
+     * With this configuration it will use the ObjectMapper from com.rest.serialization.EntityMappers,
+     * so the serializer caches of the entities are built only once per JVM.
+     *
+     * @return
+     */
+    public static ObjectMapperConfig objectMapperConfig() {
+        return ObjectMapperConfig.objectMapperConfig()
+                .jackson2ObjectMapperFactory((type, charset) -> EntityMappers.objectMapper());
+    }
+
+    /**
+     * RestAssured normally creates a new HttpClient, and therefore a new connection, for every request.
+     * With this configuration all requests use the connection pool of PooledHttpClients.shared().
+     *
+     * @return
+     */
+    public static HttpClientConfig httpClientConfig() {
+        return PooledHttpClients.shared().httpClientConfig();
+    }
+
+    public static RestAssuredConfig restAssuredConfig() {
+        return RestAssuredConfig.config()
+                .objectMapperConfig(objectMapperConfig())
+                .httpClient(httpClientConfig());
+    }
+
+    /**
+     * Like restAssuredConfig(), but bodies are (de-)serialized by EntityObjectMapper in the EntityFormat
+     * of the Content-Type: JSON, Smile (application/x-jackson-smile) or CBOR (application/cbor).
+     * The binary media types are encoded as ISO-8859-1 text, so the String of EntityObjectMapper is sent byte for byte,
+     * and no charset is appended to them.
+     *
+     * @return
+     */
+    public static RestAssuredConfig entityFormatConfig() {
+        EncoderConfig encoderConfig = EncoderConfig.encoderConfig()
+                .appendDefaultContentCharsetToContentTypeIfUndefined(false);
+        for (EntityFormat format : EntityFormat.values()) {
+            if (format.isBinary()) {
+                encoderConfig = encoderConfig
+                        .encodeContentTypeAs(format.getMediaType(), ContentType.TEXT)
+                        .defaultCharsetForContentType(StandardCharsets.ISO_8859_1, format.getMediaType());
+            }
+        }
+        return restAssuredConfig()
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(EntityObjectMapper.instance()))
+                .encoderConfig(encoderConfig);
+    }
+
+    /**
+     * Usage:
+     * <pre>
+     *     WorkspaceRoot workspaceRoot = given(RestAssuredConfigs.requestSpecBuilder(EntityFormat.SMILE).build())
+     *             .body(new WorkspaceRoot(...))
+     *             .post("/workspaces")
+     *             .as(WorkspaceRoot.class);
+     * </pre>
+     *
+     * @param format the format of the request body and the expected format of the response body.
+     * @return a builder with entityFormatConfig() and the media type of the format as Content-Type and Accept.
+     */
+    public static RequestSpecBuilder requestSpecBuilder(EntityFormat format) {
+        return new RequestSpecBuilder()
+                .setConfig(entityFormatConfig())
+                .setContentType(format.getMediaType())
+                .setAccept(format.getMediaType());
+    }
+}
@@ -0,0 +1,116 @@
+package com.rest.utilities;
+
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+
+/**
+ * Per-thread replacement for the static RestAssured.requestSpecification and RestAssured.responseSpecification.
+ * <p>
+ * RestAssured.baseURI, basePath, requestSpecification and responseSpecification are static:
+ * if test classes run in parallel they overwrite each other's settings.
+ * With TestNG parallel="classes" all methods of a test class, including @BeforeClass / @AfterClass,
+ * run in the same thread, so the specifications of a class can be kept in a ThreadLocal instead.
+ * <p>
+ * Usage:
+ * <pre>
+ *     import static com.rest.utilities.SpecContext.given;
+ *
+ *     &#64;BeforeClass
+ *     public void init() {
+ *         SpecContext.setRequestSpecification(new RequestSpecBuilder()
+ *                 .setBaseUri("http://postman-echo.com")
+ *                 .setBasePath("/get")
+ *                 .build());
+ *         SpecContext.setResponseSpecification(new ResponseSpecBuilder()
+ *                 .expectStatusCode(200)
+ *                 .build());
+ *     }
+ *
+ *     &#64;AfterClass(alwaysRun = true)
+ *     public void cleanUp() {
+ *         SpecContext.clear();
+ *     }
+ * </pre>
+ * The static import of SpecContext.given (and SpecContext.with) takes precedence over
+ * "import static io.restassured.RestAssured.*", so the existing given() / given(spec) / with() chains remain the same.
+ * given() does not use the static RestAssured settings (see IsolatedRequests), so a class that still sets them
+ * does not change the requests of the other classes: the base URI, base path and config should be set in the RequestSpecBuilder.
+ */
+public class SpecContext {
+
+    private static final ThreadLocal<RequestSpecification> REQUEST_SPECIFICATION = new ThreadLocal<>();
+    private static final ThreadLocal<ResponseSpecification> RESPONSE_SPECIFICATION = new ThreadLocal<>();
+
+    public static void setRequestSpecification(RequestSpecification requestSpecification) {
+        REQUEST_SPECIFICATION.set(requestSpecification);
+    }
+
+    public static void setResponseSpecification(ResponseSpecification responseSpecification) {
+        RESPONSE_SPECIFICATION.set(responseSpecification);
+    }
+
+    /**
+     * @return the request specification of the current thread, or null if none has been set.
+     */
+    public static RequestSpecification requestSpecification() {
+        return REQUEST_SPECIFICATION.get();
+    }
+
+    /**
+     * @return the response specification of the current thread, or null if none has been set.
+     */
+    public static ResponseSpecification responseSpecification() {
+        return RESPONSE_SPECIFICATION.get();
+    }
+
+    /**
+     * Replacement for RestAssured.given(): starts a request with the specifications of the current thread,
+     * without the static RestAssured settings.
+     *
+     * @return
+     */
+    public static RequestSpecification given() {
+        RequestSpecification requestSpecification = IsolatedRequests.given();
+        RequestSpecification threadRequestSpecification = REQUEST_SPECIFICATION.get();
+        if (threadRequestSpecification != null) {
+            requestSpecification.spec(threadRequestSpecification);
+        }
+        ResponseSpecification threadResponseSpecification = RESPONSE_SPECIFICATION.get();
+        if (threadResponseSpecification != null) {
+            requestSpecification.response().spec(threadResponseSpecification);
+        }
+        return requestSpecification;
+    }
+
+    /**
+     * Replacement for RestAssured.given(RequestSpecification): given() with requestSpecification merged
+     * after the specification of the current thread.
+     *
+     * @return
+     */
+    public static RequestSpecification given(RequestSpecification requestSpecification) {
+        return given().spec(requestSpecification);
+    }
+
+    /**
+     * Replacement for RestAssured.with(); the same as given().
+     *
+     * @return
+     */
+    public static RequestSpecification with() {
+        return given();
+    }
+
+    /**
+     * Removes the specifications of the current thread.
+     * <p>
+     * Should be called in @AfterClass(alwaysRun = true) of every class that sets a specification:
+     * TestNG runs the next test class in the same thread, and that class would otherwise start with
+     * the base URI, headers and filters of this one. alwaysRun makes sure this also happens
+     * when a test or @BeforeClass has failed.
+     */
+    public static void clear() {
+        REQUEST_SPECIFICATION.remove();
+        RESPONSE_SPECIFICATION.remove();
+    }
+}
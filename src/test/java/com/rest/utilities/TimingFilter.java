@@ -0,0 +1,221 @@
+package com.rest.utilities;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A RestAssured filter that records the latency of every request per endpoint,
+ * so the functional test runs also show when an API under test becomes slower.
+ * <p>
+ * The endpoint is the method plus the path as written in the test, with the path parameters not replaced,
+ * e.g. "GET /workspaces/{workspaceId}": all workspaces are recorded in the same histograms.
+ * <p>
+ * Per endpoint an HdrHistogram (in microseconds) is kept for every Phase.
+ * TOTAL is measured by this filter. DNS, CONNECT, TLS and TTFB are measured by the HttpClient of PooledHttpClients
+ * (see RequestTimings); DNS, CONNECT and TLS only for requests that opened a new connection.
+ * With another HttpClient only TOTAL is recorded. The shared filter requires the phases: a request that has been
+ * sent by another HttpClient fails with an IllegalStateException, so a specification that adds TimingFilter.shared()
+ * should also set RestAssuredConfigs.restAssuredConfig() (or the HttpClientConfig of PooledHttpClients).
+ * The histograms are ConcurrentHistograms: recording is wait-free, so parallel tests do not block each other.
+ * <p>
+ * The filter should be executed as the last filter: the time spent in other filters (e.g. waiting for a
+ * RateLimitFilter) is not part of the latency, and a response from an HttpCacheFilter is not recorded.
+ * <pre>
+ *     new RequestSpecBuilder()
+ *             .setConfig(RestAssuredConfigs.restAssuredConfig())
+ *             .addFilter(TimingFilter.shared())
+ * </pre>
+ * TimingReportListener writes the report of the shared filter at the end of a TestNG suite.
+ */
+@Slf4j
+public class TimingFilter implements OrderedFilter {
+
+    public enum Phase {
+        DNS, CONNECT, TLS, TTFB, TOTAL
+    }
+
+    private static final TimingFilter SHARED = new TimingFilter(true);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentMap<String, EndpointTimings> endpoints = new ConcurrentHashMap<>();
+    private final boolean phasesRequired;
+
+    /**
+     * A filter that records only TOTAL for requests that are not sent by PooledHttpClients.
+     */
+    public TimingFilter() {
+        this(false);
+    }
+
+    /**
+     * @param phasesRequired if true, a request that is not sent by PooledHttpClients fails with an IllegalStateException.
+     */
+    public TimingFilter(boolean phasesRequired) {
+        this.phasesRequired = phasesRequired;
+    }
+
+    /**
+     * @return the filter that is shared by all tests in this JVM; TimingReportListener reports it.
+     */
+    public static TimingFilter shared() {
+        return SHARED;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        EndpointTimings endpointTimings = endpoints.computeIfAbsent(endpoint(requestSpec), key -> new EndpointTimings());
+        RequestTimings requestTimings = RequestTimings.start();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (phasesRequired && !requestTimings.isMeasured()) {
+                throw new IllegalStateException("The phases of " + endpoint(requestSpec) + " have not been measured:"
+                        + " the request has not been sent by PooledHttpClients; set RestAssuredConfigs.restAssuredConfig()");
+            }
+            failed = false;
+            return response;
+        } finally {
+            long totalNanos = System.nanoTime() - start;
+            RequestTimings.clear();
+            endpointTimings.record(Phase.TOTAL, totalNanos);
+            endpointTimings.record(Phase.DNS, requestTimings.getDnsNanos());
+            endpointTimings.record(Phase.CONNECT, requestTimings.getConnectNanos());
+            endpointTimings.record(Phase.TLS, requestTimings.getTlsNanos());
+            endpointTimings.record(Phase.TTFB, requestTimings.getTtfbNanos());
+            if (failed) {
+                endpointTimings.errors.increment();
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the histogram in microseconds, or an empty histogram if nothing has been recorded.
+     */
+    public Histogram histogram(String endpoint, Phase phase) {
+        EndpointTimings endpointTimings = endpoints.get(endpoint);
+        return endpointTimings == null ? new Histogram(SIGNIFICANT_DIGITS) : endpointTimings.histograms.get(phase).copy();
+    }
+
+    /**
+     * @return the endpoints that have been recorded, sorted.
+     */
+    public Set<String> getEndpoints() {
+        return new TreeMap<>(endpoints).keySet();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Writes per endpoint and phase: count, percentiles and max in milliseconds.
+     */
+    public void writeReport(PrintStream printStream) {
+        printStream.printf("%-60s %-8s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "phase", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, EndpointTimings> entry : new TreeMap<>(endpoints).entrySet()) {
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = entry.getValue().histograms.get(phase).copy();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                printStream.printf("%-60s %-8s %8d", entry.getKey(), phase, histogram.getTotalCount());
+                for (double percentile : PERCENTILES) {
+                    printStream.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+                }
+                printStream.printf(" %10.3f%n", histogram.getMaxValue() / 1000.0);
+            }
+            long errors = entry.getValue().errors.sum();
+            if (errors > 0) {
+                printStream.printf("%-60s %-8s %8d%n", entry.getKey(), "ERRORS", errors);
+            }
+        }
+    }
+
+    public void writeReport(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintStream printStream = new PrintStream(Files.newOutputStream(path), false, StandardCharsets.UTF_8.name())) {
+            writeReport(printStream);
+        }
+        log.info("Latency report written to {}", path.toAbsolutePath());
+    }
+
+    /**
+     * The method plus the base path and the path as written in the test, without the query.
+     * A full URL in the test (e.g. get("https://api.postman.com/workspaces")) is reduced to its path.
+     */
+    private static String endpoint(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        if (path == null) {
+            path = "";
+        }
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart < 0 ? "" : path.substring(pathStart);
+        } else {
+            path = join(requestSpec.getBasePath(), path);
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return requestSpec.getMethod() + " " + (path.isEmpty() ? "/" : path);
+    }
+
+    private static String join(String basePath, String path) {
+        if (basePath == null || basePath.isEmpty() || basePath.equals("/")) {
+            return path;
+        }
+        if (path.isEmpty()) {
+            return basePath;
+        }
+        return basePath.endsWith("/") || path.startsWith("/") ? basePath + path : basePath + "/" + path;
+    }
+
+    private static class EndpointTimings {
+        private final Map<Phase, ConcurrentHistogram> histograms = new EnumMap<>(Phase.class);
+        private final LongAdder errors = new LongAdder();
+
+        EndpointTimings() {
+            for (Phase phase : Phase.values()) {
+                histograms.put(phase, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            }
+        }
+
+        void record(Phase phase, long nanos) {
+            if (nanos >= 0) {
+                histograms.get(phase).recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+    }
+}
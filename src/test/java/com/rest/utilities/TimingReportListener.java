@@ -0,0 +1,42 @@
+package com.rest.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the latency report of TimingFilter.shared() to target/latency/&lt;suite name&gt;.txt when a TestNG suite has finished.
+ * <p>
+ * Register it in the suite file:
+ * <pre>
+ *     &lt;listeners&gt;
+ *         &lt;listener class-name="com.rest.utilities.TimingReportListener"/&gt;
+ *     &lt;/listeners&gt;
+ * </pre>
+ * or with @Listeners(TimingReportListener.class) on a test class.
+ */
+@Slf4j
+public class TimingReportListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        TimingFilter.shared().reset();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (TimingFilter.shared().getEndpoints().isEmpty()) {
+            return;
+        }
+        Path path = Paths.get("target", "latency", suite.getName().replaceAll("[^A-Za-z0-9_.-]", "_") + ".txt");
+        try {
+            TimingFilter.shared().writeReport(path);
+        } catch (IOException e) {
+            log.error("Latency report could not be written to {}", path, e);
+        }
+    }
+}
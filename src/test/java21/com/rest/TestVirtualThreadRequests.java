@@ -0,0 +1,138 @@
+package com.rest;
+
+import com.rest.utilities.EmbeddedEchoServer;
+import com.rest.utilities.VirtualThreadRequests;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.rest.utilities.IsolatedRequests.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for com.rest.utilities.VirtualThreadRequests; only compiled and run on JDK 21 (see the jdk21 profile).
+ */
+@Slf4j
+public class TestVirtualThreadRequests {
+
+    private static final int WORKSPACES = 200;
+
+    private EmbeddedEchoServer server;
+    private RequestSpecification requestSpecification;
+
+    /**
+     * The embedded mock server plays the Postman API: GET /workspaces and GET /workspaces/{workspaceId}.
+     */
+    @BeforeClass
+    public void init() throws IOException {
+        server = new EmbeddedEchoServer();
+        StringBuilder workspaces = new StringBuilder("{\"workspaces\": [");
+        for (int i = 0; i < WORKSPACES; i++) {
+            workspaces.append(i == 0 ? "" : ", ").append("{\"id\": \"workspace").append(i).append("\"}");
+            server.addStub(EmbeddedEchoServer.stub("GET", "/workspaces/workspace" + i)
+                    .responseBody("{\"workspace\": {\"id\": \"workspace" + i + "\", \"name\": \"Workspace " + i + "\"}}"));
+        }
+        server.addStub(EmbeddedEchoServer.stub("GET", "/workspaces")
+                .responseBody(workspaces.append("]}").toString()));
+
+        requestSpecification = new RequestSpecBuilder()
+                .setBaseUri(server.baseUri())
+                .setBasePath("/workspaces")
+                .build();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() {
+        server.close();
+    }
+
+    @Test
+    public void testFanOutWorkspaces() throws InterruptedException {
+        List<String> workspaceIds = given(requestSpecification)
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("workspaces.id");
+
+        List<Response> workspaces = VirtualThreadRequests.fanOut(workspaceIds, workspaceId -> given(requestSpecification)
+                .pathParam("workspaceId", workspaceId)
+                .get("{workspaceId}"));
+
+        assertThat(workspaces, hasSize(WORKSPACES));
+        for (int i = 0; i < WORKSPACES; i++) {
+            assertThat(workspaces.get(i).statusCode(), is(equalTo(200)));
+            assertThat(workspaces.get(i).path("workspace.id"), is(equalTo("workspace" + i)));
+        }
+    }
+
+    @Test
+    public void testMaxConcurrency() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Integer> results = VirtualThreadRequests.fanOut(IntStream.range(0, 100).boxed().toList(), 5, i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return i * 2;
+        });
+
+        assertThat(results.get(99), is(equalTo(198)));
+        assertThat(maxInFlight.get(), is(lessThanOrEqualTo(5)));
+    }
+
+    /**
+     * The failure of one call is thrown immediately; the other calls, which would take a minute, are cancelled.
+     */
+    @Test
+    public void testFailFast() {
+        AtomicInteger interrupted = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        IllegalStateException exception = null;
+        try {
+            VirtualThreadRequests.fanOut(IntStream.range(0, 1000).boxed().toList(), i -> {
+                if (i == 500) {
+                    throw new IllegalStateException("workspace " + i + " not found");
+                }
+                try {
+                    Thread.sleep(60_000);
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                }
+                return i;
+            });
+        } catch (IllegalStateException e) {
+            exception = e;
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Failed after {} ms, {} calls interrupted", millis, interrupted.get());
+        assertThat(exception, is(notNullValue()));
+        assertThat(exception.getMessage(), is(equalTo("workspace 500 not found")));
+        assertThat(millis, is(lessThan(30_000L)));
+        // Calls that had not started yet are cancelled without being interrupted.
+        assertThat(interrupted.get(), is(lessThanOrEqualTo(999)));
+        assertThat(completed.get(), is(equalTo(0)));
+    }
+}
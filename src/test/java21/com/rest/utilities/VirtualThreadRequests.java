@@ -0,0 +1,131 @@
+package com.rest.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Executes RestAssured requests on virtual threads (JDK 21, see the jdk21 profile in pom.xml).
+ * <p>
+ * A virtual thread that waits for a response does not occupy a platform thread,
+ * so thousands of requests can be in flight with only a few platform threads.
+ * <p>
+ * fanOut() is meant for the situation of Part08TestPostWorkspace: first fetch all workspace IDs,
+ * then GET every /workspaces/{workspaceId} concurrently:
+ * <pre>
+ *     RequestSpecification requestSpecification = SpecContext.requestSpecification();
+ *     List&lt;String&gt; workspaceIds = given().get().then().extract().path("workspaces.id");
+ *     List&lt;Response&gt; workspaces = VirtualThreadRequests.fanOut(workspaceIds, workspaceId -&gt; IsolatedRequests.given(requestSpecification)
+ *             .pathParam("workspaceId", workspaceId)
+ *             .get("{workspaceId}"));
+ * </pre>
+ * The calls run on other threads: the specification should be taken from the calling thread and passed in.
+ * SpecContext.given() inside the call would not see the specification of the test class (it is kept per thread),
+ * and RestAssured.given() would use the static RestAssured settings.
+ * The calls are scoped: fanOut() only returns when all calls have finished.
+ * If one call fails, the other calls are cancelled (interrupted) and the failure is thrown.
+ * StructuredTaskScope does the same, but is still a preview API in JDK 21.
+ */
+public final class VirtualThreadRequests {
+
+    private VirtualThreadRequests() {
+    }
+
+    /**
+     * @return an executor that starts a new virtual thread per task. It should be closed after use.
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Applies call to all inputs concurrently, each on its own virtual thread.
+     *
+     * @return the results in the order of inputs.
+     */
+    public static <T, R> List<R> fanOut(Collection<T> inputs, Function<T, R> call) throws InterruptedException {
+        return fanOut(inputs, Integer.MAX_VALUE, call);
+    }
+
+    /**
+     * Applies call to all inputs concurrently, each on its own virtual thread,
+     * with at most maxConcurrency calls in flight (e.g. to stay under the rate limit of the server).
+     *
+     * @return the results in the order of inputs.
+     * @throws RuntimeException or Error: the first failure of a call; the other calls are cancelled.
+     * @throws InterruptedException if this thread, or a call that was waiting for a permit, has been interrupted.
+     */
+    public static <T, R> List<R> fanOut(Collection<T> inputs, int maxConcurrency, Function<T, R> call) throws InterruptedException {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency should be positive: " + maxConcurrency);
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        try (ExecutorService executorService = newExecutor()) {
+            ExecutorCompletionService<R> completionService = new ExecutorCompletionService<>(executorService);
+            List<Future<R>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                futures.add(completionService.submit(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        // Cancelled while waiting for a permit.
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                    try {
+                        return call.apply(input);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    Future<R> completed = completionService.take();
+                    try {
+                        completed.get();
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof InterruptedException interruptedException) {
+                            throw interruptedException;
+                        }
+                        throw rethrow(e.getCause());
+                    }
+                }
+            } catch (RuntimeException | Error | InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException | CancellationException e) {
+                    // Not possible: all futures have completed successfully.
+                    throw new IllegalStateException(e);
+                }
+            }
+            return results;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(throwable);
+    }
+}